@@ -1,9 +1,15 @@
 package com.aiu.trips.adapter;
 
+import java.util.List;
+
 /**
  * IEmailService interface as per Notification.pu diagram
  * Target interface for email adapter
  */
 public interface IEmailService {
     void sendEmail(String to, String subject, String body);
+
+    default void sendEmails(List<String> recipients, String subject, String body) {
+        recipients.forEach(to -> sendEmail(to, subject, body));
+    }
 }
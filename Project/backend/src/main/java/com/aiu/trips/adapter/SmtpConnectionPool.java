@@ -0,0 +1,149 @@
+package com.aiu.trips.adapter;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.*;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps up to pool-size SMTP connections open and sends each email over an
+ * idle one, so a run of emails costs one connect and handshake per connection
+ * instead of one per email. A connection that fails is closed and replaced on
+ * next use.
+ *
+ * With no email.smtp.host configured emails are only logged, as during development.
+ */
+@Component
+public class SmtpConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private final String host;
+
+    private final int port;
+
+    private final String username;
+
+    private final String password;
+
+    private final InternetAddress from;
+
+    private final Session session;
+
+    private final Semaphore permits;
+
+    private final BlockingQueue<Transport> idle;
+
+    public SmtpConnectionPool(
+            @Value("${email.smtp.host:}") String host,
+            @Value("${email.smtp.port:25}") int port,
+            @Value("${email.smtp.username:}") String username,
+            @Value("${email.smtp.password:}") String password,
+            @Value("${email.smtp.starttls:false}") boolean starttls,
+            @Value("${email.smtp.timeout-ms:10000}") int timeoutMs,
+            @Value("${email.smtp.pool-size:4}") int poolSize,
+            @Value("${email.from:noreply@aiu.edu}") String from) throws AddressException {
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.from = new InternetAddress(from);
+        this.permits = new Semaphore(poolSize);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", String.valueOf(!username.isBlank()));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        properties.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        properties.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        this.session = Session.getInstance(properties);
+    }
+
+    public boolean isEnabled() {
+        return !host.isBlank();
+    }
+
+    /**
+     * Send one email, waiting for a free connection when all are busy
+     */
+    public void send(String to, String subject, String body) throws MessagingException, InterruptedException {
+        if (!isEnabled()) {
+            logger.info("Email to {} (no SMTP host configured): {}", to, subject);
+            return;
+        }
+
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(from);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject(subject);
+        message.setText(body);
+
+        permits.acquire();
+        Transport transport = idle.poll();
+        try {
+            if (transport == null || !transport.isConnected()) {
+                close(transport);
+                transport = session.getTransport("smtp");
+                transport.connect(host, port, username.isBlank() ? null : username, password);
+            }
+            transport.sendMessage(message, message.getAllRecipients());
+            idle.offer(transport);
+            transport = null;
+        } finally {
+            // Only a connection that just completed a send goes back to the pool
+            close(transport);
+            permits.release();
+        }
+    }
+
+    /**
+     * True when the server refused the email with a 5xx reply; sending it again will not help
+     */
+    public static boolean isPermanent(MessagingException e) {
+        for (Exception cause = e; cause != null;
+             cause = cause instanceof MessagingException me ? me.getNextException() : null) {
+            int code = -1;
+            if (cause instanceof SMTPAddressFailedException failed) {
+                code = failed.getReturnCode();
+            } else if (cause instanceof SMTPSendFailedException failed) {
+                code = failed.getReturnCode();
+            }
+            if (code >= 500) {
+                return true;
+            }
+        }
+        return e instanceof AddressException;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    private void close(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Closing SMTP connection failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,32 +1,32 @@
 package com.aiu.trips.adapter;
 
+import com.aiu.trips.service.EmailOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * SmtpEmailAdapter as per Notification.pu diagram
  * Adapter Pattern - Adapts external email service to our interface
- * 
- * Note: In production, this would use JavaMailSender from Spring Boot
- * For now, we'll use a simplified implementation
+ *
+ * Emails are written to the outbox and sent in the background by
+ * EmailOutboxService over pooled SMTP connections (SmtpConnectionPool),
+ * so callers never wait for the mail server.
  */
 @Service
 public class SmtpEmailAdapter implements IEmailService {
 
+    @Autowired
+    private EmailOutboxService outboxService;
+
     @Override
     public void sendEmail(String to, String subject, String body) {
-        // In production, use JavaMailSender:
-        // MimeMessage message = mailSender.createMimeMessage();
-        // message.setFrom("noreply@aiu.edu");
-        // message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
-        // message.setSubject(subject);
-        // message.setText(body);
-        // mailSender.send(message);
-        
-        // Simplified implementation for development
-        System.out.println("=== EMAIL ===");
-        System.out.println("To: " + to);
-        System.out.println("Subject: " + subject);
-        System.out.println("Body: " + body);
-        System.out.println("=============");
+        outboxService.enqueue(to, subject, body);
+    }
+
+    @Override
+    public void sendEmails(List<String> recipients, String subject, String body) {
+        outboxService.enqueueAll(recipients, subject, body);
     }
 }
@@ -4,6 +4,8 @@ import com.aiu.trips.adapter.IEmailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * EmailChannel as per Notification.pu diagram
  * Bridge Pattern - Email channel implementation
@@ -15,7 +17,12 @@ public class EmailChannel implements NotificationChannel {
     private IEmailService emailService;
 
     @Override
-    public void send(String recipient, String content) {
+    public void send(String recipient, String content, String type) {
         emailService.sendEmail(recipient, "AIU Notification", content);
     }
+
+    @Override
+    public void sendBatch(List<String> recipients, String content, String type) {
+        emailService.sendEmails(recipients, "AIU Notification", content);
+    }
 }
@@ -1,23 +1,32 @@
 package com.aiu.trips.bridge;
 
-import com.aiu.trips.factory.IModelFactory;
+import com.aiu.trips.service.NotificationWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * InAppChannel as per Notification.pu diagram
  * Bridge Pattern - In-app notification channel implementation
+ *
+ * Writes straight to the notifications table through the NotificationWriter:
+ * the text is stored once and every recipient gets a delivery row, inserted
+ * as one JDBC batch. Recipients without an account are skipped.
  */
 @Component
 public class InAppChannel implements NotificationChannel {
 
     @Autowired
-    private IModelFactory modelFactory;
+    private NotificationWriter notificationWriter;
+
+    @Override
+    public void send(String recipient, String content, String type) {
+        sendBatch(List.of(recipient), content, type);
+    }
 
     @Override
-    public void send(String recipient, String content) {
-        // Store notification in database via model factory
-        // For now, just log it
-        System.out.println("IN-APP notification to " + recipient + ": " + content);
+    public void sendBatch(List<String> recipients, String content, String type) {
+        notificationWriter.writeToEmails(recipients, content, type);
     }
 }
@@ -1,9 +1,22 @@
 package com.aiu.trips.bridge;
 
+import java.util.List;
+
 /**
  * NotificationChannel interface as per Notification.pu diagram
  * Bridge Pattern - Implementation side (channels)
  */
 public interface NotificationChannel {
-    void send(String recipient, String content);
+    /**
+     * @param type INFO, WARNING or SUCCESS, for channels that show it
+     */
+    void send(String recipient, String content, String type);
+
+    /**
+     * Send the same content to many recipients. Channels that can write a
+     * batch in one round trip override this.
+     */
+    default void sendBatch(List<String> recipients, String content, String type) {
+        recipients.forEach(recipient -> send(recipient, content, type));
+    }
 }
@@ -0,0 +1,182 @@
+package com.aiu.trips.bridge;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects outgoing notifications and hands them to their channel in batches.
+ *
+ * Recipients are grouped per channel, content and type. A group is sent as
+ * soon as it reaches the batch size, and every flush interval whatever is
+ * pending is sent, so a lone notification waits at most one interval. Batches
+ * are sent by a single background thread; when its queue is full, or more
+ * than max-pending recipients are waiting, a producer sends its full batch
+ * itself, which slows producers down instead of growing memory without
+ * bound. The flush runs on the shared scheduler thread and never sends
+ * inline: a batch the queue has no room for stays pending until the next
+ * flush.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final int batchSize;
+
+    private final int maxPending;
+
+    private final Map<BatchKey, Batch> pending = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingRecipients = new AtomicInteger();
+
+    private final ThreadPoolExecutor sender;
+
+    public NotificationDispatcher(
+            @Value("${notification.dispatch.batch-size:500}") int batchSize,
+            @Value("${notification.dispatch.max-pending:50000}") int maxPending,
+            @Value("${notification.dispatch.queue-capacity:100}") int queueCapacity) {
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.sender = new ThreadPoolExecutor(
+            1, 1,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "notification-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public void submit(NotificationChannel channel, String content, String type, String recipient) {
+        submit(channel, content, type, List.of(recipient));
+    }
+
+    public void submit(NotificationChannel channel, String content, String type, List<String> recipients) {
+        BatchKey key = new BatchKey(channel, content, type);
+        int next = 0;
+        while (next < recipients.size()) {
+            Batch batch = pending.computeIfAbsent(key, k -> new Batch());
+            List<String> full = null;
+            synchronized (batch) {
+                if (batch.closed) {
+                    continue;
+                }
+                int take = Math.min(recipients.size() - next, batchSize - batch.recipients.size());
+                batch.recipients.addAll(recipients.subList(next, next + take));
+                pendingRecipients.addAndGet(take);
+                next += take;
+                if (batch.recipients.size() >= batchSize) {
+                    batch.closed = true;
+                    pending.remove(key, batch);
+                    full = batch.recipients;
+                }
+            }
+            if (full != null && (pendingRecipients.get() > maxPending || !trySend(key, full))) {
+                task(key, full).run();
+            }
+        }
+    }
+
+    /**
+     * Send everything that is pending
+     */
+    @Scheduled(fixedDelayString = "${notification.dispatch.flush-interval-ms:200}",
+               initialDelayString = "${notification.dispatch.flush-interval-ms:200}")
+    public void flush() {
+        flush(false);
+    }
+
+    public int getPendingCount() {
+        return pendingRecipients.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flush();
+        sender.shutdown();
+        sender.awaitTermination(10, TimeUnit.SECONDS);
+        // Whatever the queue had no room for
+        flush(true);
+    }
+
+    private void flush(boolean inline) {
+        // A snapshot, so batches put back for the next flush are not visited again
+        for (BatchKey key : List.copyOf(pending.keySet())) {
+            Batch batch = pending.get(key);
+            if (batch == null) {
+                continue;
+            }
+            List<String> recipients;
+            synchronized (batch) {
+                if (batch.closed) {
+                    continue;
+                }
+                batch.closed = true;
+                pending.remove(key, batch);
+                recipients = batch.recipients;
+            }
+            if (inline) {
+                task(key, recipients).run();
+            } else if (!trySend(key, recipients)) {
+                restore(key, recipients);
+            }
+        }
+    }
+
+    private boolean trySend(BatchKey key, List<String> recipients) {
+        try {
+            sender.execute(task(key, recipients));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Put a batch the sender had no room for back, for the next flush
+     */
+    private void restore(BatchKey key, List<String> recipients) {
+        while (true) {
+            Batch batch = pending.computeIfAbsent(key, k -> new Batch());
+            synchronized (batch) {
+                if (!batch.closed) {
+                    batch.recipients.addAll(recipients);
+                    return;
+                }
+            }
+        }
+    }
+
+    private Runnable task(BatchKey key, List<String> recipients) {
+        return () -> {
+            try {
+                key.channel().sendBatch(recipients, key.content(), key.type());
+            } catch (RuntimeException e) {
+                logger.error("Sending {} notifications over {} failed", recipients.size(),
+                    key.channel().getClass().getSimpleName(), e);
+            } finally {
+                pendingRecipients.addAndGet(-recipients.size());
+            }
+        };
+    }
+
+    private record BatchKey(NotificationChannel channel, String content, String type) {}
+
+    private static final class Batch {
+        final List<String> recipients = new ArrayList<>();
+        boolean closed;
+    }
+}
@@ -1,5 +1,7 @@
 package com.aiu.trips.bridge;
 
+import java.util.List;
+
 /**
  * NotificationMessage abstract class as per Notification.pu diagram
  * Bridge Pattern - Abstraction side (messages)
@@ -8,13 +10,32 @@ public abstract class NotificationMessage {
 
     protected NotificationChannel channel;
 
+    protected String type;
+
     public NotificationMessage(NotificationChannel channel) {
+        this(channel, "INFO");
+    }
+
+    public NotificationMessage(NotificationChannel channel, String type) {
         this.channel = channel;
+        this.type = type;
     }
 
     public void send(String recipient) {
         String content = formatContent();
-        channel.send(recipient, content);
+        channel.send(recipient, content, type);
+    }
+
+    public void sendBatch(List<String> recipients) {
+        channel.sendBatch(recipients, formatContent(), type);
+    }
+
+    /**
+     * Queue the message in the dispatcher, which sends it together with
+     * other recipients of the same channel, content and type
+     */
+    public void dispatch(NotificationDispatcher dispatcher, List<String> recipients) {
+        dispatcher.submit(channel, formatContent(), type, recipients);
     }
 
     protected abstract String formatContent();
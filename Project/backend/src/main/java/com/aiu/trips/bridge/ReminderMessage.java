@@ -1,5 +1,7 @@
 package com.aiu.trips.bridge;
 
+import java.time.Duration;
+
 /**
  * ReminderMessage as per Notification.pu diagram
  * Bridge Pattern - Reminder notification message
@@ -7,16 +9,29 @@ package com.aiu.trips.bridge;
 public class ReminderMessage extends NotificationMessage {
 
     private String eventName;
-    private Integer hoursUntilEvent;
+    private Duration timeUntilEvent;
 
     public ReminderMessage(NotificationChannel channel, String eventName, Integer hoursUntilEvent) {
+        this(channel, eventName, Duration.ofHours(hoursUntilEvent));
+    }
+
+    public ReminderMessage(NotificationChannel channel, String eventName, Duration timeUntilEvent) {
         super(channel);
         this.eventName = eventName;
-        this.hoursUntilEvent = hoursUntilEvent;
+        this.timeUntilEvent = timeUntilEvent;
     }
 
     @Override
     protected String formatContent() {
-        return String.format("Reminder: %s starts in %d hours. Don't forget!", eventName, hoursUntilEvent);
+        return String.format("Reminder: %s starts in %s. Don't forget!", eventName, describe(timeUntilEvent));
+    }
+
+    private static String describe(Duration duration) {
+        long minutes = duration.toMinutes();
+        if (minutes % 60 != 0) {
+            return minutes + (minutes == 1 ? " minute" : " minutes");
+        }
+        long hours = minutes / 60;
+        return hours + (hours == 1 ? " hour" : " hours");
     }
 }
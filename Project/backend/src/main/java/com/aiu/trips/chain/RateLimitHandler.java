@@ -1,62 +1,56 @@
 package com.aiu.trips.chain;
 
+import com.aiu.trips.exception.RateLimitExceededException;
+import com.aiu.trips.ratelimit.RateLimitDecision;
+import com.aiu.trips.ratelimit.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * RateLimitHandler as per Controller.pu diagram
- * Chain of Responsibility Pattern - Rate limiting for requests
+ * Chain of Responsibility Pattern - Rate limiting for requests.
+ * Limits come from RateLimiter; the RateLimit-* headers are added to the response.
  */
 @Component
 public class RateLimitHandler extends RequestHandler {
 
-    private static final int MAX_REQUESTS_PER_MINUTE = 60;
-    private static final long WINDOW_SIZE_MS = 60000; // 1 minute
-
-    private final Map<String, RateLimitInfo> clientRequests = new ConcurrentHashMap<>();
+    @Autowired
+    private RateLimiter rateLimiter;
 
     @Override
     public void handle(HttpServletRequest request) throws Exception {
-        String clientId = getClientId(request);
-        RateLimitInfo info = clientRequests.computeIfAbsent(clientId, k -> new RateLimitInfo());
-
-        long currentTime = System.currentTimeMillis();
-        
-        // Reset if window has passed
-        if (currentTime - info.windowStart > WINDOW_SIZE_MS) {
-            info.reset(currentTime);
+        RateLimitDecision decision = rateLimiter.check(request);
+        if (decision != null) {
+            writeHeaders(decision);
+            if (!decision.allowed()) {
+                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.",
+                    decision.retryAfterSeconds());
+            }
         }
-
-        // Check rate limit
-        if (info.requestCount >= MAX_REQUESTS_PER_MINUTE) {
-            throw new RuntimeException("Rate limit exceeded. Please try again later.");
-        }
-
-        info.requestCount++;
         handleNext(request);
     }
 
-    private String getClientId(HttpServletRequest request) {
-        // Use IP address as client identifier
-        String clientIp = request.getRemoteAddr();
-        // In production, you might want to use X-Forwarded-For header for proxied requests
-        String forwardedFor = request.getHeader("X-Forwarded-For");
-        return forwardedFor != null ? forwardedFor : clientIp;
-    }
-
-    private static class RateLimitInfo {
-        long windowStart;
-        int requestCount;
-
-        RateLimitInfo() {
-            reset(System.currentTimeMillis());
+    private void writeHeaders(RateLimitDecision decision) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
         }
-
-        void reset(long time) {
-            this.windowStart = time;
-            this.requestCount = 0;
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null) {
+            return;
+        }
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        response.setHeader("RateLimit-Policy", decision.policy());
+        if (!decision.allowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
         }
     }
 }
@@ -4,7 +4,9 @@ import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * RequestHandler abstract class as per Controller.pu diagram
- * Chain of Responsibility Pattern - Abstract handler
+ * Chain of Responsibility Pattern - Abstract handler.
+ * Handlers may still be linked with setNext, but the application runs them
+ * through RequestHandlerChain, which orders them per route.
  */
 public abstract class RequestHandler {
 
@@ -0,0 +1,143 @@
+package com.aiu.trips.chain;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled Chain of Responsibility.
+ *
+ * Routes are path patterns parsed once at startup, each with the ordered list
+ * of handlers it needs. A request runs the handlers of the first route that
+ * matches its method and path, so public endpoints skip the authentication
+ * handlers entirely. Every handler records its own latency.
+ */
+public class RequestHandlerChain {
+
+    private static final RequestHandler[] NO_HANDLERS = new RequestHandler[0];
+
+    private final List<Route> routes;
+
+    private final Map<RequestHandler, HandlerStats> stats = new IdentityHashMap<>();
+
+    private RequestHandlerChain(List<Route> routes) {
+        this.routes = List.copyOf(routes);
+        // Every handler is known up front, so the map is never written after construction
+        for (Route route : this.routes) {
+            for (RequestHandler handler : route.handlers) {
+                stats.computeIfAbsent(handler, h -> new HandlerStats(h.getClass().getSimpleName()));
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Run the handlers of the matching route in order
+     */
+    public void handle(HttpServletRequest request) throws Exception {
+        for (RequestHandler handler : handlersFor(request)) {
+            HandlerStats handlerStats = stats.get(handler);
+            long start = System.nanoTime();
+            try {
+                handler.handle(request);
+                handlerStats.record(System.nanoTime() - start, false);
+            } catch (Exception e) {
+                handlerStats.record(System.nanoTime() - start, true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Handlers of the first route matching the request; none when no route matches
+     */
+    public RequestHandler[] handlersFor(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String method = request.getMethod();
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route.handlers;
+            }
+        }
+        return NO_HANDLERS;
+    }
+
+    /**
+     * Per-handler invocation counts and latencies, keyed by handler class name
+     */
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        stats.values().forEach(handlerStats -> metrics.put(handlerStats.name, handlerStats.snapshot()));
+        return metrics;
+    }
+
+    public static class Builder {
+
+        private final List<Route> routes = new ArrayList<>();
+
+        /**
+         * Route for any method. Routes are matched in the order they are added.
+         */
+        public Builder route(String pattern, RequestHandler... handlers) {
+            return route(null, pattern, handlers);
+        }
+
+        /**
+         * Route for one method; a null method matches any
+         */
+        public Builder route(String method, String pattern, RequestHandler... handlers) {
+            routes.add(new Route(method, PathPatternParser.defaultInstance.parse(pattern), handlers.clone()));
+            return this;
+        }
+
+        public RequestHandlerChain build() {
+            return new RequestHandlerChain(routes);
+        }
+    }
+
+    private record Route(String method, PathPattern pattern, RequestHandler[] handlers) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    private static class HandlerStats {
+        final String name;
+        final LongAdder invocations = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        HandlerStats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean rejectedRequest) {
+            if (rejectedRequest) {
+                rejected.increment();
+            }
+            invocations.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = invocations.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("invocations", count);
+            snapshot.put("rejected", rejected.sum());
+            snapshot.put("averageMillis", count == 0 ? 0.0 : totalNanos.sum() / (double) count / 1_000_000);
+            snapshot.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            return snapshot;
+        }
+    }
+}
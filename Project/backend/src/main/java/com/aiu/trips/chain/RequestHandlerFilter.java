@@ -0,0 +1,68 @@
+package com.aiu.trips.chain;
+
+import com.aiu.trips.exception.AuthenticationException;
+import com.aiu.trips.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the compiled RequestHandlerChain as one filter stage, after the JWT
+ * filter has resolved the token. A rejected request never reaches a
+ * controller; the rejection is written in the GlobalExceptionHandler format.
+ */
+public class RequestHandlerFilter extends OncePerRequestFilter {
+
+    private final RequestHandlerChain chain;
+
+    private final ObjectMapper objectMapper;
+
+    public RequestHandlerFilter(RequestHandlerChain chain, ObjectMapper objectMapper) {
+        this.chain = chain;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            chain.handle(request);
+        } catch (RateLimitExceededException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+            return;
+        } catch (AuthenticationException e) {
+            reject(response, HttpStatus.UNAUTHORIZED, e.getMessage());
+            return;
+        } catch (SecurityException e) {
+            reject(response, HttpStatus.FORBIDDEN, e.getMessage());
+            return;
+        } catch (Exception e) {
+            reject(response, HttpStatus.BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("message", message);
+        body.put("status", status.value());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,7 +1,12 @@
 package com.aiu.trips.command;
 
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.dto.EventPage;
+import com.aiu.trips.enums.ActivityStatus;
+import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 
@@ -15,10 +20,37 @@ public class BrowseEventsCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> requestData) {
         try {
-            EventFilterDTO filters = new EventFilterDTO();
-            return ResponseEntity.ok(bookingService.browseEvents(filters));
+            EventFilterDTO filters = mapToFilter(requestData);
+            CatalogView<EventPage> view = bookingService.browseEvents(filters);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(view.etag()).body(view.body());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    private EventFilterDTO mapToFilter(Map<String, Object> data) {
+        EventFilterDTO filter = new EventFilterDTO();
+        if (data.get("type") != null) {
+            filter.setType(ActivityType.valueOf(data.get("type").toString().toUpperCase()));
+        }
+        if (data.get("status") != null) {
+            filter.setStatus(ActivityStatus.valueOf(data.get("status").toString().toUpperCase()));
+        }
+        if (data.get("minPrice") != null) {
+            filter.setMinPrice(Double.valueOf(data.get("minPrice").toString()));
+        }
+        if (data.get("maxPrice") != null) {
+            filter.setMaxPrice(Double.valueOf(data.get("maxPrice").toString()));
+        }
+        if (data.get("limit") != null) {
+            filter.setLimit(Integer.valueOf(data.get("limit").toString()));
+        }
+        filter.setStartDate((String) data.get("startDate"));
+        filter.setEndDate((String) data.get("endDate"));
+        filter.setLocation((String) data.get("location"));
+        filter.setQuery((String) data.get("query"));
+        filter.setSort((String) data.get("sort"));
+        filter.setCursor((String) data.get("cursor"));
+        return filter;
+    }
 }
@@ -0,0 +1,26 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.dto.BookingDTO;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+public class ConfirmSeatHoldCommand implements IControllerCommand {
+    private final IBookingTicketingSystem bookingService;
+
+    public ConfirmSeatHoldCommand(IBookingTicketingSystem bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> requestData) {
+        try {
+            String holdCode = (String) requestData.get("holdCode");
+            String userEmail = (String) requestData.get("userEmail");
+            BookingDTO result = bookingService.confirmSeatHold(holdCode, userEmail);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
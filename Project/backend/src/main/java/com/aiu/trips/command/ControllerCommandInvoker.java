@@ -2,49 +2,89 @@ package com.aiu.trips.command;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * ControllerCommandInvoker as per Controller.pu diagram
- * Command Pattern - Manages a queue of commands to execute sequentially
+ * Command Pattern - Executes controller commands.
+ *
+ * The invoker is a singleton shared by every request thread, so it keeps no
+ * shared queue: execute() runs the command on the calling thread and records
+ * per-command metrics.
  */
 @Component
 public class ControllerCommandInvoker {
 
-    private final Queue<IControllerCommand> commandQueue = new LinkedList<>();
+    private final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
 
     /**
-     * Push a command to the queue
+     * Execute a command on the calling thread
      */
-    public void pushToQueue(IControllerCommand command) {
+    public ResponseEntity<?> execute(IControllerCommand command, Map<String, Object> requestData) {
         if (command == null) {
             throw new IllegalArgumentException("Command cannot be null");
         }
-        commandQueue.offer(command);
+        CommandStats commandStats = statsFor(command);
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<?> response = command.execute(requestData);
+            commandStats.record(System.nanoTime() - start, response);
+            return response;
+        } catch (RuntimeException e) {
+            commandStats.recordFailure(System.nanoTime() - start);
+            throw e;
+        }
     }
 
     /**
-     * Execute the next command in the queue
+     * Per-command counters and latencies, keyed by command class name
      */
-    public ResponseEntity<?> executeNext(Map<String, Object> requestData) {
-        IControllerCommand command = commandQueue.poll();
-        if (command == null) {
-            throw new IllegalStateException("No command in queue to execute");
-        }
-        return command.execute(requestData);
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        stats.forEach((name, commandStats) -> metrics.put(name, commandStats.snapshot()));
+        return metrics;
     }
 
-    /**
-     * Check if there are more commands in the queue
-     */
-    public boolean hasNext() {
-        return !commandQueue.isEmpty();
+    private CommandStats statsFor(IControllerCommand command) {
+        return stats.computeIfAbsent(command.getClass().getSimpleName(), name -> new CommandStats());
     }
 
-    /**
-     * Clear all commands from the queue
-     */
-    public void clear() {
-        commandQueue.clear();
+    private static class CommandStats {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, ResponseEntity<?> response) {
+            if (response == null || response.getStatusCode().isError()) {
+                errors.increment();
+            }
+            recordLatency(nanos);
+        }
+
+        void recordFailure(long nanos) {
+            errors.increment();
+            recordLatency(nanos);
+        }
+
+        private void recordLatency(long nanos) {
+            invocations.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = invocations.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("invocations", count);
+            snapshot.put("errors", errors.sum());
+            snapshot.put("averageMillis", count == 0 ? 0.0 : totalNanos.sum() / (double) count / 1_000_000);
+            snapshot.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            return snapshot;
+        }
     }
 }
@@ -4,15 +4,15 @@ import com.aiu.trips.dto.ReportDTO;
 import com.aiu.trips.dto.ReportFilterDTO;
 import com.aiu.trips.enums.ExportFormat;
 import com.aiu.trips.enums.ReportType;
-import com.aiu.trips.service.interfaces.IReportsAnalytics;
+import com.aiu.trips.service.ReportJobService;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 
 public class GenerateReportCommand implements IControllerCommand {
-    private final IReportsAnalytics reportService;
+    private final ReportJobService reportJobService;
 
-    public GenerateReportCommand(IReportsAnalytics reportService) {
-        this.reportService = reportService;
+    public GenerateReportCommand(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
     }
 
     @Override
@@ -21,9 +21,18 @@ public class GenerateReportCommand implements IControllerCommand {
             ReportType type = ReportType.valueOf((String) requestData.getOrDefault("reportType", "PARTICIPANTS"));
             ExportFormat format = ExportFormat.valueOf((String) requestData.getOrDefault("format", "PDF"));
             ReportFilterDTO filters = new ReportFilterDTO();
+            filters.setStartDate((String) requestData.get("startDate"));
+            filters.setEndDate((String) requestData.get("endDate"));
+            filters.setCursor((String) requestData.get("cursor"));
+            if (requestData.get("eventId") != null) {
+                filters.setEventId(Long.valueOf(requestData.get("eventId").toString()));
+            }
+            if (requestData.get("limit") != null) {
+                filters.setLimit(Integer.valueOf(requestData.get("limit").toString()));
+            }
             
-            ReportDTO result = reportService.generateReport(type, filters, format);
-            return ResponseEntity.ok(result);
+            ReportDTO result = reportJobService.submit(type, filters, format, (String) requestData.get("userEmail"));
+            return ResponseEntity.accepted().body(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
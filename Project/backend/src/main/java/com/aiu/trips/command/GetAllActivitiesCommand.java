@@ -1,7 +1,11 @@
 package com.aiu.trips.command;
 
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import java.util.List;
 import java.util.Map;
 
 public class GetAllActivitiesCommand implements IControllerCommand {
@@ -14,7 +18,9 @@ public class GetAllActivitiesCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> requestData) {
         try {
-            return ResponseEntity.ok(activityService.getAllActivities());
+            // Clients revalidate with If-None-Match and get 304 while the catalog is unchanged
+            CatalogView<List<ActivityDTO>> view = activityService.getAllActivities();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(view.etag()).body(view.body());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
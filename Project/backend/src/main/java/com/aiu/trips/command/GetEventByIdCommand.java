@@ -0,0 +1,31 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * GetEventByIdCommand - Implements Command Pattern for reading one event
+ */
+public class GetEventByIdCommand implements IControllerCommand {
+
+    private final IActivityManagement activityService;
+
+    public GetEventByIdCommand(IActivityManagement activityService) {
+        this.activityService = activityService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            Long id = Long.valueOf(data.get("id").toString());
+            return ResponseEntity.ok(activityService.getEventById(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -21,7 +21,9 @@ public class GetNotificationsCommand implements IControllerCommand {
     public ResponseEntity<?> execute(Map<String, Object> data) {
         try {
             String userEmail = (String) data.get("userEmail");
-            return ResponseEntity.ok(notificationService.getUserNotifications(userEmail));
+            Integer limit = data.get("limit") != null ? Integer.valueOf(data.get("limit").toString()) : null;
+            return ResponseEntity.ok(
+                notificationService.getUserNotifications(userEmail, (String) data.get("cursor"), limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
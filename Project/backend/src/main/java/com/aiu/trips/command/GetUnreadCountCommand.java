@@ -0,0 +1,28 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.service.interfaces.INotificationSystem;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * GetUnreadCountCommand - Implements Command Pattern for the unread
+ * notification badge
+ */
+public class GetUnreadCountCommand implements IControllerCommand {
+
+    private final INotificationSystem notificationService;
+
+    public GetUnreadCountCommand(INotificationSystem notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            String userEmail = (String) data.get("userEmail");
+            return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(userEmail)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
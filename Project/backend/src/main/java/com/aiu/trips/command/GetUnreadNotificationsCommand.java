@@ -21,7 +21,9 @@ public class GetUnreadNotificationsCommand implements IControllerCommand {
     public ResponseEntity<?> execute(Map<String, Object> data) {
         try {
             String userEmail = (String) data.get("userEmail");
-            return ResponseEntity.ok(notificationService.getUnreadNotifications(userEmail));
+            Integer limit = data.get("limit") != null ? Integer.valueOf(data.get("limit").toString()) : null;
+            return ResponseEntity.ok(
+                notificationService.getUnreadNotifications(userEmail, (String) data.get("cursor"), limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -1,8 +1,12 @@
 package com.aiu.trips.command;
 
 import com.aiu.trips.command.IControllerCommand;
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,7 +24,8 @@ public class GetUpcomingEventsCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> data) {
         try {
-            return ResponseEntity.ok(activityService.getUpcomingEvents());
+            CatalogView<List<ActivityDTO>> view = activityService.getUpcomingEvents();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(view.etag()).body(view.body());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
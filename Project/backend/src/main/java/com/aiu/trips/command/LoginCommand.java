@@ -1,6 +1,9 @@
 package com.aiu.trips.command;
 
+import com.aiu.trips.exception.ServiceBusyException;
 import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 
@@ -20,6 +23,10 @@ public class LoginCommand implements IControllerCommand {
             return ResponseEntity.ok(result);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(401).body(e.getMessage());
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,23 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+public class LogoutCommand implements IControllerCommand {
+    private final IAuthenticationUserManagement authService;
+
+    public LogoutCommand(IAuthenticationUserManagement authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> requestData) {
+        try {
+            authService.logout((String) requestData.get("refreshToken"), (String) requestData.get("accessToken"));
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
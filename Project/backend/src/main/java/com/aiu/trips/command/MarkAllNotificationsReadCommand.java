@@ -0,0 +1,28 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.service.interfaces.INotificationSystem;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * MarkAllNotificationsReadCommand - Implements Command Pattern for marking
+ * every unread notification of the user read
+ */
+public class MarkAllNotificationsReadCommand implements IControllerCommand {
+
+    private final INotificationSystem notificationService;
+
+    public MarkAllNotificationsReadCommand(INotificationSystem notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            String userEmail = (String) data.get("userEmail");
+            return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(userEmail)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
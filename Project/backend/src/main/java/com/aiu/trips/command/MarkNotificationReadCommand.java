@@ -0,0 +1,33 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.interfaces.INotificationSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * MarkNotificationReadCommand - Implements Command Pattern for marking one of
+ * the user's notifications read
+ */
+public class MarkNotificationReadCommand implements IControllerCommand {
+
+    private final INotificationSystem notificationService;
+
+    public MarkNotificationReadCommand(INotificationSystem notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            Long id = Long.valueOf(data.get("id").toString());
+            notificationService.markAsRead(id, (String) data.get("userEmail"));
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
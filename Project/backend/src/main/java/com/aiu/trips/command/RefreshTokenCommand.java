@@ -0,0 +1,27 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.AuthenticationException;
+import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+public class RefreshTokenCommand implements IControllerCommand {
+    private final IAuthenticationUserManagement authService;
+
+    public RefreshTokenCommand(IAuthenticationUserManagement authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> requestData) {
+        try {
+            String refreshToken = (String) requestData.get("refreshToken");
+            return ResponseEntity.ok(authService.refresh(refreshToken));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.aiu.trips.command;
 
 import com.aiu.trips.dto.UserDTO;
+import com.aiu.trips.exception.ServiceBusyException;
 import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
@@ -19,6 +21,10 @@ public class RegisterCommand implements IControllerCommand {
             UserDTO userDTO = mapToUserDTO(requestData);
             UserDTO result = authService.register(userDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -0,0 +1,32 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.EmailOutboxService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * RetryDeadEmailCommand - Implements Command Pattern for sending a dead
+ * outbox email again
+ */
+public class RetryDeadEmailCommand implements IControllerCommand {
+
+    private final EmailOutboxService outboxService;
+
+    public RetryDeadEmailCommand(EmailOutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            outboxService.requeue(Long.valueOf(data.get("id").toString()));
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ServiceBusyException;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StreamSeatUpdatesCommand - Implements Command Pattern for opening a seat
+ * availability stream. The ids are a comma-separated list of event ids; the
+ * client address counts the streams each client holds open.
+ */
+public class StreamSeatUpdatesCommand implements IControllerCommand {
+
+    private final IBookingTicketingSystem bookingService;
+
+    public StreamSeatUpdatesCommand(IBookingTicketingSystem bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            List<Long> eventIds = Arrays.stream(data.get("ids").toString().split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+            String clientAddress = data.get("clientAddress").toString();
+            return ResponseEntity.ok(bookingService.subscribeSeatUpdates(eventIds, clientAddress));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
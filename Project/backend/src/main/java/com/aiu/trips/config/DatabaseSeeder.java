@@ -41,6 +41,9 @@ public class DatabaseSeeder implements CommandLineRunner {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -308,12 +311,13 @@ public class DatabaseSeeder implements CommandLineRunner {
     private void createNotifications(List<User> users) {
         List<Notification> notifications = new ArrayList<>();
 
-        // Welcome notifications for students
+        // Welcome notifications for students, sharing one content row
+        NotificationContent welcome = notificationContentRepository.save(new NotificationContent(
+            "Welcome to AIU Trips and Events! Explore upcoming events and trips.", "INFO"));
         for (int i = 0; i < 4; i++) {
             Notification notification = new Notification();
             notification.setUser(users.get(i));
-            notification.setMessage("Welcome to AIU Trips and Events! Explore upcoming events and trips.");
-            notification.setType("INFO");
+            notification.setContent(welcome);
             notification.setIsRead(false);
             notifications.add(notificationRepository.save(notification));
         }
@@ -321,8 +325,8 @@ public class DatabaseSeeder implements CommandLineRunner {
         // Event reminder notification
         Notification reminder = new Notification();
         reminder.setUser(users.get(0));
-        reminder.setMessage("Reminder: AI and Machine Learning Conference starts in 30 days!");
-        reminder.setType("INFO");
+        reminder.setContent(notificationContentRepository.save(new NotificationContent(
+            "Reminder: AI and Machine Learning Conference starts in 30 days!", "INFO")));
         reminder.setIsRead(false);
         notifications.add(notificationRepository.save(reminder));
 
@@ -0,0 +1,84 @@
+package com.aiu.trips.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Notification Content Migration - Moves the text of legacy notifications into
+ * shared notification_contents rows and drops the old message and type columns.
+ * Runs before the EntityManagerFactory, so the schema update only sees the new layout.
+ */
+@Component
+public class NotificationContentMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationContentMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void migrate() {
+        if (!hasLegacyColumns()) {
+            return;
+        }
+        // The JPA transaction manager needs the EntityManagerFactory, which waits for this bean
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> moveContents());
+    }
+
+    private void moveContents() {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS notification_contents (" +
+            "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+            "message VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, created_at TIMESTAMP(6))");
+        jdbcTemplate.execute("ALTER TABLE notifications ADD COLUMN IF NOT EXISTS content_id BIGINT");
+        int contents = jdbcTemplate.update(
+            "INSERT INTO notification_contents (message, type, created_at) " +
+            "SELECT message, type, MIN(created_at) FROM notifications " +
+            "WHERE content_id IS NULL GROUP BY message, type");
+        jdbcTemplate.execute(
+            "CREATE INDEX IF NOT EXISTS tmp_notification_contents_text ON notification_contents (message, type)");
+        int notifications = jdbcTemplate.update(
+            "UPDATE notifications SET content_id = (" +
+            "SELECT MIN(c.id) FROM notification_contents c " +
+            "WHERE c.message = notifications.message AND c.type = notifications.type" +
+            ") WHERE content_id IS NULL");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS tmp_notification_contents_text");
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN content_id SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE notifications DROP COLUMN message");
+        jdbcTemplate.execute("ALTER TABLE notifications DROP COLUMN type");
+
+        logger.info("Moved the text of {} notifications into {} shared contents", notifications, contents);
+    }
+
+    private boolean hasLegacyColumns() {
+        Integer columns = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = CURRENT_SCHEMA AND LOWER(table_name) = 'notifications' " +
+            "AND LOWER(column_name) IN ('message', 'type')",
+            Integer.class);
+        return columns != null && columns == 2;
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the migration
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super(NotificationContentMigration.class);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.aiu.trips.config;
 import com.aiu.trips.chain.*;
 import com.aiu.trips.decorator.*;
 import com.aiu.trips.strategy.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,21 +15,43 @@ import org.springframework.context.annotation.Configuration;
 public class PatternConfiguration {
 
     /**
-     * Configure Chain of Responsibility
+     * Configure Chain of Responsibility.
+     * Routes are matched top to bottom and run their handlers in the order listed;
+     * rate limiting comes first so rejected clients cost no further work.
      */
     @Bean
-    public RequestHandler requestHandlerChain(
+    public RequestHandlerChain handlerChain(
             AuthenticationHandler authHandler,
             AuthorizationHandler authzHandler,
             ValidationHandler validationHandler,
             RateLimitHandler rateLimitHandler) {
-        
-        // Build the chain
-        authHandler.setNext(authzHandler);
-        authzHandler.setNext(validationHandler);
-        validationHandler.setNext(rateLimitHandler);
-        
-        return authHandler;
+
+        return RequestHandlerChain.builder()
+            .route("/h2-console/**")
+            .route("/swagger*/**")
+            .route("/actuator/**")
+            .route("/api/auth/**", rateLimitHandler, validationHandler)
+            .route("/api/tickets/**", rateLimitHandler)
+            .route("GET", "/api/events/**", rateLimitHandler)
+            .route("/api/events/**", rateLimitHandler, authHandler, authzHandler, validationHandler)
+            .route("/api/admin/**", rateLimitHandler, authHandler, authzHandler, validationHandler)
+            .route("/**", rateLimitHandler, authHandler, validationHandler)
+            .build();
+    }
+
+    @Bean
+    public RequestHandlerFilter requestHandlerFilter(RequestHandlerChain handlerChain, ObjectMapper objectMapper) {
+        return new RequestHandlerFilter(handlerChain, objectMapper);
+    }
+
+    /**
+     * The filter runs inside the security filter chain only, not a second time as a plain servlet filter
+     */
+    @Bean
+    public FilterRegistrationBean<RequestHandlerFilter> requestHandlerFilterRegistration(RequestHandlerFilter filter) {
+        FilterRegistrationBean<RequestHandlerFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     /**
@@ -12,6 +12,7 @@ public final class AppConstants {
     public static final String BOOKING_NOT_FOUND = "Booking not found with id: ";
     public static final String FEEDBACK_NOT_FOUND = "Feedback not found with id: ";
     public static final String NOTIFICATION_NOT_FOUND = "Notification not found with id: ";
+    public static final String DEAD_EMAIL_NOT_FOUND = "No dead email with id: ";
     
     // Booking Messages
     public static final String NO_SEATS_AVAILABLE = "No seats available for this event";
@@ -19,6 +20,10 @@ public final class AppConstants {
     public static final String BOOKING_ALREADY_CANCELLED = "Booking is already cancelled";
     public static final String BOOKING_ALREADY_VALIDATED = "Ticket has already been validated";
     public static final String CANNOT_VALIDATE_CANCELLED = "Cannot validate a cancelled booking";
+    public static final String SEAT_HOLD_NOT_FOUND = "Seat hold not found: ";
+    public static final String SEAT_HOLD_EXPIRED = "Seat hold has expired";
+    public static final String ALREADY_BOOKED = "Already booked this event";
+    public static final String TOO_MANY_SEAT_HOLDS = "Too many open seat holds; confirm or wait for one to expire";
     
     // Feedback Messages
     public static final String FEEDBACK_ALREADY_EXISTS = "You have already submitted feedback for this event";
@@ -1,14 +1,12 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
 import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -24,33 +22,53 @@ public class AuthController {
     @Autowired
     private IAuthenticationUserManagement authService;
 
-    @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
-
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> register(@RequestBody Map<String, Object> requestData) {
         try {
-            // Use Chain of Responsibility
-            handlerChain.handle(request);
-
             // Use Command Pattern
             IControllerCommand command = new RegisterCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> login(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
-
             IControllerCommand command = new LoginCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, Object> requestData) {
+        try {
+            IControllerCommand command = new RefreshTokenCommand(authService);
+            return commandInvoker.execute(command, requestData);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * End the session: revokes the refresh token family and the presented access token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) Map<String, Object> requestData,
+                                    @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            Map<String, Object> data = requestData != null ? new HashMap<>(requestData) : new HashMap<>();
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                data.put("accessToken", authHeader.substring(7));
+            }
+            IControllerCommand command = new LogoutCommand(authService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
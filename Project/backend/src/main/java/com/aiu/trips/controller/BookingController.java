@@ -1,11 +1,9 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -27,17 +25,14 @@ public class BookingController {
     @Autowired
     private IBookingTicketingSystem bookingService;
 
-    @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
-
+    /**
+     * One page of the event catalog; see EventFilterDTO for the parameters
+     */
     @GetMapping("/browse")
-    public ResponseEntity<?> browseEvents(HttpServletRequest request) {
+    public ResponseEntity<?> browseEvents(@RequestParam Map<String, String> params) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new BrowseEventsCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, new HashMap<>(params));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -46,7 +41,6 @@ public class BookingController {
     @GetMapping("/my-bookings")
     public ResponseEntity<?> getMyBookings(HttpServletRequest request) {
         try {
-            handlerChain.handle(request);
             // Extract user email from authentication
             String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
 
@@ -54,8 +48,7 @@ public class BookingController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new GetUserBookingsCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -64,7 +57,6 @@ public class BookingController {
     @PostMapping("/event/{eventId}")
     public ResponseEntity<?> createBooking(@PathVariable Long eventId, HttpServletRequest request) {
         try {
-            handlerChain.handle(request);
             // Extract user email from authentication
             String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : "guest";
 
@@ -73,20 +65,49 @@ public class BookingController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new BookEventCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/event/{eventId}/hold")
+    public ResponseEntity<?> holdSeat(@PathVariable Long eventId, HttpServletRequest request) {
+        try {
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : "guest";
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("eventId", eventId);
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new HoldSeatCommand(bookingService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/holds/{holdCode}/confirm")
+    public ResponseEntity<?> confirmSeatHold(@PathVariable String holdCode, HttpServletRequest request) {
+        try {
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : "guest";
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("holdCode", holdCode);
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new ConfirmSeatHoldCommand(bookingService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/validate")
-    public ResponseEntity<?> validateTicket(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> validateTicket(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new ValidateTicketCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -1,14 +1,15 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
+import com.aiu.trips.ratelimit.RateLimiter;
 import com.aiu.trips.service.interfaces.IActivityManagement;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,79 +29,90 @@ public class EventController {
     private IActivityManagement activityService;
 
     @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
+    private IBookingTicketingSystem bookingService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
 
     @GetMapping
-    public ResponseEntity<?> getAllEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getAllEvents() {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new GetAllActivitiesCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, new HashMap<>());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<?> getUpcomingEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getUpcomingEvents() {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new GetUpcomingEventsCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, new HashMap<>());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * Server-Sent Events stream of seat counts for the given events, e.g.
+     * ?ids=1,2,3. Each "seats" message lists the events whose count changed.
+     * The emitter type is declared so Spring streams it instead of serializing it;
+     * a rejected subscription answers with the status only.
+     */
+    @GetMapping("/seats/stream")
+    public ResponseEntity<SseEmitter> streamSeatUpdates(@RequestParam String ids, HttpServletRequest request) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("ids", ids);
+        data.put("clientAddress", rateLimiter.clientAddress(request));
+        IControllerCommand command = new StreamSeatUpdatesCommand(bookingService);
+        ResponseEntity<?> response = commandInvoker.execute(command, data);
+        if (response.getBody() instanceof SseEmitter emitter) {
+            return ResponseEntity.ok(emitter);
+        }
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).build();
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEventById(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<?> getEventById(@PathVariable Long id) {
         try {
-            handlerChain.handle(request);
-            // Using GetAllActivitiesCommand and filtering (simplified)
-            return getAllEvents(request);
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", id);
+            IControllerCommand command = new GetEventByIdCommand(activityService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping
-    public ResponseEntity<?> createEvent(@RequestBody Map<String, Object> eventData, HttpServletRequest request) {
+    public ResponseEntity<?> createEvent(@RequestBody Map<String, Object> eventData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new CreateEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(eventData);
+            return commandInvoker.execute(command, eventData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Map<String, Object> eventData,
-            HttpServletRequest request) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Map<String, Object> eventData) {
         try {
-            handlerChain.handle(request);
             eventData.put("id", id);
             IControllerCommand command = new UpdateEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(eventData);
+            return commandInvoker.execute(command, eventData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteEvent(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<?> deleteEvent(@PathVariable Long id) {
         try {
-            handlerChain.handle(request);
             Map<String, Object> data = new HashMap<>();
             data.put("id", id);
             IControllerCommand command = new DeleteEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,74 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.command.ControllerCommandInvoker;
+import com.aiu.trips.command.IControllerCommand;
+import com.aiu.trips.command.RetryDeadEmailCommand;
+import com.aiu.trips.service.EmailOutboxService;
+import com.aiu.trips.service.NotificationFanoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * NotificationAdminController - Delivery internals of the notification
+ * system, only for administrators
+ */
+@RestController
+@RequestMapping("/api/admin/notifications")
+public class NotificationAdminController {
+
+    @Autowired
+    private ControllerCommandInvoker commandInvoker;
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @GetMapping("/fanout")
+    public ResponseEntity<?> getFanoutJobs() {
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("queueDepth", fanoutService.getQueueDepth());
+            data.put("jobs", fanoutService.getJobs());
+            return ResponseEntity.ok(data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/fanout/{jobId}")
+    public ResponseEntity<?> getFanoutJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(fanoutService.getJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/email-outbox")
+    public ResponseEntity<?> getEmailOutboxStats() {
+        try {
+            return ResponseEntity.ok(emailOutboxService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/email-outbox/{id}/retry")
+    public ResponseEntity<?> retryDeadEmail(@PathVariable Long id) {
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", id);
+
+            IControllerCommand command = new RetryDeadEmailCommand(emailOutboxService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
 import com.aiu.trips.service.interfaces.INotificationSystem;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,54 +24,100 @@ public class NotificationController {
     @Autowired
     private INotificationSystem notificationService;
 
-    @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
-
+    /**
+     * One page of the inbox, newest first; pass nextCursor back as cursor for the next page
+     */
     @GetMapping
-    public ResponseEntity<?> getNotifications(HttpServletRequest request) {
+    public ResponseEntity<?> getNotifications(HttpServletRequest request,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
         try {
-            handlerChain.handle(request);
             // Extract user email from authentication
             String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
 
             Map<String, Object> data = new HashMap<>();
             data.put("userEmail", userEmail);
+            data.put("cursor", cursor);
+            data.put("limit", limit);
 
             IControllerCommand command = new GetNotificationsCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<?> getUnreadNotifications(HttpServletRequest request) {
+    public ResponseEntity<?> getUnreadNotifications(HttpServletRequest request,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
         try {
-            handlerChain.handle(request);
             // Extract user email from authentication
             String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
 
             Map<String, Object> data = new HashMap<>();
             data.put("userEmail", userEmail);
+            data.put("cursor", cursor);
+            data.put("limit", limit);
 
             IControllerCommand command = new GetUnreadNotificationsCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/unread/count")
+    public ResponseEntity<?> getUnreadCount(HttpServletRequest request) {
+        try {
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new GetUnreadCountCommand(notificationService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<?> markAsRead(HttpServletRequest request, @PathVariable Long id) {
+        try {
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+            data.put("id", id);
+
+            IControllerCommand command = new MarkNotificationReadCommand(notificationService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(HttpServletRequest request) {
+        try {
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new MarkAllNotificationsReadCommand(notificationService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/send")
-    public ResponseEntity<?> sendNotification(@RequestBody Map<String, Object> requestData,
-            HttpServletRequest request) {
+    public ResponseEntity<?> sendNotification(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new SendNotificationCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -1,19 +1,22 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
 import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.exception.ResourceNotFoundException;
 import com.aiu.trips.service.AdvancedAnalyticsService;
+import com.aiu.trips.service.ReportJobService;
 import com.aiu.trips.service.ReportService;
 import com.aiu.trips.service.interfaces.IReportsAnalytics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,28 +38,61 @@ public class ReportController {
     private ReportService reportServiceImpl;
 
     @Autowired
-    private AdvancedAnalyticsService analyticsService;
+    private ReportJobService reportJobService;
 
     @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
+    private AdvancedAnalyticsService analyticsService;
 
+    /**
+     * Queue a report; ReportJobService renders it on its own pool
+     */
     @PostMapping("/generate")
     public ResponseEntity<?> generateReport(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
         try {
-            handlerChain.handle(request);
-            IControllerCommand command = new GenerateReportCommand(reportService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            requestData.put("userEmail", request.getUserPrincipal().getName());
+            IControllerCommand command = new GenerateReportCommand(reportJobService);
+            return commandInvoker.execute(command, requestData);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Status of a report queued through /generate
+     */
+    @GetMapping("/jobs/{reportId}")
+    public ResponseEntity<?> getReportJob(@PathVariable Long reportId) {
+        try {
+            return ResponseEntity.ok(reportJobService.getReport(reportId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Download the stored artifact of a completed report
+     */
+    @GetMapping("/jobs/{reportId}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable Long reportId) {
+        try {
+            ExportFormat format = reportJobService.getReport(reportId).getFormat();
+            FileSystemResource file = new FileSystemResource(reportJobService.getReportFile(reportId));
+            return ResponseEntity.ok()
+                    .headers(exportHeaders(format, "report_" + reportId))
+                    .contentLength(file.contentLength())
+                    .body(file);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/overall")
-    public ResponseEntity<?> getOverallReport(HttpServletRequest request) {
+    public ResponseEntity<?> getOverallReport() {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(reportService.getOverallReport());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error generating overall report: " + e.getMessage());
@@ -64,38 +100,18 @@ public class ReportController {
     }
 
     @GetMapping("/export/overall")
-    public ResponseEntity<byte[]> exportOverallReport(
-            @RequestParam(defaultValue = "PDF") String format,
-            HttpServletRequest request) {
+    public ResponseEntity<?> exportOverallReport(
+            @RequestParam(defaultValue = "PDF") String format) {
         try {
-            handlerChain.handle(request);
-            
             ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
             Map<String, Object> reportData = reportServiceImpl.getOverallReport();
-            byte[] exportedData = reportServiceImpl.exportReportData(
-                    reportData, exportFormat, "AIU Trips & Events - Overall Report");
+            StreamingResponseBody body = out -> reportServiceImpl.exportReportData(
+                    reportData, exportFormat, "AIU Trips & Events - Overall Report", out);
 
-            HttpHeaders headers = new HttpHeaders();
             String filename = "overall_report_" + System.currentTimeMillis();
-            
-            switch (exportFormat) {
-                case PDF:
-                    headers.setContentType(MediaType.APPLICATION_PDF);
-                    headers.setContentDispositionFormData("attachment", filename + ".pdf");
-                    break;
-                case CSV:
-                    headers.setContentType(MediaType.parseMediaType("text/csv"));
-                    headers.setContentDispositionFormData("attachment", filename + ".csv");
-                    break;
-                case JSON:
-                    headers.setContentType(MediaType.APPLICATION_JSON);
-                    headers.setContentDispositionFormData("attachment", filename + ".json");
-                    break;
-            }
-
             return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(exportedData);
+                    .headers(exportHeaders(exportFormat, filename))
+                    .body(body);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(("Error exporting report: " + e.getMessage()).getBytes());
@@ -103,51 +119,55 @@ public class ReportController {
     }
 
     @GetMapping("/export/event/{eventId}")
-    public ResponseEntity<byte[]> exportEventReport(
+    public ResponseEntity<?> exportEventReport(
             @PathVariable Long eventId,
-            @RequestParam(defaultValue = "PDF") String format,
-            HttpServletRequest request) {
+            @RequestParam(defaultValue = "PDF") String format) {
         try {
-            handlerChain.handle(request);
-            
             ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
             Map<String, Object> reportData = reportServiceImpl.getEventReport(eventId);
             String reportTitle = "Event Report - " + reportData.get("eventTitle");
-            byte[] exportedData = reportServiceImpl.exportReportData(reportData, exportFormat, reportTitle);
+            StreamingResponseBody body = out -> reportServiceImpl.exportReportData(
+                    reportData, exportFormat, reportTitle, out);
 
-            HttpHeaders headers = new HttpHeaders();
             String filename = "event_" + eventId + "_report_" + System.currentTimeMillis();
-            
-            switch (exportFormat) {
-                case PDF:
-                    headers.setContentType(MediaType.APPLICATION_PDF);
-                    headers.setContentDispositionFormData("attachment", filename + ".pdf");
-                    break;
-                case CSV:
-                    headers.setContentType(MediaType.parseMediaType("text/csv"));
-                    headers.setContentDispositionFormData("attachment", filename + ".csv");
-                    break;
-                case JSON:
-                    headers.setContentType(MediaType.APPLICATION_JSON);
-                    headers.setContentDispositionFormData("attachment", filename + ".json");
-                    break;
-            }
-
             return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(exportedData);
+                    .headers(exportHeaders(exportFormat, filename))
+                    .body(body);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(("Error exporting event report: " + e.getMessage()).getBytes());
         }
     }
 
+    /**
+     * Stream every booking made between two dates (inclusive) straight to the response
+     */
+    @GetMapping("/export/bookings")
+    public ResponseEntity<?> exportBookings(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "CSV") String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.of(1970, 1, 1);
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            StreamingResponseBody body = out -> reportServiceImpl.exportBookings(
+                    fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay(), exportFormat, out);
+
+            String filename = "bookings_" + fromDate + "_" + toDate;
+            return ResponseEntity.ok()
+                    .headers(exportHeaders(exportFormat, filename))
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(("Error exporting bookings: " + e.getMessage()).getBytes());
+        }
+    }
+
     @GetMapping("/analytics/trends")
     public ResponseEntity<?> getBookingTrends(
-            @RequestParam(defaultValue = "30") int days,
-            HttpServletRequest request) {
+            @RequestParam(defaultValue = "30") int days) {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.getBookingTrends(days));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -157,10 +177,8 @@ public class ReportController {
 
     @GetMapping("/analytics/forecast")
     public ResponseEntity<?> getRevenueForecast(
-            @RequestParam(defaultValue = "30") int days,
-            HttpServletRequest request) {
+            @RequestParam(defaultValue = "30") int days) {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.forecastRevenue(days));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -169,9 +187,8 @@ public class ReportController {
     }
 
     @GetMapping("/analytics/categories")
-    public ResponseEntity<?> getPopularCategories(HttpServletRequest request) {
+    public ResponseEntity<?> getPopularCategories() {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.getPopularCategories());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -180,9 +197,8 @@ public class ReportController {
     }
 
     @GetMapping("/analytics/attendance")
-    public ResponseEntity<?> getAttendancePatterns(HttpServletRequest request) {
+    public ResponseEntity<?> getAttendancePatterns() {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.getAttendancePatterns());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -191,9 +207,8 @@ public class ReportController {
     }
 
     @GetMapping("/analytics/peak-periods")
-    public ResponseEntity<?> getPeakBookingPeriods(HttpServletRequest request) {
+    public ResponseEntity<?> getPeakBookingPeriods() {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.getPeakBookingPeriods());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -202,13 +217,33 @@ public class ReportController {
     }
 
     @GetMapping("/analytics/comprehensive")
-    public ResponseEntity<?> getComprehensiveAnalytics(HttpServletRequest request) {
+    public ResponseEntity<?> getComprehensiveAnalytics() {
         try {
-            handlerChain.handle(request);
             return ResponseEntity.ok(analyticsService.getComprehensiveAnalytics());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Error generating comprehensive analytics: " + e.getMessage());
         }
     }
+
+    private HttpHeaders exportHeaders(ExportFormat exportFormat, String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        switch (exportFormat) {
+            case PDF:
+                headers.setContentType(MediaType.APPLICATION_PDF);
+                headers.setContentDispositionFormData("attachment", filename + ".pdf");
+                break;
+            case CSV:
+                headers.setContentType(MediaType.parseMediaType("text/csv"));
+                headers.setContentDispositionFormData("attachment", filename + ".csv");
+                break;
+            case JSON:
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setContentDispositionFormData("attachment", filename + ".json");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + exportFormat);
+        }
+        return headers;
+    }
 }
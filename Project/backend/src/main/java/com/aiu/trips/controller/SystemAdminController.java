@@ -0,0 +1,45 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.chain.RequestHandlerChain;
+import com.aiu.trips.command.ControllerCommandInvoker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * SystemAdminController - Request processing metrics, only for administrators
+ */
+@RestController
+@RequestMapping("/api/admin/system")
+public class SystemAdminController {
+
+    @Autowired
+    private ControllerCommandInvoker commandInvoker;
+
+    @Autowired
+    private RequestHandlerChain handlerChain;
+
+    /**
+     * Per-command invocation counts and latencies from the command invoker
+     */
+    @GetMapping("/commands/metrics")
+    public ResponseEntity<?> getCommandMetrics() {
+        try {
+            return ResponseEntity.ok(commandInvoker.getMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Per-handler invocation counts and latencies from the request handler chain
+     */
+    @GetMapping("/chain/metrics")
+    public ResponseEntity<?> getChainMetrics() {
+        try {
+            return ResponseEntity.ok(handlerChain.getMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,12 @@
 package com.aiu.trips.controller;
 
-import com.aiu.trips.chain.*;
 import com.aiu.trips.command.*;
 import com.aiu.trips.service.interfaces.*;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -33,56 +31,42 @@ public class SystemController {
     @Autowired
     private INotificationSystem notificationService;
 
-    @Autowired
-    @Qualifier("requestHandlerChain")
-    private RequestHandler handlerChain;
-
     @PostMapping("/auth/register")
-    public ResponseEntity<?> register(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> register(@RequestBody Map<String, Object> requestData) {
         try {
-            // Use Chain of Responsibility
-            handlerChain.handle(request);
-
             // Use Command Pattern
             IControllerCommand command = new RegisterCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/auth/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> login(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new LoginCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/activities")
-    public ResponseEntity<?> createActivity(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> createActivity(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new CreateEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PostMapping("/bookings")
-    public ResponseEntity<?> bookEvent(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+    public ResponseEntity<?> bookEvent(@RequestBody Map<String, Object> requestData) {
         try {
-            handlerChain.handle(request);
             IControllerCommand command = new BookEventCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -91,7 +75,8 @@ public class SystemController {
     @GetMapping("/activities")
     public ResponseEntity<?> getAllActivities() {
         try {
-            return ResponseEntity.ok(activityService.getAllActivities());
+            IControllerCommand command = new GetAllActivitiesCommand(activityService);
+            return commandInvoker.execute(command, new HashMap<>());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
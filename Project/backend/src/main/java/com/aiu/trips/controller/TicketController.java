@@ -0,0 +1,48 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.TicketQrService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TicketController - Serves ticket QR images
+ *
+ * The booking code is an unguessable UUID, so the image is served without the
+ * request handler chain and can be cached by the browser.
+ */
+@RestController
+@RequestMapping("/api/tickets")
+public class TicketController {
+
+    @Autowired
+    private TicketQrService ticketQrService;
+
+    @GetMapping(value = "/{bookingCode}/qr.png", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<?> getQrCode(@PathVariable String bookingCode, WebRequest webRequest) {
+        // An unknown code must be a 404, never a 304 for a client-supplied ETag
+        if (!ticketQrService.exists(bookingCode)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ticketQrService.getETag(bookingCode);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            byte[] png = ticketQrService.getQrPng(bookingCode);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                .eTag(etag)
+                .contentType(MediaType.IMAGE_PNG)
+                .body(png);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
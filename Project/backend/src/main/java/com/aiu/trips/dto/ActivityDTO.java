@@ -2,6 +2,7 @@ package com.aiu.trips.dto;
 
 import com.aiu.trips.enums.ActivityCategory;
 import com.aiu.trips.enums.ActivityType;
+import com.aiu.trips.prototype.IPrototype;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.List;
 /**
  * ActivityDTO for transferring activity data
  */
-public class ActivityDTO {
+public class ActivityDTO implements IPrototype<ActivityDTO> {
     private Long activityId;
     private String name;
     private String description;
@@ -39,6 +40,36 @@ public class ActivityDTO {
     // Constructors
     public ActivityDTO() {}
 
+    /**
+     * Field-by-field copy; the speakers list is shared
+     */
+    @Override
+    public ActivityDTO clone() {
+        ActivityDTO copy = new ActivityDTO();
+        copy.activityId = activityId;
+        copy.name = name;
+        copy.description = description;
+        copy.activityDate = activityDate;
+        copy.location = location;
+        copy.capacity = capacity;
+        copy.availableSeats = availableSeats;
+        copy.price = price;
+        copy.category = category;
+        copy.type = type;
+        copy.organizerId = organizerId;
+        copy.speakers = speakers;
+        copy.topic = topic;
+        copy.venue = venue;
+        copy.agenda = agenda;
+        copy.destination = destination;
+        copy.durationDays = durationDays;
+        copy.transportMode = transportMode;
+        copy.startLocation = startLocation;
+        copy.endLocation = endLocation;
+        copy.itinerary = itinerary;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getActivityId() { return activityId; }
     public void setActivityId(Long activityId) { this.activityId = activityId; }
@@ -0,0 +1,18 @@
+package com.aiu.trips.dto;
+
+/**
+ * BookingAggregate - booking counts and amounts computed in SQL for reports.
+ * Paid bookings are those that are not cancelled (confirmed or attended).
+ */
+public record BookingAggregate(
+    long totalBookings,
+    long paidBookings,
+    long attendedBookings,
+    long cancelledBookings,
+    double revenue,
+    double cancelledAmount
+) {
+    public double averageBookingValue() {
+        return paidBookings == 0 ? 0 : revenue / paidBookings;
+    }
+}
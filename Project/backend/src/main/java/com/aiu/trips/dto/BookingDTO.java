@@ -11,6 +11,7 @@ public class BookingDTO {
     private BookingStatus status;
     private LocalDateTime bookingDate;
     private String qrCodePath;
+    private String qrCodeUrl;
     private Double amountPaid;
     private PaymentMethod paymentMethod;
     private LocalDateTime validatedAt;
@@ -38,6 +39,9 @@ public class BookingDTO {
     public String getQrCodePath() { return qrCodePath; }
     public void setQrCodePath(String qrCodePath) { this.qrCodePath = qrCodePath; }
 
+    public String getQrCodeUrl() { return qrCodeUrl; }
+    public void setQrCodeUrl(String qrCodeUrl) { this.qrCodeUrl = qrCodeUrl; }
+
     public Double getAmountPaid() { return amountPaid; }
     public void setAmountPaid(Double amountPaid) { this.amountPaid = amountPaid; }
 
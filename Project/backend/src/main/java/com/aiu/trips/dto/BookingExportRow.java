@@ -0,0 +1,32 @@
+package com.aiu.trips.dto;
+
+import com.aiu.trips.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * BookingExportRow - one booking in a row-level report, read as scalars so
+ * exports never load Booking entities into the persistence context.
+ */
+public record BookingExportRow(
+    Long bookingId,
+    String bookingCode,
+    BookingStatus status,
+    LocalDateTime bookingDate,
+    Double amountPaid,
+    Long eventId,
+    String eventTitle,
+    String userEmail,
+    String userName,
+    LocalDateTime validatedAt
+) {
+    public static final List<String> COLUMNS = List.of(
+        "bookingId", "bookingCode", "status", "bookingDate", "amountPaid",
+        "eventId", "eventTitle", "userEmail", "userName", "validatedAt");
+
+    public Object[] toArray() {
+        return new Object[]{bookingId, bookingCode, status, bookingDate, amountPaid,
+            eventId, eventTitle, userEmail, userName, validatedAt};
+    }
+}
@@ -0,0 +1,8 @@
+package com.aiu.trips.dto;
+
+/**
+ * A catalog response together with the entity tag that identifies it.
+ * Controllers send the tag as ETag so an unchanged response is answered with 304.
+ */
+public record CatalogView<T>(T body, String etag) {
+}
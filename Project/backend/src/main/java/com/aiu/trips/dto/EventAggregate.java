@@ -0,0 +1,20 @@
+package com.aiu.trips.dto;
+
+/**
+ * EventAggregate - event counts and seat totals computed in SQL for reports.
+ */
+public record EventAggregate(
+    long totalEvents,
+    long activeEvents,
+    long completedEvents,
+    long totalCapacity,
+    long bookedSeats
+) {
+    public double averageAttendance() {
+        return totalEvents == 0 ? 0 : (double) bookedSeats / totalEvents;
+    }
+
+    public double utilizationRate() {
+        return totalCapacity == 0 ? 0 : (double) bookedSeats / totalCapacity * 100;
+    }
+}
@@ -4,7 +4,10 @@ import com.aiu.trips.enums.ActivityStatus;
 import com.aiu.trips.enums.ActivityType;
 
 /**
- * EventFilterDTO for filtering events
+ * EventFilterDTO for filtering events.
+ * Dates are ISO dates on the event start date, both ends inclusive. query
+ * matches title or location. sort is startDate or price, prefixed with "-"
+ * for descending. cursor is the nextCursor of the previous page.
  */
 public class EventFilterDTO {
     private ActivityType type;
@@ -12,6 +15,12 @@ public class EventFilterDTO {
     private String location;
     private String startDate;
     private String endDate;
+    private Double minPrice;
+    private Double maxPrice;
+    private String query;
+    private String sort;
+    private String cursor;
+    private Integer limit;
 
     public EventFilterDTO() {}
 
@@ -30,4 +39,22 @@ public class EventFilterDTO {
 
     public String getEndDate() { return endDate; }
     public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
 }
@@ -0,0 +1,16 @@
+package com.aiu.trips.dto;
+
+import java.util.List;
+
+/**
+ * EventPage - one keyset page of the event catalog. nextCursor is null on
+ * the last page; otherwise it resumes the listing after the last event returned.
+ */
+public record EventPage(
+    List<ActivityDTO> items,
+    String nextCursor
+) {
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
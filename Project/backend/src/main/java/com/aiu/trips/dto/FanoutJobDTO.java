@@ -0,0 +1,56 @@
+package com.aiu.trips.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * FanoutJobDTO for reporting the progress of a background notification fan-out
+ */
+public class FanoutJobDTO {
+    private String jobId;
+    private String status;
+    private String message;
+    private Long eventId;
+    private Long totalRecipients;
+    private Long delivered;
+    private Double recipientsPerSecond;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public FanoutJobDTO() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Long getTotalRecipients() { return totalRecipients; }
+    public void setTotalRecipients(Long totalRecipients) { this.totalRecipients = totalRecipients; }
+
+    public Long getDelivered() { return delivered; }
+    public void setDelivered(Long delivered) { this.delivered = delivered; }
+
+    public Double getRecipientsPerSecond() { return recipientsPerSecond; }
+    public void setRecipientsPerSecond(Double recipientsPerSecond) { this.recipientsPerSecond = recipientsPerSecond; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
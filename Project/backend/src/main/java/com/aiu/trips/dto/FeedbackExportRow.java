@@ -0,0 +1,25 @@
+package com.aiu.trips.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * FeedbackExportRow - one feedback entry in a row-level report
+ */
+public record FeedbackExportRow(
+    Long feedbackId,
+    Long eventId,
+    String eventTitle,
+    String userEmail,
+    String userName,
+    Integer rating,
+    String comment,
+    LocalDateTime createdAt
+) {
+    public static final List<String> COLUMNS = List.of(
+        "feedbackId", "eventId", "eventTitle", "userEmail", "userName", "rating", "comment", "createdAt");
+
+    public Object[] toArray() {
+        return new Object[]{feedbackId, eventId, eventTitle, userEmail, userName, rating, comment, createdAt};
+    }
+}
@@ -0,0 +1,15 @@
+package com.aiu.trips.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One inbox entry, read without loading the recipient
+ */
+public record NotificationDTO(
+    Long id,
+    String message,
+    String type,
+    Boolean isRead,
+    LocalDateTime createdAt
+) {
+}
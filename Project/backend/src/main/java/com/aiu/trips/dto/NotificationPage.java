@@ -0,0 +1,16 @@
+package com.aiu.trips.dto;
+
+import java.util.List;
+
+/**
+ * NotificationPage - one page of a user's inbox, newest first. nextCursor is
+ * null on the last page; otherwise it resumes the inbox after the last entry.
+ */
+public record NotificationPage(
+    List<NotificationDTO> items,
+    String nextCursor
+) {
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -15,6 +15,8 @@ public class ReportDTO {
     private String filePath;
     private String description;
     private ExportFormat format;
+    private String status;
+    private String error;
     private byte[] data;
     private Map<String, Object> reportData;
     private LocalDateTime generatedAt;
@@ -37,6 +39,12 @@ public class ReportDTO {
     public ExportFormat getFormat() { return format; }
     public void setFormat(ExportFormat format) { this.format = format; }
 
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
     public byte[] getData() { return data; }
     public void setData(byte[] data) { this.data = data; }
 
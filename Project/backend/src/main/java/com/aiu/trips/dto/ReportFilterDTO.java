@@ -9,6 +9,8 @@ public class ReportFilterDTO {
     private Long activityId;
     private Long eventId;
     private String category;
+    private String cursor;
+    private Integer limit;
 
     public ReportFilterDTO() {}
 
@@ -27,4 +29,10 @@ public class ReportFilterDTO {
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
 }
@@ -0,0 +1,17 @@
+package com.aiu.trips.dto;
+
+import java.util.List;
+
+/**
+ * ReportPage - one keyset page of a row-level report. nextCursor is null on
+ * the last page; otherwise it resumes the report after the last row returned.
+ */
+public record ReportPage(
+    List<String> columns,
+    List<Object[]> rows,
+    String nextCursor
+) {
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.aiu.trips.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * SeatHoldDTO for transferring seat hold data
+ */
+public class SeatHoldDTO {
+    private String holdCode;
+    private Long eventId;
+    private LocalDateTime expiresAt;
+
+    public SeatHoldDTO() {}
+
+    // Getters and Setters
+    public String getHoldCode() { return holdCode; }
+    public void setHoldCode(String holdCode) { this.holdCode = holdCode; }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
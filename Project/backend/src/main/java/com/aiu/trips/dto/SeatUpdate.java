@@ -0,0 +1,7 @@
+package com.aiu.trips.dto;
+
+/**
+ * Current seat count of one event, as pushed on the seat availability stream
+ */
+public record SeatUpdate(Long eventId, Integer availableSeats) {
+}
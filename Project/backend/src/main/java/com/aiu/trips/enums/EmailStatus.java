@@ -0,0 +1,12 @@
+package com.aiu.trips.enums;
+
+/**
+ * Delivery state of an email in the outbox. DEAD emails are kept for
+ * inspection and are only sent again when requeued by hand.
+ */
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -6,5 +6,9 @@ package com.aiu.trips.enums;
 public enum ReportType {
     PARTICIPANTS,
     REVENUE,
-    FEEDBACK
+    FEEDBACK,
+    // Row-level reports, read in keyset pages
+    BOOKING_DETAILS,
+    EVENT_ATTENDEES,
+    FEEDBACK_DETAILS
 }
@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_event_status", columnList = "event_id, status")
+})
 public class Booking {
     
     public Booking() {}
@@ -49,7 +51,7 @@ public class Booking {
     private LocalDateTime bookingDate;
     
     @Column(columnDefinition = "TEXT")
-    private String qrCodePath;
+    private String qrCodePath; // QR payload; the image is served by /api/tickets/{bookingCode}/qr.png
     
     @Column
     private Double amountPaid;
@@ -0,0 +1,88 @@
+package com.aiu.trips.model;
+
+import com.aiu.trips.enums.EventType;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated booking counters for one hour and one event type. Bookings are
+ * counted in the hour they were made; cancellations and validations update the
+ * bucket of the original booking. Maintained by
+ * {@link com.aiu.trips.service.AnalyticsAggregateService}.
+ */
+@Entity
+@Table(name = "booking_stats_buckets",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_booking_stats_bucket", columnNames = {"bucketStart", "eventType"})
+    },
+    indexes = {
+        @Index(name = "idx_booking_stats_bucket_date", columnList = "bucketDate")
+    })
+public class BookingStatsBucket {
+
+    public BookingStatsBucket() {}
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private Integer hourOfDay;
+
+    @Column(nullable = false)
+    private String dayOfWeek;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    @Column(nullable = false)
+    private Long bookings; // All bookings made in this hour, whatever their current status
+
+    @Column(nullable = false)
+    private Long cancellations;
+
+    @Column(nullable = false)
+    private Long attended;
+
+    @Column(nullable = false)
+    private Double revenue; // Amount paid by bookings that are not cancelled
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+
+    public Integer getHourOfDay() { return hourOfDay; }
+    public void setHourOfDay(Integer hourOfDay) { this.hourOfDay = hourOfDay; }
+
+    public String getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+
+    public Long getBookings() { return bookings; }
+    public void setBookings(Long bookings) { this.bookings = bookings; }
+
+    public Long getCancellations() { return cancellations; }
+    public void setCancellations(Long cancellations) { this.cancellations = cancellations; }
+
+    public Long getAttended() { return attended; }
+    public void setAttended(Long attended) { this.attended = attended; }
+
+    public Double getRevenue() { return revenue; }
+    public void setRevenue(Double revenue) { this.revenue = revenue; }
+}
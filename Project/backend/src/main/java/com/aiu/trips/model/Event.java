@@ -2,12 +2,17 @@ package com.aiu.trips.model;
 
 import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.enums.EventType;
+import com.aiu.trips.service.EventCatalogInvalidationListener;
 import jakarta.persistence.*;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_status_start_date", columnList = "status, startDate"),
+    @Index(name = "idx_events_type_start_date", columnList = "type, startDate")
+})
+@EntityListeners(EventCatalogInvalidationListener.class)
 public class Event {
     
     public Event() {}
@@ -75,6 +80,9 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus status; // ACTIVE, CANCELLED, COMPLETED
     
+    @Transient
+    private String notificationJobId; // Fan-out job started when the event was created
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -124,4 +132,7 @@ public class Event {
     
     public EventStatus getStatus() { return status; }
     public void setStatus(EventStatus status) { this.status = status; }
+    
+    public String getNotificationJobId() { return notificationJobId; }
+    public void setNotificationJobId(String notificationJobId) { this.notificationJobId = notificationJobId; }
 }
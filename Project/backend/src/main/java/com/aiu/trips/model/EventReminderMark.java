@@ -0,0 +1,54 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of the reminders sent for an event: the smallest offset
+ * before the start that has gone out. Only valid for the start date it was
+ * recorded for; moving the event starts its reminders over. Maintained by
+ * {@link com.aiu.trips.service.EventReminderService}.
+ */
+@Entity
+@Table(name = "event_reminder_marks")
+public class EventReminderMark {
+
+    public EventReminderMark() {}
+
+    public EventReminderMark(Long eventId, LocalDateTime startDate, Integer sentOffsetMinutes) {
+        this.eventId = eventId;
+        this.startDate = startDate;
+        this.sentOffsetMinutes = sentOffsetMinutes;
+    }
+
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime startDate;
+
+    @Column(nullable = false)
+    private Integer sentOffsetMinutes;
+
+    @Column
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        sentAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public Integer getSentOffsetMinutes() { return sentOffsetMinutes; }
+    public void setSentOffsetMinutes(Integer sentOffsetMinutes) { this.sentOffsetMinutes = sentOffsetMinutes; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
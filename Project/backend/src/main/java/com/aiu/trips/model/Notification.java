@@ -4,63 +4,65 @@ import jakarta.persistence.*;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
+/**
+ * Delivery of a {@link NotificationContent} to one user. The text lives in the
+ * shared content row, so a broadcast stores its message once.
+ */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_read", columnList = "user_id, isRead"),
+    @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_notifications_content_id", columnList = "content_id")
+})
 public class Notification {
-    
+
     public Notification() {}
-    
-    public Notification(Long id, User user, String message, String type, Boolean isRead, LocalDateTime createdAt) {
+
+    public Notification(Long id, User user, NotificationContent content, Boolean isRead, LocalDateTime createdAt) {
         this.id = id;
         this.user = user;
-        this.message = message;
-        this.type = type;
+        this.content = content;
         this.isRead = isRead;
         this.createdAt = createdAt;
     }
-    
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
-    
-    @Column(nullable = false)
-    private String message;
-    
-    @Column(nullable = false)
-    private String type; // INFO, WARNING, SUCCESS
-    
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id", nullable = false)
+    private NotificationContent content;
+
     @Column
     private Boolean isRead;
-    
+
     @Column
     private LocalDateTime createdAt;
-    
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         isRead = false;
     }
-    
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
-    
+
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
-    
-    public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
-    
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
-    
+
+    public NotificationContent getContent() { return content; }
+    public void setContent(NotificationContent content) { this.content = content; }
+
     public Boolean getIsRead() { return isRead; }
     public void setIsRead(Boolean isRead) { this.isRead = isRead; }
-    
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,29 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Shared rate limit bucket, used when several backend instances must enforce
+ * one limit. Holds the theoretical arrival time of the next request in epoch
+ * microseconds. Maintained by {@link com.aiu.trips.ratelimit.JdbcRateLimitStore}.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    public RateLimitBucket() {}
+
+    @Id
+    @Column(length = 255)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private Long tat;
+
+    // Getters and Setters
+    public String getBucketKey() { return bucketKey; }
+    public void setBucketKey(String bucketKey) { this.bucketKey = bucketKey; }
+
+    public Long getTat() { return tat; }
+    public void setTat(Long tat) { this.tat = tat; }
+}
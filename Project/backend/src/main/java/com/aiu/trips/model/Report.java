@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * Report entity as per Data_Layer.pu diagram
  */
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+    @Index(name = "idx_reports_request_key", columnList = "requestKey")
+})
 public class Report {
 
     @Id
@@ -36,6 +38,21 @@ public class Report {
     @Column(nullable = false)
     private ExportFormat format;
 
+    @Column(nullable = false)
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, EXPIRED
+
+    @Column(length = 64)
+    private String requestKey; // Hash of type, filters and format used to reuse recent results
+
+    @Column
+    private LocalDateTime completedDate;
+
+    @Column
+    private Long sizeBytes;
+
+    @Column(length = 1000)
+    private String error;
+
     @PrePersist
     protected void onCreate() {
         generatedDate = LocalDateTime.now();
@@ -108,4 +125,44 @@ public class Report {
     public void setFormat(ExportFormat format) {
         this.format = format;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public void setRequestKey(String requestKey) {
+        this.requestKey = requestKey;
+    }
+
+    public LocalDateTime getCompletedDate() {
+        return completedDate;
+    }
+
+    public void setCompletedDate(LocalDateTime completedDate) {
+        this.completedDate = completedDate;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
 }
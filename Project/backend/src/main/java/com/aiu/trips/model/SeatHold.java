@@ -0,0 +1,70 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A seat that has been taken out of an event's inventory but not yet turned
+ * into a booking. Expired holds are returned to the inventory by
+ * {@link com.aiu.trips.service.SeatInventoryService}.
+ */
+@Entity
+@Table(name = "seat_holds", indexes = {
+    @Index(name = "idx_seat_holds_expires_at", columnList = "expiresAt")
+})
+public class SeatHold {
+
+    public SeatHold() {}
+
+    public SeatHold(String holdCode, Event event, User user, LocalDateTime expiresAt) {
+        this.holdCode = holdCode;
+        this.event = event;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String holdCode;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getHoldCode() { return holdCode; }
+    public void setHoldCode(String holdCode) { this.holdCode = holdCode; }
+
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
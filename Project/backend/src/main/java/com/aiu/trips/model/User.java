@@ -1,12 +1,14 @@
 package com.aiu.trips.model;
 
 import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.security.UserPrincipalInvalidationListener;
 import jakarta.persistence.*;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalInvalidationListener.class)
 public class User {
     
     public User() {}
@@ -0,0 +1,130 @@
+package com.aiu.trips.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limit buckets held in this process, one AtomicLong per key updated by
+ * compare-and-set. Used when a single instance runs, and in tests.
+ *
+ * The number of keys is bounded: a request that finds the map full only
+ * starts a sweep on a background thread and meanwhile shares one overflow
+ * bucket per rule. The sweep drops idle buckets, then the buckets drawn least
+ * far ahead, which are the least recently used and lose the least state, until
+ * a tenth of the map is free. A client that is being limited keeps its
+ * bucket, so flooding the limiter with new client ids cannot exhaust memory,
+ * reset it, or stall the request threads.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final int maxKeys;
+
+    private final AtomicBoolean sweepPending = new AtomicBoolean();
+
+    private final ThreadPoolExecutor sweeper;
+
+    public InMemoryRateLimitStore(@Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.maxKeys = maxKeys;
+        this.sweeper = new ThreadPoolExecutor(
+            1, 1,
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "rate-limit-sweep");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @Override
+    public RateLimitDecision acquire(String key, RateLimitRule rule) {
+        AtomicLong bucket = bucketFor(key, rule);
+        long interval = rule.emissionIntervalNanos();
+        long tolerance = rule.burstToleranceNanos();
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            if (next - now > tolerance) {
+                return RateLimitDecision.rejected(rule, tat - now, next - tolerance - now);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return RateLimitDecision.allowed(rule, (tolerance - (next - now)) / interval, next - now);
+            }
+        }
+    }
+
+    @Override
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private AtomicLong bucketFor(String key, RateLimitRule rule) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            if (sweepPending.compareAndSet(false, true)) {
+                sweeper.execute(this::makeRoom);
+            }
+            key = rule.id() + "|overflow";
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    private void makeRoom() {
+        try {
+            evictIdle();
+            int excess = buckets.size() - (maxKeys - Math.max(1, maxKeys / 10));
+            if (excess > 0) {
+                evictLeastDrawn(excess);
+            }
+        } finally {
+            sweepPending.set(false);
+        }
+    }
+
+    private void evictLeastDrawn(int count) {
+        // The count buckets with the earliest TAT, kept in a heap whose head is the latest of them
+        PriorityQueue<Map.Entry<String, AtomicLong>> oldest = new PriorityQueue<>(
+            count, Comparator.comparingLong((Map.Entry<String, AtomicLong> entry) -> entry.getValue().get()).reversed());
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            oldest.add(entry);
+            if (oldest.size() > count) {
+                oldest.poll();
+            }
+        }
+        for (Map.Entry<String, AtomicLong> entry : oldest) {
+            buckets.remove(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aiu.trips.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rate limit buckets in the shared database, so every backend instance draws
+ * from the same bucket. Each acquire is one conditional UPDATE, which the
+ * database applies atomically; times are epoch microseconds because the
+ * instances do not share a monotonic clock.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String ACQUIRE =
+        "UPDATE rate_limit_buckets SET tat = GREATEST(tat, ?) + ? " +
+        "WHERE bucket_key = ? AND GREATEST(tat, ?) + ? - ? <= ?";
+
+    private static final String INSERT =
+        "INSERT INTO rate_limit_buckets (bucket_key, tat) VALUES (?, ?)";
+
+    private static final String SELECT_TAT =
+        "SELECT tat FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private static final String DELETE_IDLE =
+        "DELETE FROM rate_limit_buckets WHERE tat < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public RateLimitDecision acquire(String key, RateLimitRule rule) {
+        long interval = Math.max(1, rule.emissionIntervalNanos() / 1_000);
+        long tolerance = interval * rule.limit();
+        long now = nowMicros();
+
+        if (jdbcTemplate.update(ACQUIRE, now, interval, key, now, interval, now, tolerance) == 0) {
+            Long tat = selectTat(key);
+            if (tat == null) {
+                try {
+                    jdbcTemplate.update(INSERT, key, now + interval);
+                    return allowed(rule, tolerance - interval, interval, interval);
+                } catch (DuplicateKeyException e) {
+                    // Created concurrently by another request or instance
+                    return acquire(key, rule);
+                }
+            }
+            long next = Math.max(tat, now) + interval;
+            return RateLimitDecision.rejected(rule, (tat - now) * 1_000, (next - tolerance - now) * 1_000);
+        }
+
+        Long tat = selectTat(key);
+        long ahead = tat != null ? tat - now : interval;
+        return allowed(rule, tolerance - ahead, interval, ahead);
+    }
+
+    @Override
+    public void evictIdle() {
+        jdbcTemplate.update(DELETE_IDLE, nowMicros());
+    }
+
+    private RateLimitDecision allowed(RateLimitRule rule, long headroom, long interval, long ahead) {
+        return RateLimitDecision.allowed(rule, Math.max(0, headroom / interval), ahead * 1_000);
+    }
+
+    private Long selectTat(String key) {
+        List<Long> tats = jdbcTemplate.queryForList(SELECT_TAT, Long.class, key);
+        return tats.isEmpty() ? null : tats.get(0);
+    }
+
+    private long nowMicros() {
+        return System.currentTimeMillis() * 1_000;
+    }
+}
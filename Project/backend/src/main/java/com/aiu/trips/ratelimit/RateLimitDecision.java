@@ -0,0 +1,22 @@
+package com.aiu.trips.ratelimit;
+
+/**
+ * Outcome of one rate limit check, with the values for the RateLimit-* headers.
+ * Times are whole seconds, rounded up.
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long resetSeconds,
+                                long retryAfterSeconds, String policy) {
+
+    static RateLimitDecision allowed(RateLimitRule rule, long remaining, long resetNanos) {
+        return new RateLimitDecision(true, rule.limit(), remaining, toSeconds(resetNanos), 0, rule.policy());
+    }
+
+    static RateLimitDecision rejected(RateLimitRule rule, long resetNanos, long retryAfterNanos) {
+        return new RateLimitDecision(false, rule.limit(), 0, toSeconds(resetNanos),
+            Math.max(1, toSeconds(retryAfterNanos)), rule.policy());
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+}
@@ -0,0 +1,83 @@
+package com.aiu.trips.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One configured limit: requests matching the path pattern (and the role, when
+ * given) may be made {@code limit} times per {@code period}, as a burst or spread out.
+ *
+ * Rules are written as {@code pattern[@ROLE]=limit/period}, e.g.
+ * {@code /api/auth/**=20/1m} or {@code /**@ADMIN=300/1m}; periods take an
+ * s, m or h suffix.
+ */
+public record RateLimitRule(String id, String pattern, String role, long limit, Duration period) {
+
+    public RateLimitRule {
+        if (limit <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Invalid rate limit rule: " + pattern);
+        }
+    }
+
+    /**
+     * Time between two requests at the sustained rate, in nanoseconds
+     */
+    public long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / limit);
+    }
+
+    /**
+     * How far ahead of now the bucket may be drawn, in nanoseconds
+     */
+    public long burstToleranceNanos() {
+        return emissionIntervalNanos() * limit;
+    }
+
+    /**
+     * Value of the RateLimit-Policy header
+     */
+    public String policy() {
+        return limit + ";w=" + period.toSeconds();
+    }
+
+    public static List<RateLimitRule> parseAll(String spec) {
+        List<RateLimitRule> rules = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return rules;
+        }
+        for (String entry : spec.split(",")) {
+            String rule = entry.trim();
+            if (!rule.isEmpty()) {
+                rules.add(parse(rules.size(), rule));
+            }
+        }
+        return rules;
+    }
+
+    private static RateLimitRule parse(int index, String rule) {
+        int equals = rule.lastIndexOf('=');
+        int slash = rule.lastIndexOf('/');
+        if (equals < 0 || slash < equals) {
+            throw new IllegalArgumentException("Invalid rate limit rule: " + rule);
+        }
+        String target = rule.substring(0, equals).trim();
+        long limit = Long.parseLong(rule.substring(equals + 1, slash).trim());
+        Duration period = parsePeriod(rule.substring(slash + 1).trim());
+
+        int at = target.indexOf('@');
+        String pattern = at < 0 ? target : target.substring(0, at);
+        String role = at < 0 ? null : target.substring(at + 1).toUpperCase();
+        return new RateLimitRule("r" + index, pattern, role, limit, period);
+    }
+
+    private static Duration parsePeriod(String period) {
+        long amount = Long.parseLong(period.substring(0, period.length() - 1));
+        switch (period.charAt(period.length() - 1)) {
+            case 's': return Duration.ofSeconds(amount);
+            case 'm': return Duration.ofMinutes(amount);
+            case 'h': return Duration.ofHours(amount);
+            default: throw new IllegalArgumentException("Invalid rate limit period: " + period);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.aiu.trips.ratelimit;
+
+/**
+ * Backing store of rate limit buckets.
+ *
+ * Buckets follow the generic cell rate algorithm: each key holds a single
+ * number, the theoretical arrival time (TAT) of the next request. A request is
+ * allowed when advancing the TAT by one emission interval keeps it within the
+ * burst tolerance of now. A bucket whose TAT is in the past is full and can be
+ * forgotten, which is what makes idle eviction safe.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one request from the bucket of the key under the given rule
+     */
+    RateLimitDecision acquire(String key, RateLimitRule rule);
+
+    /**
+     * Drop buckets that have fully refilled
+     */
+    void evictIdle();
+}
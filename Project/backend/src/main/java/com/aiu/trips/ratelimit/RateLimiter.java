@@ -0,0 +1,95 @@
+package com.aiu.trips.ratelimit;
+
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.security.VerifiedToken;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Applies the configured rate limit rules to requests.
+ *
+ * The first rule whose path pattern and role match the request applies.
+ * Authenticated requests are counted per user, anonymous ones per client
+ * address. X-Forwarded-For is only used when rate-limit.trust-forwarded-for is
+ * set, since any client can send it.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitStore store;
+
+    private final JwtUtil jwtUtil;
+
+    private final List<CompiledRule> rules;
+
+    private final boolean trustForwardedFor;
+
+    public RateLimiter(
+            RateLimitStore store,
+            JwtUtil jwtUtil,
+            @Value("${rate-limit.rules:/**=60/1m}") String rules,
+            @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.store = store;
+        this.jwtUtil = jwtUtil;
+        this.trustForwardedFor = trustForwardedFor;
+        this.rules = RateLimitRule.parseAll(rules).stream()
+            .map(rule -> new CompiledRule(rule, PathPatternParser.defaultInstance.parse(rule.pattern())))
+            .toList();
+    }
+
+    /**
+     * Count the request against its rule. Returns null when no rule applies.
+     */
+    public RateLimitDecision check(HttpServletRequest request) {
+        VerifiedToken token = jwtUtil.resolve(request);
+        String role = token != null ? token.role() : null;
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+
+        for (CompiledRule compiled : rules) {
+            RateLimitRule rule = compiled.rule();
+            if ((rule.role() == null || rule.role().equals(role)) && compiled.pattern().matches(path)) {
+                String client = token != null ? "user:" + token.email() : "ip:" + clientAddress(request);
+                return store.acquire(rule.id() + "|" + client, rule);
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}",
+               initialDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        try {
+            store.evictIdle();
+        } catch (RuntimeException e) {
+            logger.warn("Rate limit eviction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Address anonymous requests are counted against
+     */
+    public String clientAddress(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                // The first entry is the original client
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private record CompiledRule(RateLimitRule rule, PathPattern pattern) {
+    }
+}
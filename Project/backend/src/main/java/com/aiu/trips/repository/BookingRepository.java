@@ -1,16 +1,105 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.BookingExportRow;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
 import com.aiu.trips.model.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Rows fetched per round trip when streaming exports
+    String EXPORT_FETCH_SIZE = "500";
+
+    interface HourlyBookingStats {
+        LocalDate getBookingDay();
+        Integer getHourOfDay();
+        EventType getEventType();
+        BookingStatus getStatus();
+        Long getBookings();
+        Double getAmount();
+    }
+
+    interface StatusTotals {
+        BookingStatus getStatus();
+        Long getBookings();
+        Double getAmount();
+    }
+
+    interface TypeStatusTotals extends StatusTotals {
+        EventType getEventType();
+    }
+
     List<Booking> findByUser_Id(Long userId);
     List<Booking> findByEvent_Id(Long eventId);
     List<Booking> findByUser_IdAndEvent_Id(Long userId, Long eventId);
     Optional<Booking> findByBookingCode(String bookingCode);
     boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
+    boolean existsByBookingCode(String bookingCode);
+    boolean existsByEvent_IdAndStatusNot(Long eventId, BookingStatus status);
+
+    @Query("SELECT DISTINCT b.user.email FROM Booking b " +
+           "WHERE b.event.id = :eventId AND b.status <> com.aiu.trips.enums.BookingStatus.CANCELLED")
+    List<String> findParticipantEmails(@Param("eventId") Long eventId);
+
+    @Query("SELECT b.qrCodePath FROM Booking b WHERE b.bookingCode = :bookingCode")
+    Optional<String> findQrPayloadByBookingCode(@Param("bookingCode") String bookingCode);
+
+    @Query("SELECT cast(b.bookingDate as LocalDate) AS bookingDay, extract(hour from b.bookingDate) AS hourOfDay, " +
+           "b.event.type AS eventType, b.status AS status, COUNT(b) AS bookings, SUM(b.amountPaid) AS amount " +
+           "FROM Booking b WHERE b.bookingDate >= :since " +
+           "GROUP BY cast(b.bookingDate as LocalDate), extract(hour from b.bookingDate), b.event.type, b.status")
+    List<HourlyBookingStats> sumBookingsByHour(@Param("since") LocalDateTime since);
+
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings, SUM(b.amountPaid) AS amount " +
+           "FROM Booking b WHERE b.event.id = :eventId GROUP BY b.status")
+    List<StatusTotals> sumByStatusForEvent(@Param("eventId") Long eventId);
+
+    @Query("SELECT b.event.type AS eventType, b.status AS status, COUNT(b) AS bookings, SUM(b.amountPaid) AS amount " +
+           "FROM Booking b GROUP BY b.event.type, b.status")
+    List<TypeStatusTotals> sumByEventTypeAndStatus();
+
+    /**
+     * Streams the bookings made in [from, to) in id order. Must be consumed
+     * inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.aiu.trips.dto.BookingExportRow(b.id, b.bookingCode, b.status, b.bookingDate, " +
+           "b.amountPaid, e.id, e.title, u.email, u.fullName, b.validatedAt) " +
+           "FROM Booking b JOIN b.event e JOIN b.user u " +
+           "WHERE b.bookingDate >= :from AND b.bookingDate < :to ORDER BY b.id")
+    Stream<BookingExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.aiu.trips.dto.BookingExportRow(b.id, b.bookingCode, b.status, b.bookingDate, " +
+           "b.amountPaid, e.id, e.title, u.email, u.fullName, b.validatedAt) " +
+           "FROM Booking b JOIN b.event e JOIN b.user u " +
+           "WHERE b.bookingDate >= :from AND b.bookingDate < :to AND b.id > :afterId ORDER BY b.id")
+    List<BookingExportRow> findExportRowsAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                               @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.aiu.trips.dto.BookingExportRow(b.id, b.bookingCode, b.status, b.bookingDate, " +
+           "b.amountPaid, e.id, e.title, u.email, u.fullName, b.validatedAt) " +
+           "FROM Booking b JOIN b.event e JOIN b.user u " +
+           "WHERE e.id = :eventId AND b.status <> com.aiu.trips.enums.BookingStatus.CANCELLED " +
+           "AND b.id > :afterId ORDER BY b.id")
+    List<BookingExportRow> findAttendeeRowsAfter(@Param("eventId") Long eventId, @Param("afterId") long afterId,
+                                                 Limit limit);
 }
@@ -0,0 +1,59 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.BookingStatsBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingStatsBucketRepository extends JpaRepository<BookingStatsBucket, Long> {
+
+    interface DailyCount {
+        LocalDate getBookingDay();
+        Long getBookings();
+    }
+
+    interface DayOfWeekCount {
+        String getDayOfWeek();
+        Long getBookings();
+    }
+
+    interface HourCount {
+        Integer getHourOfDay();
+        Long getBookings();
+    }
+
+    interface Totals {
+        LocalDateTime getFirstBucket();
+        Long getBookings();
+        Double getRevenue();
+    }
+
+    @Query("SELECT b.bucketDate AS bookingDay, SUM(b.bookings) AS bookings FROM BookingStatsBucket b " +
+           "WHERE b.bucketStart >= :since GROUP BY b.bucketDate ORDER BY b.bucketDate")
+    List<DailyCount> sumBookingsByDay(@Param("since") LocalDateTime since);
+
+    @Query("SELECT b.dayOfWeek AS dayOfWeek, SUM(b.bookings) AS bookings FROM BookingStatsBucket b GROUP BY b.dayOfWeek")
+    List<DayOfWeekCount> sumBookingsByDayOfWeek();
+
+    @Query("SELECT b.hourOfDay AS hourOfDay, SUM(b.bookings) AS bookings FROM BookingStatsBucket b GROUP BY b.hourOfDay")
+    List<HourCount> sumBookingsByHour();
+
+    @Query("SELECT MIN(b.bucketStart) AS firstBucket, SUM(b.bookings) AS bookings, SUM(b.revenue) AS revenue " +
+           "FROM BookingStatsBucket b")
+    Totals getTotals();
+
+    @Query("SELECT COALESCE(SUM(b.revenue), 0) FROM BookingStatsBucket b " +
+           "WHERE b.bucketStart >= :from AND b.bucketStart < :to")
+    Double sumRevenueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM BookingStatsBucket b WHERE b.bucketStart >= :since")
+    int deleteFrom(@Param("since") LocalDateTime since);
+}
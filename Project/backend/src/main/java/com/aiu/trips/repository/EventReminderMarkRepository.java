@@ -0,0 +1,19 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.EventReminderMark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EventReminderMarkRepository extends JpaRepository<EventReminderMark, Long> {
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventReminderMark m WHERE m.startDate < :cutoff")
+    int deleteByStartDateBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,14 +4,55 @@ import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.enums.EventType;
 import com.aiu.trips.model.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+    interface TypeCount {
+        EventType getType();
+        Long getEvents();
+    }
+
     List<Event> findByType(EventType type);
     List<Event> findByStatus(EventStatus status);
     List<Event> findByStartDateAfter(LocalDateTime date);
     List<Event> findByCreatedBy_Id(Long userId);
+
+    /**
+     * Atomically takes seats from an event. Returns 0 when not enough seats are left.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :seats " +
+           "WHERE e.id = :eventId AND e.availableSeats >= :seats")
+    int decrementAvailableSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    /**
+     * Atomically returns seats to an event without ever exceeding its capacity.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + :seats " +
+           "WHERE e.id = :eventId AND e.availableSeats + :seats <= e.capacity")
+    int incrementAvailableSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Query("SELECT e.availableSeats FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findAvailableSeats(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.type AS type, COUNT(e) AS events FROM Event e GROUP BY e.type")
+    List<TypeCount> countByType();
+
+    /**
+     * Active events starting after the given time that have at least one active booking
+     */
+    @Query("SELECT e FROM Event e WHERE e.status = com.aiu.trips.enums.EventStatus.ACTIVE AND e.startDate > :now " +
+           "AND EXISTS (SELECT 1 FROM Booking b WHERE b.event = e " +
+           "AND b.status <> com.aiu.trips.enums.BookingStatus.CANCELLED)")
+    List<Event> findBookedUpcoming(@Param("now") LocalDateTime now);
 }
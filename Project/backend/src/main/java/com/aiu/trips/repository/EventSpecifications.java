@@ -0,0 +1,104 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria building blocks for the event catalog. Each returns null when its
+ * filter is not set, which Specification.where/and ignore.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {}
+
+    public static Specification<Event> hasType(EventType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Event> hasStatus(EventStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Start date in [from, to)
+     */
+    public static Specification<Event> startsBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.get("startDate"), from),
+                    cb.lessThan(root.get("startDate"), to));
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("startDate"), from);
+            }
+            return to != null ? cb.lessThan(root.get("startDate"), to) : null;
+        };
+    }
+
+    public static Specification<Event> priceBetween(Double min, Double max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("price"), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get("price"), min);
+            }
+            return max != null ? cb.lessThanOrEqualTo(root.get("price"), max) : null;
+        };
+    }
+
+    /**
+     * Case-insensitive substring of the title or the location
+     */
+    public static Specification<Event> mentions(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = containsPattern(text);
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.get("title")), pattern, '\\'),
+            cb.like(cb.lower(root.get("location")), pattern, '\\'));
+    }
+
+    public static Specification<Event> locatedIn(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String pattern = containsPattern(location);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), pattern, '\\');
+    }
+
+    /**
+     * Rows after (value, id) in the order of the sort field, id breaking ties
+     */
+    public static <T extends Comparable<? super T>> Specification<Event> after(String field, T value, long id,
+                                                                             boolean descending) {
+        return (root, query, cb) -> descending
+            ? cb.or(cb.lessThan(root.get(field), value),
+                cb.and(cb.equal(root.get(field), value), cb.lessThan(root.get("id"), id)))
+            : cb.or(cb.greaterThan(root.get(field), value),
+                cb.and(cb.equal(root.get(field), value), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * Load the creator in the same query instead of one select per creator
+     */
+    public static Specification<Event> fetchCreator() {
+        return (root, query, cb) -> {
+            if (query.getResultType() == Event.class) {
+                root.fetch("createdBy", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static String containsPattern(String text) {
+        return "%" + text.trim().toLowerCase()
+            .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
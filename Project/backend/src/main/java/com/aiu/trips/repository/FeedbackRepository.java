@@ -1,7 +1,11 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.FeedbackExportRow;
 import com.aiu.trips.model.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +15,11 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Feedback> findByEvent_Id(Long eventId);
     List<Feedback> findByUser_Id(Long userId);
     boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
+
+    @Query("SELECT new com.aiu.trips.dto.FeedbackExportRow(f.id, e.id, e.title, u.email, u.fullName, " +
+           "f.rating, f.comment, f.createdAt) " +
+           "FROM Feedback f JOIN f.event e JOIN f.user u " +
+           "WHERE (:eventId IS NULL OR e.id = :eventId) AND f.id > :afterId ORDER BY f.id")
+    List<FeedbackExportRow> findExportRowsAfter(@Param("eventId") Long eventId, @Param("afterId") long afterId,
+                                                Limit limit);
 }
@@ -0,0 +1,25 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.NotificationContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationContentRepository extends JpaRepository<NotificationContent, Long> {
+    /**
+     * Contents created before the cutoff that no delivery points to any more.
+     * Newer contents are kept so a fan-out that is still writing its deliveries
+     * never loses its text.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationContent c WHERE c.createdAt < :cutoff " +
+           "AND NOT EXISTS (SELECT 1 FROM Notification n WHERE n.content = c)")
+    int deleteUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,12 +1,40 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.NotificationDTO;
 import com.aiu.trips.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUser_IdOrderByCreatedAtDesc(Long userId);
-    List<Notification> findByUser_IdAndIsReadFalse(Long userId);
+    /**
+     * Inbox page, newest first, after the given id. Ids grow with creation
+     * time, so they order the inbox without a sort on created_at. The text
+     * comes from the shared content row.
+     */
+    @Query("SELECT new com.aiu.trips.dto.NotificationDTO(n.id, c.message, c.type, n.isRead, n.createdAt) " +
+           "FROM Notification n JOIN n.content c WHERE n.user.id = :userId AND n.id < :beforeId " +
+           "AND (:unreadOnly = false OR n.isRead = false) ORDER BY n.id DESC")
+    List<NotificationDTO> findInboxPage(@Param("userId") Long userId, @Param("beforeId") long beforeId,
+                                        @Param("unreadOnly") boolean unreadOnly, Pageable page);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnread(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.user.id = :userId")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff")
+    List<Long> findReadIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable page);
 }
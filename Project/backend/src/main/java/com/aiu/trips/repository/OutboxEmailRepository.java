@@ -0,0 +1,87 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.EmailStatus;
+import com.aiu.trips.model.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+    /**
+     * Pending emails whose next attempt is due, oldest first
+     */
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = com.aiu.trips.enums.EmailStatus.PENDING " +
+           "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    /**
+     * Move a pending email to SENDING; returns 0 when another sender claimed it first
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.aiu.trips.enums.EmailStatus.SENDING, e.claimedAt = :now " +
+           "WHERE e.id = :id AND e.status = com.aiu.trips.enums.EmailStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids " +
+           "AND e.status = com.aiu.trips.enums.EmailStatus.PENDING")
+    int postpone(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.aiu.trips.enums.EmailStatus.SENT, " +
+           "e.attempts = e.attempts + 1, e.sentAt = :sentAt, e.lastError = null WHERE e.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = :status, e.attempts = e.attempts + 1, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") EmailStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.aiu.trips.enums.EmailStatus.PENDING " +
+           "WHERE e.id IN :ids AND e.status = com.aiu.trips.enums.EmailStatus.SENDING")
+    int release(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Emails claimed before the cutoff go back to the queue, as their sender
+     * has stopped; a few may be sent twice
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.aiu.trips.enums.EmailStatus.PENDING " +
+           "WHERE e.status = com.aiu.trips.enums.EmailStatus.SENDING " +
+           "AND (e.claimedAt IS NULL OR e.claimedAt < :cutoff)")
+    int releaseClaimedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.aiu.trips.enums.EmailStatus.PENDING, e.attempts = 0, " +
+           "e.nextAttemptAt = :now, e.lastError = null " +
+           "WHERE e.id = :id AND e.status = com.aiu.trips.enums.EmailStatus.DEAD")
+    int requeueDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = com.aiu.trips.enums.EmailStatus.SENT AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboxEmail e GROUP BY e.status")
+    List<Object[]> countByStatus();
+
+    long countByStatus(EmailStatus status);
+}
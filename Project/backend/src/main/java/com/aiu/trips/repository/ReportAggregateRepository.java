@@ -0,0 +1,34 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.dto.BookingAggregate;
+import com.aiu.trips.dto.EventAggregate;
+import com.aiu.trips.model.Booking;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Single-row aggregates for ReportService. Every figure is computed by the
+ * database, so report generation never loads Event or Booking entities.
+ */
+@Repository
+public interface ReportAggregateRepository extends org.springframework.data.repository.Repository<Booking, Long> {
+
+    @Query("SELECT new com.aiu.trips.dto.BookingAggregate(" +
+           "COUNT(b), " +
+           "COUNT(b) FILTER (WHERE b.status <> com.aiu.trips.enums.BookingStatus.CANCELLED), " +
+           "COUNT(b) FILTER (WHERE b.status = com.aiu.trips.enums.BookingStatus.ATTENDED), " +
+           "COUNT(b) FILTER (WHERE b.status = com.aiu.trips.enums.BookingStatus.CANCELLED), " +
+           "COALESCE(SUM(b.amountPaid) FILTER (WHERE b.status <> com.aiu.trips.enums.BookingStatus.CANCELLED), 0.0), " +
+           "COALESCE(SUM(b.amountPaid) FILTER (WHERE b.status = com.aiu.trips.enums.BookingStatus.CANCELLED), 0.0)) " +
+           "FROM Booking b")
+    BookingAggregate getBookingAggregate();
+
+    @Query("SELECT new com.aiu.trips.dto.EventAggregate(" +
+           "COUNT(e), " +
+           "COUNT(e) FILTER (WHERE e.status = com.aiu.trips.enums.EventStatus.ACTIVE), " +
+           "COUNT(e) FILTER (WHERE e.status = com.aiu.trips.enums.EventStatus.COMPLETED), " +
+           "COALESCE(SUM(e.capacity), 0L), " +
+           "COALESCE(SUM(e.capacity - e.availableSeats), 0L)) " +
+           "FROM Event e")
+    EventAggregate getEventAggregate();
+}
@@ -0,0 +1,18 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.Report;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportRepository extends JpaRepository<Report, Long> {
+    Optional<Report> findFirstByRequestKeyAndStatusInAndGeneratedDateAfterOrderByGeneratedDateDesc(
+        String requestKey, Collection<String> statuses, LocalDateTime after);
+    List<Report> findByStatusAndCompletedDateBefore(String status, LocalDateTime before);
+    List<Report> findByStatusIn(Collection<String> statuses);
+}
@@ -0,0 +1,27 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+    Optional<SeatHold> findByHoldCode(String holdCode);
+    List<SeatHold> findByExpiresAtBefore(LocalDateTime time);
+    long countByUser_IdAndExpiresAtAfter(Long userId, LocalDateTime time);
+
+    /**
+     * Deletes a hold and reports whether this caller was the one that removed it,
+     * so that a hold is confirmed or released exactly once.
+     */
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id")
+    int deleteClaimed(@Param("id") Long id);
+}
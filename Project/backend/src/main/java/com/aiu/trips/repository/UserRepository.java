@@ -2,11 +2,21 @@ package com.aiu.trips.repository;
 
 import com.aiu.trips.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.id IN :ids")
+    List<String> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
 }
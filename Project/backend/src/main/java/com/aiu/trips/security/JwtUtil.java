@@ -1,29 +1,68 @@
 package com.aiu.trips.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * The signing key and parser are built once. Verified claims are cached by
+ * token hash in a concurrent map until the token expires; a full cache stops
+ * caching new tokens until the periodic sweep drops the expired ones. resolve()
+ * stores the claims on the request so the security filter and the handler
+ * chain share a single verification.
+ * Each token carries an id so it can be revoked through TokenRevocationList.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtUtil.class.getName() + ".VERIFIED_TOKEN";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    // Request attribute value for a missing or rejected token
+    private static final Object NO_TOKEN = new Object();
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final Long expiration;
+
+    private final SecretKey signingKey;
+
+    private final JwtParser parser;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final int maxCachedTokens;
+
+    private final TokenRevocationList revocationList;
+
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") Long expiration,
+            @Value("${jwt.claims-cache.max-entries:10000}") int maxCachedTokens,
+            TokenRevocationList revocationList) {
+        this.expiration = expiration;
+        this.revocationList = revocationList;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.maxCachedTokens = maxCachedTokens;
     }
 
     public String generateToken(String email, String role) {
@@ -36,33 +75,122 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+    /**
+     * Verify a token, reusing the cached claims of a token seen before.
+     * @throws JwtException if the token is malformed, forged, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifySignature(token);
+        if (revocationList.isRevoked(verified.id())) {
+            throw new JwtException("JWT has been revoked");
+        }
+        return verified;
     }
 
-    public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+    /**
+     * Revoke a token for the rest of its lifetime; invalid tokens are ignored
+     */
+    public void revoke(String token) {
+        try {
+            VerifiedToken verified = verifySignature(token);
+            revocationList.revoke(verified.id(), verified.expiresAt());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Nothing to revoke
+        }
+    }
+
+    public Long getExpiration() {
+        return expiration;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public int getCachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.sweep-interval-ms:60000}",
+               initialDelayString = "${jwt.claims-cache.sweep-interval-ms:60000}")
+    public void sweepExpiredTokens() {
+        verifiedTokens.values().removeIf(VerifiedToken::isExpired);
+    }
+
+    private VerifiedToken verifySignature(String token) {
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (verified != null) {
+            if (!verified.isExpired()) {
+                return verified;
+            }
+            verifiedTokens.remove(key, verified);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + verified.expiresAt());
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verified = new VerifiedToken(claims.getId(), claims.getSubject(), claims.get("role", String.class),
+                claims.getExpiration().toInstant());
+        if (verifiedTokens.size() < maxCachedTokens) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Verified bearer token of the request, or null when it has none or it is invalid.
+     * The result is kept as a request attribute, so later callers do not verify again.
+     */
+    public VerifiedToken resolve(HttpServletRequest request) {
+        Object resolved = request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+        if (resolved == null) {
+            resolved = NO_TOKEN;
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                try {
+                    resolved = verify(authHeader.substring(7));
+                } catch (JwtException | IllegalArgumentException e) {
+                    // Treated as unauthenticated
+                }
+            }
+            request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, resolved);
+        }
+        return resolved instanceof VerifiedToken ? (VerifiedToken) resolved : null;
+    }
+
+    public String extractEmail(String token) {
+        return verify(token).email();
+    }
+
+    public String extractRole(String token) {
+        return verify(token).role();
     }
 
     public boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        try {
+            return verify(token).isExpired();
+        } catch (ExpiredJwtException e) {
+            return true;
+        }
     }
 
     public boolean validateToken(String token, String email) {
-        return (email.equals(extractEmail(token)) && !isTokenExpired(token));
+        try {
+            return email.equals(verify(token).email());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
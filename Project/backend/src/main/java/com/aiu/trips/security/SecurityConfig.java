@@ -1,5 +1,6 @@
 package com.aiu.trips.security;
 
+import com.aiu.trips.chain.RequestHandlerFilter;
 import com.aiu.trips.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +13,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,12 +29,27 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthFilter;
 
+    @Autowired
+    private RequestHandlerFilter requestHandlerFilter;
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${security.password.bcrypt-cost:10}")
+    private int bcryptCost;
+
+    @Value("${security.password.workers:2}")
+    private int passwordWorkers;
+
+    @Value("${security.password.queue-capacity:200}")
+    private int passwordQueueCapacity;
+
+    @Value("${security.password.timeout-ms:10000}")
+    private long passwordTimeoutMs;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -43,13 +58,15 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
                 .requestMatchers("/api/events", "/api/events/**").permitAll()
+                .requestMatchers("/api/tickets/**").permitAll()
                 .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                 .requestMatchers("/api/bookings/**", "/api/notifications/**").authenticated()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(requestHandlerFilter, JwtAuthenticationFilter.class);
 
         // For H2 console
         http.headers(headers -> headers.frameOptions(frame -> frame.disable()));
@@ -75,12 +92,14 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Hashes made with another cost are rehashed on successful login
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptCost, passwordWorkers, passwordQueueCapacity, passwordTimeoutMs);
     }
 
     @Bean
@@ -0,0 +1,77 @@
+package com.aiu.trips.security;
+
+import com.aiu.trips.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of access tokens revoked before they expire, e.g. on logout.
+ *
+ * Every authenticated request asks isRevoked(), and nearly every answer is no,
+ * so a bloom filter answers that without touching the set; only its rare
+ * positives are confirmed against the set. Entries are dropped once their
+ * token has expired anyway and the filter is rebuilt from what is left.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    private final int expectedEntries;
+
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(
+            @Value("${security.revocation.expected-entries:10000}") int expectedEntries,
+            @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Revoke a token id until the token's own expiry
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !Instant.now().isBefore(expiresAt)) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Forget expired tokens and rebuild the filter without them
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}",
+               initialDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        if (!revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt))) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // A revocation made during the rebuild may have gone to the old filter only
+        revoked.keySet().forEach(rebuilt::add);
+    }
+}
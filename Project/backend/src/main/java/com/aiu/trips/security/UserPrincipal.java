@@ -0,0 +1,55 @@
+package com.aiu.trips.security;
+
+import com.aiu.trips.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated user. Carries the user id so services can reference the
+ * user row without looking it up by email again.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String passwordHash;
+    private final UserRole role;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String passwordHash, UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    public Long getId() { return id; }
+
+    public UserRole getRole() { return role; }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public String getPassword() { return passwordHash; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+}
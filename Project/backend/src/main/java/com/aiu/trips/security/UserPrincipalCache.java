@@ -0,0 +1,88 @@
+package com.aiu.trips.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of user principals by email.
+ *
+ * Entries are dropped when the user row changes (see UserPrincipalInvalidationListener)
+ * and otherwise live for the configured TTL, so a change made outside the
+ * application is picked up within that time. Every eviction bumps a
+ * generation; a load that started before an eviction is returned but not
+ * cached, because it may have read the row before the change committed.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final long ttlNanos;
+
+    private final Map<String, Entry> principals;
+
+    private long generation;
+
+    public UserPrincipalCache(
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached principal for the email, loading it when absent or stale.
+     * A loader returning null is not cached.
+     */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        long now = System.nanoTime();
+        long loadGeneration;
+        synchronized (principals) {
+            Entry entry = principals.get(email);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                return entry.principal;
+            }
+            loadGeneration = generation;
+        }
+
+        UserPrincipal principal = loader.apply(email);
+        if (principal != null) {
+            synchronized (principals) {
+                if (generation == loadGeneration) {
+                    principals.put(email, new Entry(principal, now));
+                }
+            }
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        synchronized (principals) {
+            generation++;
+            principals.remove(email);
+        }
+    }
+
+    public void clear() {
+        synchronized (principals) {
+            generation++;
+            principals.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (principals) {
+            return principals.size();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long loadedAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.aiu.trips.security;
+
+import com.aiu.trips.model.User;
+import com.aiu.trips.util.CacheInvalidation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener on User that drops the cached principal whenever the row is
+ * inserted, updated (role or password) or deleted.
+ */
+public class UserPrincipalInvalidationListener {
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        String email = user.getEmail();
+        CacheInvalidation.evictNowAndAfterCompletion(() -> principalCache.evict(email));
+    }
+}
@@ -0,0 +1,14 @@
+package com.aiu.trips.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been checked.
+ * Held in the request attributes so a request verifies its token once.
+ */
+public record VerifiedToken(String id, String email, String role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
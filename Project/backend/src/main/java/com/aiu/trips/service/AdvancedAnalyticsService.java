@@ -1,8 +1,9 @@
 package com.aiu.trips.service;
 
-import com.aiu.trips.model.Booking;
+import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.model.Event;
 import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.BookingStatsBucketRepository;
 import com.aiu.trips.repository.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -10,11 +11,11 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Advanced Analytics Service
- * Provides trend analysis, forecasting, and predictive insights
+ * Provides trend analysis, forecasting, and predictive insights.
+ * Booking figures are read from the hourly buckets kept by AnalyticsAggregateService.
  */
 @Service
 public class AdvancedAnalyticsService {
@@ -25,36 +26,36 @@ public class AdvancedAnalyticsService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingStatsBucketRepository bucketRepository;
+
+    @Autowired
+    private AnalyticsAggregateService aggregateService;
+
     /**
      * Get booking trends over time (last 30 days)
      */
     public Map<String, Object> getBookingTrends(int days) {
         Map<String, Object> trends = new HashMap<>();
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusDays(days);
-
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null && 
-                       b.getBookingDate().isAfter(startDate) &&
-                       b.getBookingDate().isBefore(endDate))
-                .collect(Collectors.toList());
-
-        // Group bookings by date
-        Map<String, Long> bookingsByDate = bookings.stream()
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().toLocalDate().toString(),
-                    Collectors.counting()
-                ));
+        LocalDateTime startDate = LocalDateTime.now().minusDays(days).truncatedTo(ChronoUnit.HOURS);
+
+        aggregateService.flush();
+        Map<String, Long> bookingsByDate = new LinkedHashMap<>();
+        long totalBookings = 0;
+        for (BookingStatsBucketRepository.DailyCount day : bucketRepository.sumBookingsByDay(startDate)) {
+            bookingsByDate.put(day.getBookingDay().toString(), day.getBookings());
+            totalBookings += day.getBookings();
+        }
 
         // Calculate trend direction
         List<Long> counts = new ArrayList<>(bookingsByDate.values());
         String trendDirection = calculateTrendDirection(counts);
 
         trends.put("period", days + " days");
-        trends.put("totalBookings", bookings.size());
+        trends.put("totalBookings", totalBookings);
         trends.put("bookingsByDate", bookingsByDate);
         trends.put("trendDirection", trendDirection);
-        trends.put("averageBookingsPerDay", bookings.size() / (double) days);
+        trends.put("averageBookingsPerDay", totalBookings / (double) days);
         trends.put("peakBookingDay", findPeakDay(bookingsByDate));
 
         return trends;
@@ -66,27 +67,20 @@ public class AdvancedAnalyticsService {
     public Map<String, Object> forecastRevenue(int futureDays) {
         Map<String, Object> forecast = new HashMap<>();
         
-        List<Booking> historicalBookings = bookingRepository.findAll();
-        
+        aggregateService.flush();
+        BookingStatsBucketRepository.Totals totals = bucketRepository.getTotals();
+        long bookingCount = totals.getBookings() != null ? totals.getBookings() : 0;
+
         // Calculate historical average revenue per day
-        if (historicalBookings.isEmpty()) {
+        if (bookingCount == 0) {
             forecast.put("forecastedRevenue", 0.0);
             forecast.put("confidence", "LOW");
             forecast.put("message", "Insufficient historical data");
             return forecast;
         }
 
-        double totalRevenue = historicalBookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum();
-
-        // Find earliest booking date
-        LocalDateTime earliestDate = historicalBookings.stream()
-                .map(Booking::getBookingDate)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now().minusDays(30));
+        double totalRevenue = totals.getRevenue() != null ? totals.getRevenue() : 0.0;
+        LocalDateTime earliestDate = totals.getFirstBucket();
 
         long historicalDays = ChronoUnit.DAYS.between(earliestDate, LocalDateTime.now());
         if (historicalDays == 0) historicalDays = 1;
@@ -102,7 +96,7 @@ public class AdvancedAnalyticsService {
         forecast.put("baseForecasted Revenue", forecastedRevenue);
         forecast.put("growthRate", trendMultiplier * 100 + "%");
         forecast.put("adjustedForecastedRevenue", adjustedForecast);
-        forecast.put("confidence", getConfidenceLevel(historicalBookings.size()));
+        forecast.put("confidence", getConfidenceLevel(bookingCount));
         forecast.put("historicalAveragePerDay", averageRevenuePerDay);
 
         return forecast;
@@ -113,27 +107,22 @@ public class AdvancedAnalyticsService {
      */
     public Map<String, Object> getPopularCategories() {
         Map<String, Object> analysis = new HashMap<>();
-        List<Event> events = eventRepository.findAll();
 
         // Group by type and count
-        Map<String, Long> eventsByType = events.stream()
-                .filter(e -> e.getType() != null)
-                .collect(Collectors.groupingBy(
-                    e -> e.getType().toString(),
-                    Collectors.counting()
-                ));
-
-        // Calculate revenue by type
+        Map<String, Long> eventsByType = new HashMap<>();
+        for (EventRepository.TypeCount row : eventRepository.countByType()) {
+            if (row.getType() != null) {
+                eventsByType.put(row.getType().toString(), row.getEvents());
+            }
+        }
+
+        // Calculate revenue by type, cancelled bookings earn nothing
         Map<String, Double> revenueByType = new HashMap<>();
-        for (Event event : events) {
-            if (event.getType() != null) {
-                String type = event.getType().toString();
-                List<Booking> eventBookings = bookingRepository.findByEvent_Id(event.getId());
-                double revenue = eventBookings.stream()
-                        .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                        .mapToDouble(Booking::getAmountPaid)
-                        .sum();
-                revenueByType.merge(type, revenue, Double::sum);
+        for (BookingRepository.TypeStatusTotals row : bookingRepository.sumByEventTypeAndStatus()) {
+            if (row.getEventType() != null) {
+                double revenue = BookingStatus.CANCELLED.equals(row.getStatus()) || row.getAmount() == null
+                        ? 0.0 : row.getAmount();
+                revenueByType.merge(row.getEventType().toString(), revenue, Double::sum);
             }
         }
 
@@ -207,28 +196,24 @@ public class AdvancedAnalyticsService {
      */
     public Map<String, Object> getPeakBookingPeriods() {
         Map<String, Object> peaks = new HashMap<>();
-        List<Booking> bookings = bookingRepository.findAll();
+        aggregateService.flush();
+
+        // Analyze by day of week
+        Map<String, Long> bookingsByDayOfWeek = new HashMap<>();
+        for (BookingStatsBucketRepository.DayOfWeekCount row : bucketRepository.sumBookingsByDayOfWeek()) {
+            bookingsByDayOfWeek.put(row.getDayOfWeek(), row.getBookings());
+        }
 
-        if (bookings.isEmpty()) {
+        if (bookingsByDayOfWeek.isEmpty()) {
             peaks.put("message", "No bookings available for analysis");
             return peaks;
         }
 
-        // Analyze by day of week
-        Map<String, Long> bookingsByDayOfWeek = bookings.stream()
-                .filter(b -> b.getBookingDate() != null)
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().getDayOfWeek().toString(),
-                    Collectors.counting()
-                ));
-
         // Analyze by hour of day
-        Map<Integer, Long> bookingsByHour = bookings.stream()
-                .filter(b -> b.getBookingDate() != null)
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().getHour(),
-                    Collectors.counting()
-                ));
+        Map<Integer, Long> bookingsByHour = new HashMap<>();
+        for (BookingStatsBucketRepository.HourCount row : bucketRepository.sumBookingsByHour()) {
+            bookingsByHour.put(row.getHourOfDay(), row.getBookings());
+        }
 
         String peakDayOfWeek = bookingsByDayOfWeek.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
@@ -293,27 +278,14 @@ public class AdvancedAnalyticsService {
         LocalDateTime thirtyDaysAgo = now.minusDays(30);
         LocalDateTime sixtyDaysAgo = now.minusDays(60);
 
-        List<Booking> recent = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null &&
-                       b.getBookingDate().isAfter(thirtyDaysAgo) &&
-                       "CONFIRMED".equals(b.getStatus()))
-                .collect(Collectors.toList());
-
-        List<Booking> previous = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null &&
-                       b.getBookingDate().isAfter(sixtyDaysAgo) &&
-                       b.getBookingDate().isBefore(thirtyDaysAgo) &&
-                       "CONFIRMED".equals(b.getStatus()))
-                .collect(Collectors.toList());
-
-        double recentRevenue = recent.stream().mapToDouble(Booking::getAmountPaid).sum();
-        double previousRevenue = previous.stream().mapToDouble(Booking::getAmountPaid).sum();
+        double recentRevenue = bucketRepository.sumRevenueBetween(thirtyDaysAgo, now);
+        double previousRevenue = bucketRepository.sumRevenueBetween(sixtyDaysAgo, thirtyDaysAgo);
 
         if (previousRevenue == 0) return 0;
         return (recentRevenue - previousRevenue) / previousRevenue;
     }
 
-    private String getConfidenceLevel(int dataPoints) {
+    private String getConfidenceLevel(long dataPoints) {
         if (dataPoints > 100) return "HIGH";
         if (dataPoints > 50) return "MEDIUM";
         if (dataPoints > 20) return "LOW";
@@ -0,0 +1,244 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.BookingStatsBucket;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.BookingStatsBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the hourly booking counters in booking_stats_buckets.
+ *
+ * Booking changes are recorded as in-memory deltas once their transaction has
+ * committed, and the deltas are folded into the table by a short upsert per
+ * bucket. Reading analytics therefore touches one row per hour and event type
+ * instead of every booking. A periodic reconciliation rebuilds recent buckets
+ * from the bookings table to correct any drift.
+ */
+@Service
+public class AnalyticsAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsAggregateService.class);
+
+    private static final String UPDATE_BUCKET =
+        "UPDATE booking_stats_buckets SET bookings = bookings + ?, cancellations = cancellations + ?, " +
+        "attended = attended + ?, revenue = revenue + ? WHERE bucket_start = ? AND event_type = ?";
+
+    private static final String INSERT_BUCKET =
+        "INSERT INTO booking_stats_buckets (bucket_start, bucket_date, hour_of_day, day_of_week, event_type, " +
+        "bookings, cancellations, attended, revenue) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingStatsBucketRepository bucketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${analytics.aggregate.reconcile-days:90}")
+    private int reconcileDays;
+
+    private final Map<BucketKey, Delta> pending = new ConcurrentHashMap<>();
+
+    public void recordBooked(Booking booking) {
+        record(booking, new Delta(1, 0, 0, amountOf(booking)));
+    }
+
+    public void recordCancelled(Booking booking) {
+        record(booking, new Delta(0, 1, 0, -amountOf(booking)));
+    }
+
+    public void recordAttended(Booking booking) {
+        record(booking, new Delta(0, 0, 1, 0));
+    }
+
+    /**
+     * Write all pending deltas to the bucket table.
+     */
+    public synchronized void flush() {
+        for (BucketKey key : new ArrayList<>(pending.keySet())) {
+            // remove() hands over the delta atomically; later changes start a new entry
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                try {
+                    upsert(key, delta);
+                } catch (RuntimeException e) {
+                    pending.merge(key, delta, Delta::plus);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.aggregate.flush-interval-ms:5000}",
+               initialDelayString = "${analytics.aggregate.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Failed to flush booking analytics deltas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the buckets of the last reconcile-days days from the bookings
+     * table, or all buckets if the table is still empty.
+     *
+     * Pending deltas are taken before the bookings are read: those inside the
+     * rebuilt window are already counted by the rebuild and are dropped, older
+     * ones are applied. Only a booking committing in the instant between the
+     * two steps can still be counted twice, until the next reconciliation.
+     * If the transaction rolls back, the taken deltas are put back.
+     */
+    @Scheduled(fixedDelayString = "${analytics.aggregate.reconcile-interval-ms:3600000}",
+               initialDelayString = "${analytics.aggregate.reconcile-initial-delay-ms:60000}")
+    @Transactional
+    public synchronized void reconcile() {
+        Map<BucketKey, Delta> taken = new HashMap<>();
+        for (BucketKey key : new ArrayList<>(pending.keySet())) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                taken.put(key, delta);
+            }
+        }
+        restoreOnRollback(taken);
+
+        LocalDateTime since = bucketRepository.count() == 0
+            ? LocalDateTime.of(1970, 1, 1, 0, 0)
+            : LocalDateTime.now().minusDays(reconcileDays).truncatedTo(ChronoUnit.DAYS);
+        taken.forEach((key, delta) -> {
+            if (key.bucketStart().isBefore(since)) {
+                upsert(key, delta);
+            }
+        });
+
+        Map<BucketKey, Delta> rebuilt = new HashMap<>();
+        for (BookingRepository.HourlyBookingStats row : bookingRepository.sumBookingsByHour(since)) {
+            if (row.getEventType() == null) {
+                continue;
+            }
+            BucketKey key = new BucketKey(
+                row.getBookingDay().atTime(row.getHourOfDay(), 0), row.getEventType());
+            long count = row.getBookings();
+            double amount = row.getAmount() != null ? row.getAmount() : 0.0;
+            Delta delta = BookingStatus.CANCELLED.equals(row.getStatus())
+                ? new Delta(count, count, 0, 0)
+                : new Delta(count, 0, BookingStatus.ATTENDED.equals(row.getStatus()) ? count : 0, amount);
+            rebuilt.merge(key, delta, Delta::plus);
+        }
+
+        bucketRepository.deleteFrom(since);
+        List<BookingStatsBucket> buckets = new ArrayList<>();
+        rebuilt.forEach((key, delta) -> buckets.add(toBucket(key, delta)));
+        bucketRepository.saveAll(buckets);
+
+        logger.info("Reconciled {} booking analytics buckets since {}", buckets.size(), since);
+    }
+
+    private void record(Booking booking, Delta delta) {
+        if (booking.getBookingDate() == null || booking.getEvent() == null || booking.getEvent().getType() == null) {
+            return;
+        }
+        BucketKey key = new BucketKey(
+            booking.getBookingDate().truncatedTo(ChronoUnit.HOURS), booking.getEvent().getType());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.merge(key, delta, Delta::plus);
+                }
+            });
+        } else {
+            pending.merge(key, delta, Delta::plus);
+        }
+    }
+
+    private void restoreOnRollback(Map<BucketKey, Delta> taken) {
+        if (taken.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    taken.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+                }
+            }
+        });
+    }
+
+    private void upsert(BucketKey key, Delta delta) {
+        if (update(key, delta) > 0) {
+            return;
+        }
+        try {
+            LocalDateTime start = key.bucketStart();
+            jdbcTemplate.update(INSERT_BUCKET,
+                Timestamp.valueOf(start), Date.valueOf(start.toLocalDate()), start.getHour(),
+                start.getDayOfWeek().toString(), key.eventType().name(),
+                delta.bookings(), delta.cancellations(), delta.attended(), delta.revenue());
+        } catch (DuplicateKeyException e) {
+            // Another instance created the bucket first
+            update(key, delta);
+        }
+    }
+
+    private int update(BucketKey key, Delta delta) {
+        return jdbcTemplate.update(UPDATE_BUCKET,
+            delta.bookings(), delta.cancellations(), delta.attended(), delta.revenue(),
+            Timestamp.valueOf(key.bucketStart()), key.eventType().name());
+    }
+
+    private BookingStatsBucket toBucket(BucketKey key, Delta delta) {
+        LocalDateTime start = key.bucketStart();
+        BookingStatsBucket bucket = new BookingStatsBucket();
+        bucket.setBucketStart(start);
+        bucket.setBucketDate(start.toLocalDate());
+        bucket.setHourOfDay(start.getHour());
+        bucket.setDayOfWeek(start.getDayOfWeek().toString());
+        bucket.setEventType(key.eventType());
+        bucket.setBookings(delta.bookings());
+        bucket.setCancellations(delta.cancellations());
+        bucket.setAttended(delta.attended());
+        bucket.setRevenue(delta.revenue());
+        return bucket;
+    }
+
+    private static double amountOf(Booking booking) {
+        return booking.getAmountPaid() != null ? booking.getAmountPaid() : 0.0;
+    }
+
+    private record BucketKey(LocalDateTime bucketStart, EventType eventType) {}
+
+    private record Delta(long bookings, long cancellations, long attended, double revenue) {
+        Delta plus(Delta other) {
+            return new Delta(bookings + other.bookings, cancellations + other.cancellations,
+                attended + other.attended, revenue + other.revenue);
+        }
+    }
+}
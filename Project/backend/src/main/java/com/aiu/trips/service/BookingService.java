@@ -7,11 +7,11 @@ import com.aiu.trips.exception.BookingException;
 import com.aiu.trips.exception.ResourceNotFoundException;
 import com.aiu.trips.model.Booking;
 import com.aiu.trips.model.Event;
+import com.aiu.trips.model.SeatHold;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.BookingRepository;
 import com.aiu.trips.repository.EventRepository;
 import com.aiu.trips.repository.UserRepository;
-import com.aiu.trips.util.QRCodeGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,48 +32,83 @@ public class BookingService {
     private UserRepository userRepository;
 
     @Autowired
-    private QRCodeGenerator qrCodeGenerator;
+    private CustomUserDetailsService userDetailsService;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private AnalyticsAggregateService analyticsAggregateService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventReminderService eventReminderService;
+
     @Transactional
     public Booking createBooking(Long eventId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        
+        User user = userRepository.getReferenceById(resolveUserId(userEmail));
+
+        if (bookingRepository.existsByUser_IdAndEvent_Id(user.getId(), eventId)) {
+            throw new BookingException(AppConstants.ALREADY_BOOKED);
+        }
+
+        // Take the seat atomically; this is the only sold-out check
+        seatInventoryService.reserve(eventId);
+
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId));
 
-        if (event.getAvailableSeats() <= 0) {
-            throw new BookingException(AppConstants.NO_SEATS_AVAILABLE);
-        }
+        return issueBooking(user, event);
+    }
+
+    /**
+     * Put a seat aside for the user; it is released again unless confirmed in time.
+     */
+    @Transactional
+    public SeatHold holdSeat(Long eventId, String userEmail) {
+        User user = userRepository.getReferenceById(resolveUserId(userEmail));
 
         if (bookingRepository.existsByUser_IdAndEvent_Id(user.getId(), eventId)) {
-            throw new BookingException("Already booked this event");
+            throw new BookingException(AppConstants.ALREADY_BOOKED);
         }
 
-        // Update available seats
-        event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId));
+
+        return seatInventoryService.hold(event, user);
+    }
 
-        // Create booking
+    /**
+     * Turn a seat hold into a booking. The seat was already taken by the hold.
+     */
+    @Transactional
+    public Booking confirmSeatHold(String holdCode, String userEmail) {
+        User user = userRepository.getReferenceById(resolveUserId(userEmail));
+
+        SeatHold hold = seatInventoryService.confirm(holdCode, user.getId());
+        // The user may have booked the event directly while holding the seat;
+        // the hold stays in place and its seat returns when it expires
+        if (bookingRepository.existsByUser_IdAndEvent_Id(user.getId(), hold.getEvent().getId())) {
+            throw new BookingException(AppConstants.ALREADY_BOOKED);
+        }
+        return issueBooking(user, hold.getEvent());
+    }
+
+    private Booking issueBooking(User user, Event event) {
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setEvent(event);
         booking.setBookingCode(UUID.randomUUID().toString());
         booking.setAmountPaid(event.getPrice());
 
-        // Generate QR code
-        try {
-            String qrData = "BOOKING:" + booking.getBookingCode() + "|EVENT:" + event.getId();
-            String qrCode = qrCodeGenerator.generateQRCodeBase64(qrData);
-            booking.setQrCodePath(qrCode);
-        } catch (Exception e) {
-            throw new BookingException("Failed to generate QR code: " + e.getMessage());
-        }
+        // Only the QR payload is stored; the image is rendered on first ticket fetch
+        booking.setQrCodePath(TicketQrService.buildPayload(booking.getBookingCode(), event.getId()));
 
         Booking savedBooking = bookingRepository.save(booking);
+        analyticsAggregateService.recordBooked(savedBooking);
+        eventReminderService.bookingCreated(event.getId());
 
         // Send notification
         notificationService.notifyUser(
@@ -85,37 +120,39 @@ public class BookingService {
         return savedBooking;
     }
 
+    @Transactional
     public void cancelBooking(Long bookingId, String userEmail) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.BOOKING_NOT_FOUND + bookingId));
 
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-
-        if (!booking.getUser().getId().equals(user.getId())) {
+        Long userId = resolveUserId(userEmail);
+        if (!booking.getUser().getId().equals(userId)) {
             throw new BookingException("Unauthorized to cancel this booking");
         }
 
+        if (BookingStatus.CANCELLED.equals(booking.getStatus())) {
+            throw new BookingException(AppConstants.BOOKING_ALREADY_CANCELLED);
+        }
+
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        analyticsAggregateService.recordCancelled(booking);
 
-        // Update available seats
+        // Return the seat to the inventory
         Event event = booking.getEvent();
-        event.setAvailableSeats(event.getAvailableSeats() + 1);
-        eventRepository.save(event);
+        seatInventoryService.release(event.getId());
+        eventReminderService.bookingCancelled(event.getId());
 
         // Send notification
         notificationService.notifyUser(
-            user.getId(),
+            userId,
             "Booking cancelled for: " + event.getTitle(),
             "INFO"
         );
     }
 
     public List<Booking> getUserBookings(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        return bookingRepository.findByUser_Id(user.getId());
+        return bookingRepository.findByUser_Id(resolveUserId(userEmail));
     }
 
     public List<Booking> getEventBookings(Long eventId) {
@@ -154,6 +191,7 @@ public class BookingService {
         booking.setValidatedBy(validatedByEmail);
 
         Booking validatedBooking = bookingRepository.save(booking);
+        analyticsAggregateService.recordAttended(validatedBooking);
 
         // Send notification to user
         notificationService.notifyUser(
@@ -164,4 +202,12 @@ public class BookingService {
 
         return validatedBooking;
     }
+
+    /**
+     * Id of the user from the principal cache; the users table is not read
+     */
+    private Long resolveUserId(String userEmail) {
+        return userDetailsService.findUserId(userEmail)
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
+    }
 }
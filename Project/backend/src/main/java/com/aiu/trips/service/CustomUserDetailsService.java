@@ -2,30 +2,68 @@ package com.aiu.trips.service;
 
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.security.UserPrincipal;
+import com.aiu.trips.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.Optional;
 
+/**
+ * Loads users for authentication through the principal cache, so an
+ * authenticated request does not read the users table.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        return findPrincipal(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-        
-        return new org.springframework.security.core.userdetails.User(
-            user.getEmail(),
-            user.getPassword(),
-            Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()))
-        );
+    }
+
+    public Optional<UserPrincipal> findPrincipal(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(principalCache.get(email, this::loadPrincipal));
+    }
+
+    /**
+     * Store a password rehashed at login; the listener drops the cached principal
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+        User user = userRepository.findByEmail(details.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + details.getUsername()));
+        user.setPassword(newPassword);
+        return toPrincipal(userRepository.save(user));
+    }
+
+    /**
+     * Id of the user with this email, served from the principal cache
+     */
+    public Optional<Long> findUserId(String email) {
+        return findPrincipal(email).map(UserPrincipal::getId);
+    }
+
+    private UserPrincipal loadPrincipal(String email) {
+        return userRepository.findByEmail(email)
+            .map(this::toPrincipal)
+            .orElse(null);
+    }
+
+    private UserPrincipal toPrincipal(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
     }
 }
@@ -0,0 +1,310 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.adapter.SmtpConnectionPool;
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.enums.EmailStatus;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.OutboxEmail;
+import com.aiu.trips.ratelimit.InMemoryRateLimitStore;
+import com.aiu.trips.ratelimit.RateLimitDecision;
+import com.aiu.trips.ratelimit.RateLimitRule;
+import com.aiu.trips.repository.OutboxEmailRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbox for outgoing email.
+ *
+ * Callers only insert a PENDING row, so sending never blocks a request. A
+ * poller claims due rows and hands them to a bounded worker pool, which sends
+ * them over the pooled SMTP connections. Each recipient domain is throttled
+ * with the same cell rate algorithm as the API rate limits; emails over the
+ * limit stay pending until the domain has room again. Failures are retried
+ * with exponential backoff and jitter. A 5xx reply, or running out of
+ * attempts, moves the email to DEAD, where it stays until requeued.
+ *
+ * Several instances may poll the same table: each row is claimed with its
+ * own conditional update, and only the instance whose update hit the row
+ * sends it. A claim is a lease; rows still SENDING after it ran out belong to
+ * an instance that stopped and are queued again.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final String INSERT_EMAIL =
+        "INSERT INTO email_outbox (recipient, domain, subject, body, status, attempts, next_attempt_at, created_at) " +
+        "VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @Autowired
+    private SmtpConnectionPool smtp;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${email.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-base-ms:30000}")
+    private long backoffBaseMs;
+
+    @Value("${email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    @Value("${email.outbox.sending-lease-ms:600000}")
+    private long sendingLeaseMs;
+
+    private final Map<String, RateLimitRule> domainRules = new HashMap<>();
+
+    private final RateLimitRule defaultDomainRule;
+
+    private final InMemoryRateLimitStore domainBuckets = new InMemoryRateLimitStore(10000);
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public EmailOutboxService(
+            @Value("${email.outbox.workers:4}") int workers,
+            @Value("${email.outbox.queue-capacity:200}") int queueCapacity,
+            @Value("${email.outbox.domain-rates:*=20/1s}") String domainRates) {
+        RateLimitRule fallback = null;
+        for (RateLimitRule rule : RateLimitRule.parseAll(domainRates)) {
+            String domain = rule.pattern().trim().toLowerCase();
+            if (domain.equals("*")) {
+                fallback = rule;
+            } else {
+                domainRules.put(domain, rule);
+            }
+        }
+        this.defaultDomainRule = fallback;
+        this.executor = new ThreadPoolExecutor(
+            workers, workers,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "email-outbox");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Queue one email; it is sent in the background
+     */
+    public Long enqueue(String to, String subject, String body) {
+        return outboxRepository.save(new OutboxEmail(to, subject, body)).getId();
+    }
+
+    /**
+     * Queue the same email for many recipients with one batched insert
+     */
+    public void enqueueAll(List<String> recipients, String subject, String body) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EMAIL, recipients, batchSize, (ps, to) -> {
+            ps.setString(1, to);
+            ps.setString(2, OutboxEmail.domainOf(to));
+            ps.setString(3, subject);
+            ps.setString(4, body);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    /**
+     * Claim the due emails the worker pool has room for and start sending them.
+     * Runs until nothing is due or the pool is full.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:500}",
+               initialDelayString = "${email.outbox.poll-interval-ms:500}")
+    public int dispatch() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int started = 0;
+            while (true) {
+                int room = Math.min(batchSize, executor.getQueue().remainingCapacity());
+                if (room == 0) {
+                    return started;
+                }
+                List<OutboxEmail> due = outboxRepository.findDue(LocalDateTime.now(), Pageable.ofSize(room));
+                started += start(due);
+                if (due.size() < room) {
+                    return started;
+                }
+            }
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    /**
+     * Count of emails per status
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (EmailStatus status : EmailStatus.values()) {
+            stats.put(status.name(), 0L);
+        }
+        for (Object[] row : outboxRepository.countByStatus()) {
+            stats.put(((EmailStatus) row[0]).name(), (Long) row[1]);
+        }
+        stats.put("workerQueueDepth", (long) executor.getQueue().size());
+        return stats;
+    }
+
+    /**
+     * Give a dead email a fresh set of attempts
+     */
+    public void requeue(Long id) {
+        if (outboxRepository.requeueDead(id, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException(AppConstants.DEAD_EMAIL_NOT_FOUND + id);
+        }
+    }
+
+    /**
+     * Emails whose sender stopped before finishing them are sent again once their lease runs out
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${email.outbox.sending-lease-ms:600000}",
+               initialDelayString = "${email.outbox.sending-lease-ms:600000}")
+    public void releaseInterrupted() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(sendingLeaseMs * 1_000_000L);
+        int released = outboxRepository.releaseClaimedBefore(cutoff);
+        if (released > 0) {
+            logger.info("Requeued {} emails whose sender stopped", released);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.prune-interval-ms:3600000}",
+               initialDelayString = "${email.outbox.prune-interval-ms:3600000}")
+    public int pruneSent() {
+        return outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(sentRetentionDays));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private int start(List<OutboxEmail> due) {
+        List<OutboxEmail> allowed = new ArrayList<>();
+        Map<LocalDateTime, List<Long>> throttled = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEmail email : due) {
+            RateLimitRule rule = domainRules.getOrDefault(email.getDomain(), defaultDomainRule);
+            RateLimitDecision decision = rule == null ? null : domainBuckets.acquire(email.getDomain(), rule);
+            if (decision == null || decision.allowed()) {
+                allowed.add(email);
+            } else {
+                throttled.computeIfAbsent(now.plusSeconds(decision.retryAfterSeconds()), at -> new ArrayList<>())
+                    .add(email.getId());
+            }
+        }
+        throttled.forEach((at, ids) -> outboxRepository.postpone(ids, at));
+        if (allowed.isEmpty()) {
+            return 0;
+        }
+
+        int started = 0;
+        for (OutboxEmail email : allowed) {
+            if (outboxRepository.claim(email.getId(), now) == 0) {
+                // Another instance is sending it
+                continue;
+            }
+            try {
+                executor.execute(() -> deliver(email));
+                started++;
+            } catch (RejectedExecutionException e) {
+                outboxRepository.release(List.of(email.getId()));
+            }
+        }
+        return started;
+    }
+
+    private void deliver(OutboxEmail email) {
+        try {
+            smtp.send(email.getRecipient(), email.getSubject(), email.getBody());
+            outboxRepository.markSent(email.getId(), LocalDateTime.now());
+        } catch (MessagingException e) {
+            failed(email, e, SmtpConnectionPool.isPermanent(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outboxRepository.release(List.of(email.getId()));
+        } catch (RuntimeException e) {
+            failed(email, e, false);
+        }
+    }
+
+    private void failed(OutboxEmail email, Exception e, boolean permanent) {
+        int attempts = email.getAttempts() + 1;
+        String error = describe(e);
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        if (permanent || attempts >= maxAttempts) {
+            logger.warn("Email {} to {} is dead after {} attempts: {}", email.getId(), email.getRecipient(),
+                attempts, error);
+            outboxRepository.markFailed(email.getId(), EmailStatus.DEAD, LocalDateTime.now(), error);
+        } else {
+            logger.debug("Email {} attempt {} failed: {}", email.getId(), attempts, error);
+            outboxRepository.markFailed(email.getId(), EmailStatus.PENDING,
+                LocalDateTime.now().plusNanos(backoff(attempts) * 1_000_000L), error);
+        }
+    }
+
+    /**
+     * The message of the failure and of every exception nested in it, which
+     * carries the server's replies
+     */
+    private static String describe(Exception e) {
+        StringBuilder description = new StringBuilder(String.valueOf(e.getMessage()));
+        Exception next = e instanceof MessagingException me ? me.getNextException() : null;
+        while (next != null) {
+            description.append("; ").append(next.getMessage());
+            next = next instanceof MessagingException me ? me.getNextException() : null;
+        }
+        return description.toString().strip();
+    }
+
+    /**
+     * Exponential backoff with jitter: a random delay between half and all of
+     * base * 2^(attempts - 1), capped at the maximum
+     */
+    private long backoff(int attempts) {
+        long delay = backoffMaxMs;
+        if (attempts - 1 < 31 && backoffBaseMs << (attempts - 1) < backoffMaxMs) {
+            delay = backoffBaseMs << (attempts - 1);
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
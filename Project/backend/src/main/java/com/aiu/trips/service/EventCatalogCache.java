@@ -0,0 +1,185 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of catalog listings (all activities, upcoming events,
+ * browse pages), each an immutable list of ActivityDTOs keyed by the query
+ * that produced it.
+ *
+ * Any write to an event drops every listing (see EventCatalogInvalidationListener).
+ * Seat counts change on every booking, so they are not part of that: the
+ * latest committed count of an event is kept in a separate map and laid over
+ * the cached listing when it is read. Listings also expire after the
+ * configured TTL, so a change made outside the application is picked up
+ * within that time.
+ *
+ * The entity tag is a hash of the listing as loaded plus the seat counts laid
+ * over it, so it stays valid across restarts and is the same on every
+ * instance that serves the same rows.
+ */
+@Component
+public class EventCatalogCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long ttlNanos;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Bumped by every invalidation; a listing loaded across one is not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Numbers every load and every seat count, so one can tell which came first.
+     * Local to this process, so never part of an entity tag.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Long, SeatCount> seats = new ConcurrentHashMap<>();
+
+    public EventCatalogCache(
+            @Value("${events.catalog-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${events.catalog-cache.max-entries:500}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached listing for the key with current seat counts, loading it when absent or stale.
+     * The returned list must not be modified.
+     */
+    public CatalogView<List<ActivityDTO>> get(String key, Supplier<List<ActivityDTO>> loader) {
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || now - entry.loadedAt >= ttlNanos) {
+            long loadedGeneration = generation.get();
+            // Seat counts numbered before this point are already in what the loader reads
+            long loadSequence = sequence.incrementAndGet();
+            List<ActivityDTO> items = List.copyOf(loader.get());
+            entry = new Entry(items, hash(items), loadSequence, now);
+            synchronized (entries) {
+                if (generation.get() == loadedGeneration) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+        return overlay(entry);
+    }
+
+    /**
+     * Record the committed seat count of an event without dropping any listing.
+     * Take the sequence number before reading the count, so the later reading always wins.
+     */
+    public void seatsChanged(Long eventId, long readSequence, int availableSeats) {
+        seats.merge(eventId, new SeatCount(availableSeats, readSequence),
+            (current, update) -> update.sequence > current.sequence ? update : current);
+    }
+
+    /**
+     * Sequence number for a seat count about to be read
+     */
+    public long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Drop every listing; the next read of each loads it again
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            // Listings loaded from now on read these counts from the database
+            seats.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CatalogView<List<ActivityDTO>> overlay(Entry entry) {
+        if (seats.isEmpty()) {
+            return new CatalogView<>(entry.items, etag(entry.contentHash));
+        }
+        List<ActivityDTO> items = new ArrayList<>(entry.items.size());
+        StringBuilder overlaid = new StringBuilder(entry.contentHash);
+        for (ActivityDTO item : entry.items) {
+            SeatCount count = seats.get(item.getActivityId());
+            if (count != null && count.sequence > entry.sequence) {
+                overlaid.append('|').append(item.getActivityId()).append(':').append(count.availableSeats);
+                items.add(withSeats(item, count.availableSeats));
+            } else {
+                items.add(item);
+            }
+        }
+        return overlaid.length() == entry.contentHash.length()
+            ? new CatalogView<>(entry.items, etag(entry.contentHash))
+            : new CatalogView<>(List.copyOf(items), etag(sha256(overlaid.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private String hash(List<ActivityDTO> items) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(items));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Catalog listing cannot be serialized", e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String etag(String hash) {
+        return "\"c" + hash + "\"";
+    }
+
+    private static ActivityDTO withSeats(ActivityDTO item, int availableSeats) {
+        ActivityDTO copy = item.clone();
+        copy.setAvailableSeats(availableSeats);
+        return copy;
+    }
+
+    private record Entry(List<ActivityDTO> items, String contentHash, long sequence, long loadedAt) {
+    }
+
+    private record SeatCount(int availableSeats, long sequence) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.model.Event;
+import com.aiu.trips.util.CacheInvalidation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener on Event that drops the cached catalog whenever an event row is
+ * inserted, updated or deleted. Seat counts are changed by bulk updates, which
+ * do not reach this listener.
+ */
+public class EventCatalogInvalidationListener {
+
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void eventChanged(Event event) {
+        CacheInvalidation.evictNowAndAfterCompletion(catalogCache::invalidate);
+    }
+}
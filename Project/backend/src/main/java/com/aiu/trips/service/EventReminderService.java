@@ -0,0 +1,323 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.bridge.*;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.EventReminderMark;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventReminderMarkRepository;
+import com.aiu.trips.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends "event starts in ..." reminders to everyone with an active booking.
+ *
+ * Every booked upcoming event has at most one entry in a delay queue, for its
+ * next reminder, so nothing polls the bookings table. The queue is loaded at
+ * startup and kept current by BookingService and by the event services when
+ * an event is updated or cancelled. When an entry is due, the participants
+ * are loaded once and the reminder goes out through the in-app and email
+ * channels via the NotificationDispatcher, in batches. Sending holds no lock;
+ * the entry stays scheduled meanwhile, so a booking does not queue the same
+ * reminder again, and a change made during the send replaces it.
+ *
+ * Before sending, the offset is stored as the event's high-water mark, so a
+ * restart never repeats a reminder; a crash right after storing it can lose
+ * one instead. Reminders that fell due while the application was down are
+ * sent late, unless a later reminder of the same event is already due.
+ */
+@Service
+public class EventReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventReminderService.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventReminderMarkRepository markRepository;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private InAppChannel inAppChannel;
+
+    @Autowired
+    private EmailChannel emailChannel;
+
+    @Value("${reminder.mark-retention-days:1}")
+    private int markRetentionDays;
+
+    private final boolean enabled;
+
+    /**
+     * Minutes before the start, largest first
+     */
+    private final List<Integer> offsetsMinutes;
+
+    private final DelayQueue<Reminder> queue = new DelayQueue<>();
+
+    private final Map<Long, Reminder> scheduled = new HashMap<>();
+
+    private final Thread worker;
+
+    public EventReminderService(
+            @Value("${reminder.enabled:true}") boolean enabled,
+            @Value("${reminder.offsets-minutes:1440,60}") String offsets) {
+        this.enabled = enabled;
+        this.offsetsMinutes = Arrays.stream(offsets.split(","))
+            .map(String::trim)
+            .filter(offset -> !offset.isEmpty())
+            .map(Integer::valueOf)
+            .distinct()
+            .sorted(Comparator.reverseOrder())
+            .toList();
+        this.worker = new Thread(this::run, "event-reminders");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Schedule the next reminder of every booked upcoming event
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadUpcoming() {
+        if (!enabled) {
+            return;
+        }
+        queue.clear();
+        scheduled.clear();
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> events = eventRepository.findBookedUpcoming(now);
+        Map<Long, EventReminderMark> marks = markRepository.findAllById(events.stream().map(Event::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(EventReminderMark::getEventId, Function.identity()));
+        for (Event event : events) {
+            schedule(event.getId(), event.getStartDate(), marks.get(event.getId()), now);
+        }
+        if (worker.getState() == Thread.State.NEW) {
+            worker.start();
+        }
+        logger.info("Scheduled reminders for {} upcoming events", scheduled.size());
+    }
+
+    /**
+     * The first active booking of an event puts it in the queue
+     */
+    public void bookingCreated(Long eventId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (!scheduled.containsKey(eventId)) {
+                    reschedule(eventId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Once the last active booking is cancelled the event leaves the queue
+     */
+    public void bookingCancelled(Long eventId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (scheduled.containsKey(eventId)
+                        && !bookingRepository.existsByEvent_IdAndStatusNot(eventId, BookingStatus.CANCELLED)) {
+                    unschedule(eventId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Pick up a new start date or a cancellation
+     */
+    public void eventChanged(Long eventId) {
+        afterCommit(() -> reschedule(eventId));
+    }
+
+    public synchronized void reschedule(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getStatus() != EventStatus.ACTIVE
+                || !bookingRepository.existsByEvent_IdAndStatusNot(eventId, BookingStatus.CANCELLED)) {
+            unschedule(eventId);
+            return;
+        }
+        Reminder current = scheduled.get(eventId);
+        if (current != null && current.startDate().equals(event.getStartDate())) {
+            return;
+        }
+        schedule(eventId, event.getStartDate(), markRepository.findById(eventId).orElse(null), LocalDateTime.now());
+    }
+
+    /**
+     * Minutes before the start of the event's next reminder, if one is scheduled
+     */
+    public synchronized Optional<Integer> getScheduledOffset(Long eventId) {
+        return Optional.ofNullable(scheduled.get(eventId)).map(Reminder::offsetMinutes);
+    }
+
+    public synchronized int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    @Scheduled(fixedDelayString = "${reminder.prune-interval-ms:3600000}",
+               initialDelayString = "${reminder.prune-interval-ms:3600000}")
+    public int pruneMarks() {
+        return markRepository.deleteByStartDateBefore(LocalDateTime.now().minusDays(markRetentionDays));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fire(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Sending a reminder failed", e);
+            }
+        }
+    }
+
+    private void fire(Reminder reminder) {
+        synchronized (this) {
+            if (scheduled.get(reminder.eventId()) != reminder) {
+                return;
+            }
+        }
+        Event event = eventRepository.findById(reminder.eventId()).orElse(null);
+        if (event == null || event.getStatus() != EventStatus.ACTIVE
+                || !reminder.startDate().equals(event.getStartDate())) {
+            // Changed since it was scheduled; the change calls eventChanged, which schedules what is left
+            synchronized (this) {
+                scheduled.remove(reminder.eventId(), reminder);
+            }
+            return;
+        }
+
+        EventReminderMark mark = markRepository.save(
+            new EventReminderMark(event.getId(), event.getStartDate(), reminder.offsetMinutes()));
+        List<String> recipients = bookingRepository.findParticipantEmails(event.getId());
+        Duration untilStart = Duration.ofMinutes(reminder.offsetMinutes());
+        for (NotificationChannel channel : List.of(inAppChannel, emailChannel)) {
+            new ReminderMessage(channel, event.getTitle(), untilStart).dispatch(dispatcher, recipients);
+        }
+        logger.info("Reminded {} participants of event {} {} minutes before the start",
+            recipients.size(), event.getId(), reminder.offsetMinutes());
+
+        synchronized (this) {
+            // Unless the event was changed or cancelled while sending
+            if (scheduled.get(event.getId()) == reminder) {
+                schedule(event.getId(), event.getStartDate(), mark, LocalDateTime.now());
+            }
+        }
+    }
+
+    private void schedule(Long eventId, LocalDateTime startDate, EventReminderMark mark, LocalDateTime now) {
+        Integer sent = mark != null && mark.getStartDate().equals(startDate) ? mark.getSentOffsetMinutes() : null;
+        Integer offset = nextOffset(startDate, sent, now);
+        if (offset == null) {
+            unschedule(eventId);
+            return;
+        }
+        LocalDateTime fireAt = startDate.minusMinutes(offset);
+        Reminder reminder = new Reminder(eventId, startDate, offset, toEpochMillis(fireAt.isAfter(now) ? fireAt : now));
+        Reminder previous = scheduled.put(eventId, reminder);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(reminder);
+    }
+
+    private void unschedule(Long eventId) {
+        Reminder previous = scheduled.remove(eventId);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    /**
+     * The largest offset below the mark whose reminder is not overtaken by an
+     * offset that is already due as well; null when nothing is left to send
+     */
+    private Integer nextOffset(LocalDateTime startDate, Integer sentOffset, LocalDateTime now) {
+        if (startDate == null || !startDate.isAfter(now)) {
+            return null;
+        }
+        List<Integer> pending = offsetsMinutes.stream()
+            .filter(offset -> sentOffset == null || offset < sentOffset)
+            .toList();
+        for (int i = 0; i < pending.size(); i++) {
+            boolean overtaken = i + 1 < pending.size() && !startDate.minusMinutes(pending.get(i + 1)).isAfter(now);
+            if (!overtaken) {
+                return pending.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Reminder(Long eventId, LocalDateTime startDate, int offsetMinutes, long fireAtMillis)
+            implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAtMillis, ((Reminder) other).fireAtMillis);
+        }
+    }
+}
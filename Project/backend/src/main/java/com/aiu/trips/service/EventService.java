@@ -8,6 +8,8 @@ import com.aiu.trips.model.Event;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.EventRepository;
 import com.aiu.trips.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,15 +19,23 @@ import java.util.List;
 @Service
 public class EventService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EventReminderService eventReminderService;
+
     public Event createEvent(Event event, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
@@ -33,11 +43,12 @@ public class EventService {
         event.setCreatedBy(user);
         Event savedEvent = eventRepository.save(event);
         
-        // Notify all users about new event
-        notificationService.notifyAllUsers(
+        // Notify all users about new event in the background
+        String jobId = notificationService.notifyAllUsers(
             "New " + event.getType().name().toLowerCase() + " available: " + event.getTitle(),
             "INFO"
         );
+        savedEvent.setNotificationJobId(jobId);
         
         return savedEvent;
     }
@@ -57,13 +68,14 @@ public class EventService {
         event.setImageUrl(eventDetails.getImageUrl());
         
         Event updatedEvent = eventRepository.save(event);
+        eventReminderService.eventChanged(id);
         
-        // Notify users about update
+        // Notify participants about update in the background
         notificationService.notifyEventParticipants(
             id,
             "Event updated: " + event.getTitle(),
             "INFO"
-        );
+        ).whenComplete((recipients, error) -> logNotified(id, "update", recipients, error));
         
         return updatedEvent;
     }
@@ -74,13 +86,22 @@ public class EventService {
         
         event.setStatus(EventStatus.CANCELLED);
         eventRepository.save(event);
+        eventReminderService.eventChanged(id);
         
-        // Notify participants about cancellation
+        // Notify participants about cancellation in the background
         notificationService.notifyEventParticipants(
             id,
             "Event cancelled: " + event.getTitle(),
             "WARNING"
-        );
+        ).whenComplete((recipients, error) -> logNotified(id, "cancellation", recipients, error));
+    }
+
+    private void logNotified(Long eventId, String change, Long recipients, Throwable error) {
+        if (error != null) {
+            logger.warn("Participants of event {} were not notified of the {}", eventId, change, error);
+        } else {
+            logger.info("Notified {} participants of event {} of the {}", recipients, eventId, change);
+        }
     }
 
     public List<Event> getAllEvents() {
@@ -101,8 +122,8 @@ public class EventService {
     }
 
     public List<Event> getEventsByUser(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        Long userId = userDetailsService.findUserId(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        return eventRepository.findByCreatedBy_Id(user.getId());
+        return eventRepository.findByCreatedBy_Id(userId);
     }
 }
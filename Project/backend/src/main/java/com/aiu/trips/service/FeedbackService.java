@@ -26,6 +26,9 @@ public class FeedbackService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -70,9 +73,9 @@ public class FeedbackService {
     }
 
     public List<Feedback> getUserFeedbacks(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        Long userId = userDetailsService.findUserId(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        return feedbackRepository.findByUser_Id(user.getId());
+        return feedbackRepository.findByUser_Id(userId);
     }
 
     public Double getEventAverageRating(Long eventId) {
@@ -0,0 +1,252 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.FanoutJobDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Background fan-out of one notification to every user, or to the
+ * participants of one event.
+ *
+ * Jobs wait in a bounded queue and are processed by a small worker pool.
+ * A job stores its text once through the NotificationWriter; each
+ * recipient only gets a delivery row pointing to it. For every user a
+ * worker walks the users table by id in chunks and writes the notifications
+ * of a chunk with one JDBC batch. For event participants a single
+ * INSERT ... SELECT copies the distinct bookers straight from the bookings
+ * table. Either way no entities are loaded and no request thread or
+ * connection is held for the whole run.
+ *
+ * Inside a transaction a job is only queued once it commits, so it never
+ * announces a change that was rolled back. Queueing never throws: the caller
+ * has usually saved its change already, so a job the full queue cannot take
+ * is reported as REJECTED and its future completes exceptionally.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final String SELECT_RECIPIENTS =
+        "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
+
+    @Value("${notification.fanout.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.fanout.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, FanoutJob> jobs = new ConcurrentHashMap<>();
+
+    public NotificationFanoutService(
+            @Value("${notification.fanout.workers:2}") int workers,
+            @Value("${notification.fanout.queue-capacity:100}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+            workers, workers,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "notification-fanout");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Queue a notification for every user and return the job id immediately.
+     * The job shows whether it was accepted.
+     */
+    public String notifyAllUsers(String message, String type) {
+        FanoutJob job = new FanoutJob(UUID.randomUUID().toString(), message, type, null);
+        submit(job, () -> runAllUsers(job));
+        return job.id;
+    }
+
+    /**
+     * Queue a notification for every user with a booking for the event that is
+     * not cancelled; a user with several bookings is notified once. The returned
+     * future completes with the number of recipients once the rows are written.
+     */
+    public CompletableFuture<Long> notifyEventParticipants(Long eventId, String message, String type) {
+        FanoutJob job = new FanoutJob(UUID.randomUUID().toString(), message, type, eventId);
+        submit(job, () -> runEventParticipants(job));
+        return job.completion;
+    }
+
+    public FanoutJobDTO getJob(String jobId) {
+        FanoutJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Fan-out job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    public List<FanoutJobDTO> getJobs() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing((FanoutJob job) -> job.submittedAt).reversed())
+            .map(FanoutJob::toDTO)
+            .collect(Collectors.toList());
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void submit(FanoutJob job, Runnable work) {
+        evictFinishedJobs();
+
+        jobs.put(job.id, job);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(job, work);
+                    } else {
+                        abandon(job, "CANCELLED", "The change it announces was rolled back");
+                    }
+                }
+            });
+        } else {
+            enqueue(job, work);
+        }
+    }
+
+    private void enqueue(FanoutJob job, Runnable work) {
+        try {
+            executor.execute(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Notification fan-out {} rejected, the queue is full", job.id);
+            abandon(job, "REJECTED", "Notification fan-out queue is full, try again later");
+        }
+    }
+
+    private void abandon(FanoutJob job, String status, String reason) {
+        job.status = status;
+        job.error = reason;
+        job.finishedAt = LocalDateTime.now();
+        job.completion.completeExceptionally(new IllegalStateException(reason));
+    }
+
+    private void run(FanoutJob job, Runnable work) {
+        job.startedAt = LocalDateTime.now();
+        job.status = "RUNNING";
+        try {
+            work.run();
+            job.status = "COMPLETED";
+            job.completion.complete(job.delivered.get());
+        } catch (Exception e) {
+            logger.error("Notification fan-out {} failed after {} recipients", job.id, job.delivered.get(), e);
+            job.error = e.getMessage();
+            job.status = "FAILED";
+            job.completion.completeExceptionally(e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void runAllUsers(FanoutJob job) {
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        job.totalRecipients = total != null ? total : 0;
+
+        long contentId = notificationWriter.saveContent(job.message, job.type);
+        Timestamp createdAt = Timestamp.valueOf(job.submittedAt);
+        long lastId = 0;
+        while (true) {
+            List<Long> recipients = jdbcTemplate.queryForList(SELECT_RECIPIENTS, Long.class, lastId, chunkSize);
+            if (recipients.isEmpty()) {
+                break;
+            }
+            notificationWriter.writeToUsers(recipients, contentId, createdAt);
+            job.delivered.addAndGet(recipients.size());
+            lastId = recipients.get(recipients.size() - 1);
+        }
+    }
+
+    private void runEventParticipants(FanoutJob job) {
+        int inserted = notificationWriter.writeToEventParticipants(job.eventId,
+            notificationWriter.saveContent(job.message, job.type), Timestamp.valueOf(job.submittedAt));
+        job.totalRecipients = inserted;
+        job.delivered.addAndGet(inserted);
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class FanoutJob {
+        final String id;
+        final String message;
+        final String type;
+        final Long eventId;
+        final CompletableFuture<Long> completion = new CompletableFuture<>();
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicLong delivered = new AtomicLong();
+        volatile String status = "QUEUED";
+        volatile long totalRecipients;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        FanoutJob(String id, String message, String type, Long eventId) {
+            this.id = id;
+            this.message = message;
+            this.type = type;
+            this.eventId = eventId;
+        }
+
+        FanoutJobDTO toDTO() {
+            FanoutJobDTO dto = new FanoutJobDTO();
+            dto.setJobId(id);
+            dto.setStatus(status);
+            dto.setMessage(message);
+            dto.setEventId(eventId);
+            dto.setTotalRecipients(totalRecipients);
+            dto.setDelivered(delivered.get());
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            if (startedAt != null) {
+                LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+                long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+                dto.setRecipientsPerSecond(delivered.get() * 1000.0 / millis);
+            }
+            return dto;
+        }
+    }
+}
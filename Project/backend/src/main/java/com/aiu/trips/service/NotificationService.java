@@ -1,27 +1,62 @@
 package com.aiu.trips.service;
 
-import com.aiu.trips.model.Booking;
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.dto.NotificationPage;
+import com.aiu.trips.exception.ResourceNotFoundException;
 import com.aiu.trips.model.Notification;
+import com.aiu.trips.model.NotificationContent;
 import com.aiu.trips.model.User;
-import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.NotificationContentRepository;
 import com.aiu.trips.repository.NotificationRepository;
 import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class NotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final KeysetCursor CURSOR = new KeysetCursor("n2", "notification inbox");
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Value("${notifications.inbox.default-size:20}")
+    private int inboxDefaultSize;
+
+    @Value("${notifications.inbox.max-size:100}")
+    private int inboxMaxSize;
+
+    @Value("${notifications.retention.read-days:90}")
+    private int readRetentionDays;
+
+    @Value("${notifications.retention.batch-size:1000}")
+    private int pruneBatchSize;
 
     public void notifyUser(Long userId, String message, String type) {
         User user = userRepository.findById(userId)
@@ -29,49 +64,106 @@ public class NotificationService {
 
         Notification notification = new Notification();
         notification.setUser(user);
-        notification.setMessage(message);
-        notification.setType(type);
+        notification.setContent(notificationContentRepository.save(new NotificationContent(message, type)));
         notificationRepository.save(notification);
     }
 
-    public void notifyAllUsers(String message, String type) {
-        List<User> users = userRepository.findAll();
-        users.forEach(user -> {
-            Notification notification = new Notification();
-            notification.setUser(user);
-            notification.setMessage(message);
-            notification.setType(type);
-            notificationRepository.save(notification);
-        });
+    /**
+     * Queue a notification for every user; returns the background fan-out job id.
+     */
+    public String notifyAllUsers(String message, String type) {
+        return notificationFanoutService.notifyAllUsers(message, type);
     }
 
-    public void notifyEventParticipants(Long eventId, String message, String type) {
-        List<Booking> bookings = bookingRepository.findByEvent_Id(eventId);
-        bookings.forEach(booking -> {
-            Notification notification = new Notification();
-            notification.setUser(booking.getUser());
-            notification.setMessage(message);
-            notification.setType(type);
-            notificationRepository.save(notification);
-        });
+    /**
+     * Queue a notification for the event's participants; the future completes with the recipient count.
+     */
+    public CompletableFuture<Long> notifyEventParticipants(Long eventId, String message, String type) {
+        return notificationFanoutService.notifyEventParticipants(eventId, message, type);
     }
 
-    public List<Notification> getUserNotifications(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByUser_IdOrderByCreatedAtDesc(user.getId());
+    /**
+     * One page of the user's inbox, newest first. Pass the returned cursor back to read the next page.
+     */
+    public NotificationPage getUserNotifications(String userEmail, String cursor, Integer limit) {
+        return inbox(resolveUserId(userEmail), false, cursor, limit);
     }
 
-    public List<Notification> getUnreadNotifications(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByUser_IdAndIsReadFalse(user.getId());
+    /**
+     * One page of the user's unread notifications, newest first
+     */
+    public NotificationPage getUnreadNotifications(String userEmail, String cursor, Integer limit) {
+        return inbox(resolveUserId(userEmail), true, cursor, limit);
     }
 
-    public void markAsRead(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
-            .orElseThrow(() -> new RuntimeException("Notification not found"));
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+    /**
+     * Unread count for the badge, counted on the (user_id, is_read) index
+     */
+    public long getUnreadCount(String userEmail) {
+        return notificationRepository.countUnread(resolveUserId(userEmail));
+    }
+
+    /**
+     * Mark one of the user's notifications read with a single UPDATE
+     */
+    @Transactional
+    public void markAsRead(Long notificationId, String userEmail) {
+        if (notificationRepository.markRead(notificationId, resolveUserId(userEmail)) == 0) {
+            throw new ResourceNotFoundException(AppConstants.NOTIFICATION_NOT_FOUND + notificationId);
+        }
+    }
+
+    /**
+     * Mark every unread notification of the user read with a single UPDATE; returns how many changed
+     */
+    @Transactional
+    public int markAllAsRead(String userEmail) {
+        return notificationRepository.markAllRead(resolveUserId(userEmail));
+    }
+
+    /**
+     * Delete read notifications older than the retention period, one batch per transaction.
+     * Unread notifications are kept however old they are. Contents left without
+     * any delivery are deleted afterwards.
+     */
+    @Scheduled(fixedDelayString = "${notifications.retention.prune-interval-ms:3600000}",
+               initialDelayString = "${notifications.retention.prune-interval-ms:3600000}")
+    public int pruneReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(readRetentionDays);
+        int pruned = 0;
+        List<Long> ids;
+        do {
+            ids = notificationRepository.findReadIdsBefore(cutoff, Pageable.ofSize(pruneBatchSize));
+            if (!ids.isEmpty()) {
+                notificationRepository.deleteAllByIdInBatch(ids);
+                pruned += ids.size();
+            }
+        } while (ids.size() == pruneBatchSize);
+        int contents = notificationContentRepository.deleteUnreferencedBefore(cutoff);
+        if (pruned > 0 || contents > 0) {
+            logger.info("Pruned {} read notifications and {} unused contents older than {} days",
+                pruned, contents, readRetentionDays);
+        }
+        return pruned;
+    }
+
+    private NotificationPage inbox(Long userId, boolean unreadOnly, String cursor, Integer limit) {
+        int size = Math.min(limit != null && limit > 0 ? limit : inboxDefaultSize, inboxMaxSize);
+        String view = unreadOnly ? "unread" : "all";
+        KeysetCursor.Position before = CURSOR.decode(cursor, view);
+        long beforeId = before != null ? before.id() : Long.MAX_VALUE;
+        List<NotificationDTO> items = notificationRepository.findInboxPage(userId, beforeId, unreadOnly,
+            Pageable.ofSize(KeysetCursor.fetchSize(size)));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            nextCursor = CURSOR.encode(view, items.get(size - 1).id());
+        }
+        return new NotificationPage(items, nextCursor);
+    }
+
+    private Long resolveUserId(String userEmail) {
+        return userDetailsService.findUserId(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
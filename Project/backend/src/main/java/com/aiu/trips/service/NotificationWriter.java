@@ -0,0 +1,81 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.model.NotificationContent;
+import com.aiu.trips.repository.NotificationContentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes notifications for many recipients without loading entities: the
+ * text is saved once as a NotificationContent row and every recipient gets a
+ * delivery row pointing to it, inserted as one JDBC batch or one
+ * INSERT ... SELECT. Used by the in-app channel and the background fan-out.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final String INSERT_FOR_USER =
+        "INSERT INTO notifications (user_id, content_id, is_read, created_at) VALUES (?, ?, FALSE, ?)";
+
+    private static final String INSERT_FOR_EMAIL =
+        "INSERT INTO notifications (user_id, content_id, is_read, created_at) " +
+        "SELECT id, ?, FALSE, ? FROM users WHERE email = ?";
+
+    private static final String INSERT_FOR_PARTICIPANTS =
+        "INSERT INTO notifications (user_id, content_id, is_read, created_at) " +
+        "SELECT participants.user_id, ?, FALSE, ? FROM (" +
+        "SELECT DISTINCT user_id FROM bookings WHERE event_id = ? AND status <> 'CANCELLED'" +
+        ") participants";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationContentRepository contentRepository;
+
+    public long saveContent(String message, String type) {
+        return contentRepository.save(new NotificationContent(message, type)).getId();
+    }
+
+    /**
+     * Store the text once and deliver it to the users with these emails;
+     * emails without an account are skipped
+     */
+    public void writeToEmails(List<String> emails, String message, String type) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        long contentId = saveContent(message, type);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_FOR_EMAIL, emails, emails.size(), (ps, email) -> {
+            ps.setLong(1, contentId);
+            ps.setTimestamp(2, createdAt);
+            ps.setString(3, email);
+        });
+    }
+
+    /**
+     * Deliver saved content to the users with these ids
+     */
+    public void writeToUsers(List<Long> userIds, long contentId, Timestamp createdAt) {
+        jdbcTemplate.batchUpdate(INSERT_FOR_USER, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, contentId);
+            ps.setTimestamp(3, createdAt);
+        });
+    }
+
+    /**
+     * Deliver saved content to everyone with a booking for the event that is
+     * not cancelled, once per user; returns the number of recipients
+     */
+    public int writeToEventParticipants(Long eventId, long contentId, Timestamp createdAt) {
+        // One statement: the recipients never leave the database
+        return jdbcTemplate.update(INSERT_FOR_PARTICIPANTS, contentId, createdAt, eventId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.exception.AuthenticationException;
+import com.aiu.trips.model.RefreshToken;
+import com.aiu.trips.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens.
+ *
+ * A login starts a token family. Each refresh exchanges the presented token
+ * for the next one in its family, so a client keeps a session alive with
+ * short-lived access tokens and no password check. A token presented a
+ * second time means it was copied, and the whole family is revoked.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh.expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    /**
+     * Start a new token family for the user and return its first token
+     */
+    @Transactional
+    public String issue(String userEmail) {
+        return issue(userEmail, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for the next one in its family
+     * @throws AuthenticationException if the token is unknown, expired or already used
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new AuthenticationException("Invalid refresh token");
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+            .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(stored.getExpiresAt())) {
+            throw new AuthenticationException("Refresh token expired");
+        }
+        if (refreshTokenRepository.claim(stored.getId(), now) == 0) {
+            refreshTokenRepository.deleteByFamily(stored.getFamilyId());
+            logger.warn("Refresh token reused for {}; session revoked", stored.getUserEmail());
+            throw new AuthenticationException("Refresh token already used; please log in again");
+        }
+
+        return new Rotation(stored.getUserEmail(), issue(stored.getUserEmail(), stored.getFamilyId()));
+    }
+
+    /**
+     * End the session the token belongs to. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (refreshToken == null) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+            .ifPresent(stored -> refreshTokenRepository.deleteByFamily(stored.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}",
+               initialDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    private String issue(String userEmail, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), familyId, userEmail,
+            LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs))));
+        return token;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Result of a refresh: whose session it is and the token to use next time
+     */
+    public record Rotation(String userEmail, String refreshToken) {}
+}
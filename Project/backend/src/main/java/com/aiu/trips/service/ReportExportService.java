@@ -1,6 +1,9 @@
 package com.aiu.trips.service;
 
 import com.aiu.trips.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -8,49 +11,102 @@ import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.StringWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
- * Service for exporting reports to PDF and CSV formats
+ * Service for exporting reports to PDF, CSV and JSON formats.
+ *
+ * Every format is written straight to an OutputStream. Row reports are consumed
+ * one row at a time from a Stream, so memory use does not depend on row count.
  */
 @Service
 public class ReportExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // Rows written between flushes of the output and of the PDF table
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Export report data to the specified format
      * @param reportData Map containing report data
-     * @param format Export format (PDF or CSV)
+     * @param format Export format (PDF, CSV or JSON)
      * @param reportTitle Title of the report
      * @return Byte array of the exported report
      */
     public byte[] exportReport(Map<String, Object> reportData, ExportFormat format, String reportTitle) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportReport(reportData, format, reportTitle, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Write report data in the specified format to the given stream
+     */
+    public void exportReport(Map<String, Object> reportData, ExportFormat format, String reportTitle, OutputStream out) {
+        Stream<Object[]> rows = reportData.entrySet().stream()
+                .map(entry -> new Object[]{formatKey(entry.getKey()), formatValue(entry.getValue())});
+
+        if (format == ExportFormat.PDF) {
+            writePdf(reportTitle, List.of("Metric", "Value"), new float[]{2, 3}, rows, out);
+        } else if (format == ExportFormat.CSV) {
+            writeCsv(reportTitle, List.of("Metric", "Value"), rows, out);
+        } else if (format == ExportFormat.JSON) {
+            writeJson(reportData, out);
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Write a row-level report in the specified format to the given stream.
+     * Rows are pulled from the stream one at a time and never collected.
+     */
+    public void exportRows(String reportTitle, List<String> columns, Stream<Object[]> rows,
+                           ExportFormat format, OutputStream out) {
         if (format == ExportFormat.PDF) {
-            return exportToPdf(reportData, reportTitle);
+            float[] columnWidths = new float[columns.size()];
+            Arrays.fill(columnWidths, 1);
+            writePdf(reportTitle, columns, columnWidths, rows.map(this::formatRow), out);
         } else if (format == ExportFormat.CSV) {
-            return exportToCsv(reportData, reportTitle);
+            writeCsv(reportTitle, columns, rows.map(this::formatRow), out);
         } else if (format == ExportFormat.JSON) {
-            return exportToJson(reportData);
+            writeJsonRows(reportTitle, columns, rows, out);
         } else {
             throw new IllegalArgumentException("Unsupported export format: " + format);
         }
     }
 
     /**
-     * Export report data to PDF format
+     * Write a report as a PDF table. The table is created as a large table and
+     * flushed to the document every few hundred rows.
      */
-    private byte[] exportToPdf(Map<String, Object> reportData, String reportTitle) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
+    private void writePdf(String reportTitle, List<String> columns, float[] columnWidths,
+                          Stream<Object[]> rows, OutputStream out) {
+        try {
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
@@ -70,22 +126,27 @@ public class ReportExportService {
             // Add space
             document.add(new Paragraph("\n"));
 
-            // Create table with 2 columns (Key, Value)
-            float[] columnWidths = {2, 3};
-            Table table = new Table(columnWidths);
-            table.setWidth(500);
+            Table table = new Table(UnitValue.createPercentArray(columnWidths), true);
+            table.setWidth(UnitValue.createPercentValue(100));
 
             // Add header row
-            table.addHeaderCell(new Cell().add(new Paragraph("Metric").setBold()));
-            table.addHeaderCell(new Cell().add(new Paragraph("Value").setBold()));
+            for (String column : columns) {
+                table.addHeaderCell(new Cell().add(new Paragraph(column).setBold()));
+            }
+            document.add(table);
 
             // Add data rows
-            reportData.forEach((key, value) -> {
-                table.addCell(new Cell().add(new Paragraph(formatKey(key))));
-                table.addCell(new Cell().add(new Paragraph(formatValue(value))));
-            });
-
-            document.add(table);
+            int written = 0;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                for (Object value : iterator.next()) {
+                    table.addCell(new Cell().add(new Paragraph(String.valueOf(value))));
+                }
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    table.flush();
+                }
+            }
+            table.complete();
 
             // Add footer
             document.add(new Paragraph("\n"));
@@ -95,70 +156,105 @@ public class ReportExportService {
             document.add(footer);
 
             document.close();
-            return baos.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error generating PDF report: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Export report data to CSV format
+     * Write a report as CSV with the title and timestamp as comments
      */
-    private byte[] exportToCsv(Map<String, Object> reportData, String reportTitle) {
-        try (StringWriter sw = new StringWriter();
-             CSVPrinter csvPrinter = new CSVPrinter(sw, CSVFormat.DEFAULT
-                     .withHeader("Metric", "Value"))) {
+    private void writeCsv(String reportTitle, List<String> columns, Stream<Object[]> rows, OutputStream out) {
+        try {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                    .setCommentMarker('#')
+                    .build());
 
             // Add title as a comment
             csvPrinter.printComment(reportTitle);
             csvPrinter.printComment("Generated: " + LocalDateTime.now().format(DATE_FORMATTER));
-            csvPrinter.println();
+            csvPrinter.printRecord(columns);
 
             // Add data rows
-            for (Map.Entry<String, Object> entry : reportData.entrySet()) {
-                csvPrinter.printRecord(formatKey(entry.getKey()), formatValue(entry.getValue()));
+            int written = 0;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                csvPrinter.printRecord(iterator.next());
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    csvPrinter.flush();
+                }
             }
 
             csvPrinter.flush();
-            return sw.toString().getBytes();
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new RuntimeException("Error generating CSV report: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Export report data to JSON format (simple implementation)
+     * Write metric report data as JSON
      */
-    private byte[] exportToJson(Map<String, Object> reportData) {
-        try {
-            StringBuilder json = new StringBuilder();
-            json.append("{\n");
-            json.append("  \"generatedAt\": \"").append(LocalDateTime.now().format(DATE_FORMATTER)).append("\",\n");
-            json.append("  \"data\": {\n");
-
-            int count = 0;
-            int total = reportData.size();
-            for (Map.Entry<String, Object> entry : reportData.entrySet()) {
-                json.append("    \"").append(entry.getKey()).append("\": ");
-                if (entry.getValue() instanceof String) {
-                    json.append("\"").append(entry.getValue()).append("\"");
-                } else {
-                    json.append(entry.getValue());
+    private void writeJson(Map<String, Object> reportData, OutputStream out) {
+        try (JsonGenerator json = createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("generatedAt", LocalDateTime.now().format(DATE_FORMATTER));
+            json.writeFieldName("data");
+            json.writeObject(reportData);
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException("Error generating JSON report: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write a row-level report as a JSON object with one object per row
+     */
+    private void writeJsonRows(String reportTitle, List<String> columns, Stream<Object[]> rows, OutputStream out) {
+        try (JsonGenerator json = createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("title", reportTitle);
+            json.writeStringField("generatedAt", LocalDateTime.now().format(DATE_FORMATTER));
+            json.writeArrayFieldStart("rows");
+
+            int written = 0;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                json.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    json.writeFieldName(columns.get(i));
+                    json.writeObject(row[i]);
                 }
-                if (++count < total) {
-                    json.append(",");
+                json.writeEndObject();
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    json.flush();
                 }
-                json.append("\n");
             }
 
-            json.append("  }\n");
-            json.append("}\n");
-            return json.toString().getBytes();
-        } catch (Exception e) {
+            json.writeEndArray();
+            json.writeNumberField("rowCount", written);
+            json.writeEndObject();
+        } catch (IOException e) {
             throw new RuntimeException("Error generating JSON report: " + e.getMessage(), e);
         }
     }
 
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // The caller owns the stream
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return json.useDefaultPrettyPrinter();
+    }
+
+    private Object[] formatRow(Object[] row) {
+        Object[] formatted = new Object[row.length];
+        for (int i = 0; i < row.length; i++) {
+            formatted[i] = formatValue(row[i]);
+        }
+        return formatted;
+    }
+
     /**
      * Format key for display (convert camelCase to Title Case)
      */
@@ -179,6 +275,9 @@ public class ReportExportService {
         if (value instanceof Double || value instanceof Float) {
             return String.format("%.2f", value);
         }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(DATE_FORMATTER);
+        }
         return value.toString();
     }
 }
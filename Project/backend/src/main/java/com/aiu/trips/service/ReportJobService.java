@@ -0,0 +1,286 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.ReportDTO;
+import com.aiu.trips.dto.ReportFilterDTO;
+import com.aiu.trips.dto.ReportPage;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.Report;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.ReportRepository;
+import com.aiu.trips.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous report generation.
+ *
+ * A request is stored as a Report row and rendered by a small worker pool into
+ * a file under report.storage.dir. Requests with the same type, filters and
+ * format within the dedupe TTL return the existing report instead of
+ * rendering it again, and downloads are served from the stored file.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_EXPIRED = "EXPIRED";
+
+    private static final List<String> REUSABLE_STATUSES = List.of(STATUS_QUEUED, STATUS_RUNNING, STATUS_COMPLETED);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${report.storage.dir:${java.io.tmpdir}/aiu-reports}")
+    private String storageDir;
+
+    @Value("${report.jobs.dedupe-ttl-minutes:15}")
+    private long dedupeTtlMinutes;
+
+    @Value("${report.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    private final ThreadPoolExecutor executor;
+
+    public ReportJobService(
+            @Value("${report.jobs.workers:2}") int workers,
+            @Value("${report.jobs.queue-capacity:20}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+            workers, workers,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "report-job");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Queue a report and return it immediately, or return the matching report
+     * requested within the dedupe TTL.
+     */
+    public synchronized ReportDTO submit(ReportType type, ReportFilterDTO filters, ExportFormat format,
+                                         String requestedBy) {
+        ReportFilterDTO filter = filters != null ? filters : new ReportFilterDTO();
+        String requestKey = requestKey(type, filter, format);
+
+        Report existing = reportRepository
+            .findFirstByRequestKeyAndStatusInAndGeneratedDateAfterOrderByGeneratedDateDesc(
+                requestKey, REUSABLE_STATUSES, LocalDateTime.now().minusMinutes(dedupeTtlMinutes))
+            .filter(report -> !STATUS_COMPLETED.equals(report.getStatus())
+                || Files.exists(Paths.get(report.getFilePath())))
+            .orElse(null);
+        if (existing != null) {
+            return toDTO(existing);
+        }
+
+        Long generatedBy = userRepository.findByEmail(requestedBy)
+            .map(User::getId)
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + requestedBy));
+
+        Report report = new Report(type, null, describe(type, filter), generatedBy, format);
+        report.setStatus(STATUS_QUEUED);
+        report.setRequestKey(requestKey);
+        report = reportRepository.save(report);
+
+        Long reportId = report.getReportId();
+        try {
+            executor.execute(() -> render(reportId, type, filter, format));
+        } catch (RejectedExecutionException e) {
+            reportRepository.delete(report);
+            throw new IllegalStateException("Report queue is full, try again later");
+        }
+        return toDTO(report);
+    }
+
+    public ReportDTO getReport(Long reportId) {
+        return toDTO(findReport(reportId));
+    }
+
+    /**
+     * Path of a completed report's stored artifact
+     */
+    public Path getReportFile(Long reportId) {
+        Report report = findReport(reportId);
+        if (!STATUS_COMPLETED.equals(report.getStatus())) {
+            throw new IllegalStateException("Report " + reportId + " is not ready: " + report.getStatus());
+        }
+        return Paths.get(report.getFilePath());
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void render(Long reportId, ReportType type, ReportFilterDTO filter, ExportFormat format) {
+        Report report = findReport(reportId);
+        report.setStatus(STATUS_RUNNING);
+        reportRepository.save(report);
+
+        Path file = Paths.get(storageDir, "report-" + reportId + "." + format.name().toLowerCase());
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                write(type, filter, format, out);
+            }
+            report.setFilePath(file.toString());
+            report.setSizeBytes(Files.size(file));
+            report.setStatus(STATUS_COMPLETED);
+        } catch (Exception e) {
+            logger.error("Report {} failed", reportId, e);
+            deleteQuietly(file);
+            report.setStatus(STATUS_FAILED);
+            report.setError(e.getMessage());
+        }
+        report.setCompletedDate(LocalDateTime.now());
+        reportRepository.save(report);
+    }
+
+    private void write(ReportType type, ReportFilterDTO filter, ExportFormat format, OutputStream out) {
+        String title = "AIU Trips & Events - " + describe(type, filter);
+        if (!ReportService.isDetailed(type)) {
+            ReportDTO generated = reportService.generateReport(type, filter, format);
+            reportExportService.exportReport(generated.getReportData(), format, title, out);
+            return;
+        }
+
+        // Walk every keyset page; only the current page is held in memory
+        ReportPage first = reportService.getDetailedReportPage(type, filter);
+        Stream<Object[]> rows = Stream.iterate(first, Objects::nonNull, page -> {
+                if (!page.hasMore()) {
+                    return null;
+                }
+                filter.setCursor(page.nextCursor());
+                return reportService.getDetailedReportPage(type, filter);
+            })
+            .flatMap(page -> page.rows().stream());
+        reportExportService.exportRows(title, first.columns(), rows, format, out);
+    }
+
+    /**
+     * Remove stored artifacts past the retention period
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-ms:3600000}",
+               initialDelayString = "${report.jobs.cleanup-interval-ms:3600000}")
+    public void expireReports() {
+        List<Report> expired = reportRepository.findByStatusAndCompletedDateBefore(
+            STATUS_COMPLETED, LocalDateTime.now().minusHours(retentionHours));
+        for (Report report : expired) {
+            deleteQuietly(Paths.get(report.getFilePath()));
+            report.setStatus(STATUS_EXPIRED);
+            report.setFilePath(null);
+        }
+        reportRepository.saveAll(expired);
+        if (!expired.isEmpty()) {
+            logger.info("Expired {} stored reports", expired.size());
+        }
+    }
+
+    /**
+     * Jobs that were queued or running when the application stopped will never finish
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedReports() {
+        List<Report> interrupted = reportRepository.findByStatusIn(List.of(STATUS_QUEUED, STATUS_RUNNING));
+        for (Report report : interrupted) {
+            report.setStatus(STATUS_FAILED);
+            report.setError("Interrupted by application restart");
+        }
+        reportRepository.saveAll(interrupted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Report findReport(Long reportId) {
+        return reportRepository.findById(reportId)
+            .orElseThrow(() -> new ResourceNotFoundException("Report not found: " + reportId));
+    }
+
+    private String describe(ReportType type, ReportFilterDTO filter) {
+        StringBuilder description = new StringBuilder(type.name());
+        if (filter.getEventId() != null) {
+            description.append(" event=").append(filter.getEventId());
+        }
+        if (filter.getStartDate() != null || filter.getEndDate() != null) {
+            description.append(" from=").append(filter.getStartDate()).append(" to=").append(filter.getEndDate());
+        }
+        return description.toString();
+    }
+
+    private String requestKey(ReportType type, ReportFilterDTO filter, ExportFormat format) {
+        String raw = String.join("|", type.name(), format.name(), filter.getStartDate(), filter.getEndDate(),
+            String.valueOf(filter.getEventId()), filter.getCategory(), filter.getCursor(),
+            String.valueOf(filter.getLimit()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ReportDTO toDTO(Report report) {
+        ReportDTO dto = new ReportDTO();
+        dto.setReportId(report.getReportId());
+        dto.setReportType(report.getType());
+        dto.setFormat(report.getFormat());
+        dto.setStatus(report.getStatus());
+        dto.setDescription(report.getDescription());
+        dto.setError(report.getError());
+        dto.setGeneratedAt(report.getGeneratedDate());
+        return dto;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,32 +1,72 @@
 package com.aiu.trips.service;
 
+import com.aiu.trips.dto.BookingAggregate;
+import com.aiu.trips.dto.BookingExportRow;
+import com.aiu.trips.dto.EventAggregate;
 import com.aiu.trips.dto.FeedbackDTO;
+import com.aiu.trips.dto.FeedbackExportRow;
 import com.aiu.trips.dto.ReportDTO;
 import com.aiu.trips.dto.ReportFilterDTO;
+import com.aiu.trips.dto.ReportPage;
 import com.aiu.trips.dto.SystemStatisticsDTO;
+import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.enums.ExportFormat;
 import com.aiu.trips.enums.ReportType;
-import com.aiu.trips.model.Booking;
+import com.aiu.trips.exception.ResourceNotFoundException;
 import com.aiu.trips.model.Event;
+import com.aiu.trips.model.Report;
 import com.aiu.trips.repository.BookingRepository;
 import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.FeedbackRepository;
+import com.aiu.trips.repository.ReportAggregateRepository;
+import com.aiu.trips.repository.ReportRepository;
 import com.aiu.trips.service.interfaces.IReportsAnalytics;
+import com.aiu.trips.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class ReportService implements IReportsAnalytics {
 
+    private static final KeysetCursor CURSOR = new KeysetCursor("r2", "report");
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ReportAggregateRepository reportAggregateRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Value("${report.page.default-size:500}")
+    private int defaultPageSize;
+
+    @Value("${report.page.max-size:5000}")
+    private int maxPageSize;
+
     @Autowired
     private ReportExportService reportExportService;
 
@@ -34,7 +74,17 @@ public class ReportService implements IReportsAnalytics {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        List<Booking> bookings = bookingRepository.findByEvent_Id(eventId);
+        long totalParticipants = 0;
+        long cancelledBookings = 0;
+        double totalIncome = 0;
+        for (BookingRepository.StatusTotals row : bookingRepository.sumByStatusForEvent(eventId)) {
+            totalParticipants += row.getBookings();
+            if (BookingStatus.CANCELLED.equals(row.getStatus())) {
+                cancelledBookings += row.getBookings();
+            } else if (row.getAmount() != null) {
+                totalIncome += row.getAmount();
+            }
+        }
 
         Map<String, Object> report = new HashMap<>();
         report.put("eventId", event.getId());
@@ -42,35 +92,23 @@ public class ReportService implements IReportsAnalytics {
         report.put("totalCapacity", event.getCapacity());
         report.put("availableSeats", event.getAvailableSeats());
         report.put("bookedSeats", event.getCapacity() - event.getAvailableSeats());
-        report.put("totalParticipants", bookings.size());
-        report.put("totalIncome", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
-        report.put("cancelledBookings", bookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .count());
+        report.put("totalParticipants", totalParticipants);
+        report.put("totalIncome", totalIncome);
+        report.put("cancelledBookings", cancelledBookings);
 
         return report;
     }
 
     public Map<String, Object> getOverallReport() {
-        List<Event> events = eventRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
+        EventAggregate events = reportAggregateRepository.getEventAggregate();
+        BookingAggregate bookings = reportAggregateRepository.getBookingAggregate();
 
         Map<String, Object> report = new HashMap<>();
-        report.put("totalEvents", events.size());
-        report.put("totalBookings", bookings.size());
-        report.put("totalIncome", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
-        report.put("activeEvents", events.stream()
-                .filter(e -> "ACTIVE".equals(e.getStatus()))
-                .count());
-        report.put("completedEvents", events.stream()
-                .filter(e -> "COMPLETED".equals(e.getStatus()))
-                .count());
+        report.put("totalEvents", events.totalEvents());
+        report.put("totalBookings", bookings.totalBookings());
+        report.put("totalIncome", bookings.revenue());
+        report.put("activeEvents", events.activeEvents());
+        report.put("completedEvents", events.completedEvents());
 
         return report;
     }
@@ -82,7 +120,10 @@ public class ReportService implements IReportsAnalytics {
         String reportTitle;
 
         // Generate report based on type
-        if (reportType == ReportType.REVENUE) {
+        if (isDetailed(reportType)) {
+            reportData = toReportData(getDetailedReportPage(reportType, filters));
+            reportTitle = reportType + " Report";
+        } else if (reportType == ReportType.REVENUE) {
             reportData = getRevenueReport();
             reportTitle = "Revenue Report";
         } else if (reportType == ReportType.PARTICIPANTS) {
@@ -109,14 +150,103 @@ public class ReportService implements IReportsAnalytics {
         return reportDTO;
     }
 
+    public static boolean isDetailed(ReportType reportType) {
+        return reportType == ReportType.BOOKING_DETAILS
+                || reportType == ReportType.EVENT_ATTENDEES
+                || reportType == ReportType.FEEDBACK_DETAILS;
+    }
+
+    /**
+     * Read one keyset page of a row-level report. Pass the returned cursor back
+     * in the filters to read the next page.
+     */
+    public ReportPage getDetailedReportPage(ReportType reportType, ReportFilterDTO filters) {
+        ReportFilterDTO filter = filters != null ? filters : new ReportFilterDTO();
+        // Fingerprint the dates the query actually uses: an open end means today,
+        // so a cursor kept past midnight is refused instead of reading another window
+        LocalDate start = filter.getStartDate() != null ? LocalDate.parse(filter.getStartDate()) : LocalDate.of(1970, 1, 1);
+        LocalDate end = filter.getEndDate() != null ? LocalDate.parse(filter.getEndDate()) : LocalDate.now();
+        String filterKey = start + "|" + end + "|" + filter.getEventId();
+        KeysetCursor.Position after = CURSOR.decode(filter.getCursor(), reportType + "|" + filterKey);
+        long afterId = after != null ? after.id() : 0;
+        int limit = Math.min(filter.getLimit() != null && filter.getLimit() > 0 ? filter.getLimit() : defaultPageSize,
+                maxPageSize);
+        Limit fetch = Limit.of(KeysetCursor.fetchSize(limit));
+
+        List<String> columns;
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        if (reportType == ReportType.BOOKING_DETAILS) {
+            columns = BookingExportRow.COLUMNS;
+            for (BookingExportRow row : bookingRepository.findExportRowsAfter(
+                    start.atStartOfDay(), end.plusDays(1).atStartOfDay(), afterId, fetch)) {
+                rows.add(row.toArray());
+                ids.add(row.bookingId());
+            }
+        } else if (reportType == ReportType.EVENT_ATTENDEES) {
+            if (filter.getEventId() == null) {
+                throw new IllegalArgumentException("eventId is required for " + reportType);
+            }
+            columns = BookingExportRow.COLUMNS;
+            for (BookingExportRow row : bookingRepository.findAttendeeRowsAfter(filter.getEventId(), afterId, fetch)) {
+                rows.add(row.toArray());
+                ids.add(row.bookingId());
+            }
+        } else if (reportType == ReportType.FEEDBACK_DETAILS) {
+            columns = FeedbackExportRow.COLUMNS;
+            for (FeedbackExportRow row : feedbackRepository.findExportRowsAfter(filter.getEventId(), afterId, fetch)) {
+                rows.add(row.toArray());
+                ids.add(row.feedbackId());
+            }
+        } else {
+            throw new IllegalArgumentException("Not a row-level report: " + reportType);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = CURSOR.encode(reportType + "|" + filterKey, ids.get(limit - 1));
+        }
+        return new ReportPage(columns, rows, nextCursor);
+    }
+
+    private Map<String, Object> toReportData(ReportPage page) {
+        List<Map<String, Object>> rows = new ArrayList<>(page.rows().size());
+        for (Object[] row : page.rows()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < page.columns().size(); i++) {
+                values.put(page.columns().get(i), row[i]);
+            }
+            rows.add(values);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("columns", page.columns());
+        report.put("rows", rows);
+        report.put("rowCount", rows.size());
+        report.put("hasMore", page.hasMore());
+        report.put("nextCursor", page.nextCursor());
+        return report;
+    }
+
+    /**
+     * Return the stored artifact of a report generated by ReportJobService
+     */
     @Override
     public byte[] exportReport(Long reportId, ExportFormat format) {
-        // For now, generate and export overall report
-        // In a full implementation, you would store reports and retrieve by ID
-        Map<String, Object> reportData = getOverallReport();
-        String reportTitle = "AIU Trips & Events - Overall Report";
-        
-        return reportExportService.exportReport(reportData, format, reportTitle);
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found: " + reportId));
+        if (!ReportJobService.STATUS_COMPLETED.equals(report.getStatus())) {
+            throw new IllegalStateException("Report " + reportId + " is not ready: " + report.getStatus());
+        }
+        if (format != null && format != report.getFormat()) {
+            throw new IllegalArgumentException("Report " + reportId + " was generated as " + report.getFormat());
+        }
+        try {
+            return Files.readAllBytes(Paths.get(report.getFilePath()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored report " + reportId + " could not be read", e);
+        }
     }
 
     /**
@@ -126,98 +256,68 @@ public class ReportService implements IReportsAnalytics {
         return reportExportService.exportReport(reportData, format, reportTitle);
     }
 
+    /**
+     * Write a specific report in the given format to the output stream
+     */
+    public void exportReportData(Map<String, Object> reportData, ExportFormat format, String reportTitle,
+                                 OutputStream out) {
+        reportExportService.exportReport(reportData, format, reportTitle, out);
+    }
+
+    /**
+     * Write every booking made in [from, to) to the output stream. Rows are read
+     * through a database cursor and written as they arrive, so the export runs
+     * in constant memory whatever the number of bookings.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) {
+        String title = "Bookings " + from.toLocalDate() + " to " + to.toLocalDate();
+        try (Stream<BookingExportRow> rows = bookingRepository.streamExportRows(from, to)) {
+            reportExportService.exportRows(title, BookingExportRow.COLUMNS, rows.map(BookingExportRow::toArray),
+                    format, out);
+        }
+    }
+
     @Override
     public SystemStatisticsDTO getStatistics() {
         SystemStatisticsDTO stats = new SystemStatisticsDTO();
-        
-        List<Event> events = eventRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
-
-        stats.setTotalEvents(events.size());
-        stats.setTotalBookings((long) bookings.size());
-        stats.setActiveEvents(events.stream()
-                .filter(e -> "ACTIVE".equals(e.getStatus()))
-                .count());
-        stats.setTotalRevenue(bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
-        stats.setAverageAttendance(calculateAverageAttendance());
+
+        EventAggregate events = reportAggregateRepository.getEventAggregate();
+        BookingAggregate bookings = reportAggregateRepository.getBookingAggregate();
+
+        stats.setTotalEvents((int) events.totalEvents());
+        stats.setTotalBookings(bookings.totalBookings());
+        stats.setActiveEvents(events.activeEvents());
+        stats.setTotalRevenue(bookings.revenue());
+        stats.setAverageAttendance(events.averageAttendance());
 
         return stats;
     }
 
     private Map<String, Object> getRevenueReport() {
-        List<Booking> bookings = bookingRepository.findAll();
+        BookingAggregate bookings = reportAggregateRepository.getBookingAggregate();
         Map<String, Object> report = new HashMap<>();
-        
-        double totalRevenue = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum();
-        
-        double averageBookingValue = bookings.isEmpty() ? 0 : 
-                totalRevenue / bookings.stream()
-                        .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                        .count();
-
-        report.put("totalRevenue", totalRevenue);
-        report.put("totalBookings", bookings.size());
-        report.put("confirmedBookings", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .count());
-        report.put("averageBookingValue", averageBookingValue);
-        report.put("cancelledRevenueLoss", bookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
+
+        report.put("totalRevenue", bookings.revenue());
+        report.put("totalBookings", bookings.totalBookings());
+        report.put("confirmedBookings", bookings.paidBookings());
+        report.put("averageBookingValue", bookings.averageBookingValue());
+        report.put("cancelledRevenueLoss", bookings.cancelledAmount());
 
         return report;
     }
 
     private Map<String, Object> getAttendanceReport() {
-        List<Event> events = eventRepository.findAll();
+        EventAggregate events = reportAggregateRepository.getEventAggregate();
         Map<String, Object> report = new HashMap<>();
-        
-        long totalCapacity = events.stream()
-                .mapToLong(e -> e.getCapacity() != null ? e.getCapacity() : 0)
-                .sum();
-        
-        long totalBooked = events.stream()
-                .mapToLong(e -> {
-                    int available = e.getAvailableSeats() != null ? e.getAvailableSeats() : 0;
-                    int capacity = e.getCapacity() != null ? e.getCapacity() : 0;
-                    return capacity - available;
-                })
-                .sum();
-
-        double utilizationRate = totalCapacity > 0 ? 
-                (double) totalBooked / totalCapacity * 100 : 0;
-
-        report.put("totalCapacity", totalCapacity);
-        report.put("totalBooked", totalBooked);
-        report.put("utilizationRate", utilizationRate);
-        report.put("averageAttendance", calculateAverageAttendance());
-        report.put("totalEvents", events.size());
 
-        return report;
-    }
+        report.put("totalCapacity", events.totalCapacity());
+        report.put("totalBooked", events.bookedSeats());
+        report.put("utilizationRate", events.utilizationRate());
+        report.put("averageAttendance", events.averageAttendance());
+        report.put("totalEvents", events.totalEvents());
 
-    private double calculateAverageAttendance() {
-        List<Event> events = eventRepository.findAll();
-        if (events.isEmpty()) {
-            return 0;
-        }
-
-        long totalBooked = events.stream()
-                .mapToLong(e -> {
-                    int available = e.getAvailableSeats() != null ? e.getAvailableSeats() : 0;
-                    int capacity = e.getCapacity() != null ? e.getCapacity() : 0;
-                    return capacity - available;
-                })
-                .sum();
-
-        return (double) totalBooked / events.size();
+        return report;
     }
 
     @Override
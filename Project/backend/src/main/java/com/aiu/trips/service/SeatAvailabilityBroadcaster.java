@@ -0,0 +1,254 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.SeatUpdate;
+import com.aiu.trips.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes seat counts to Server-Sent Events subscribers.
+ *
+ * Seat changes only record the latest count per event. Every flush interval
+ * the changed counts are copied into the pending map of each subscriber of
+ * that event, and each subscriber with pending counts gets one message on
+ * the sender pool. A subscriber therefore gets at most one message per flush,
+ * its buffer never holds more than one count per subscribed event, and a slow
+ * client only delays itself: while its last message is still being written,
+ * newer counts replace the pending ones.
+ *
+ * Idle subscribers hold no thread; the servlet container keeps the
+ * connection open in async mode. The stream is open to anonymous clients, so
+ * slots are reserved before a subscriber is registered, both in total and per
+ * client address.
+ */
+@Component
+public class SeatAvailabilityBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatAvailabilityBroadcaster.class);
+
+    private final long timeoutMs;
+
+    private final int maxSubscribersPerClient;
+
+    private final int maxEventsPerSubscriber;
+
+    private final Semaphore slots;
+
+    private final Map<String, Integer> subscribersByClient = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Set<Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * Latest count per event since the last flush
+     */
+    private final Map<Long, Integer> changed = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribers whose message the sender pool had no room for
+     */
+    private final Set<Subscriber> waiting = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor sender;
+
+    public SeatAvailabilityBroadcaster(
+            @Value("${events.seat-stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${events.seat-stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${events.seat-stream.max-subscribers-per-client:20}") int maxSubscribersPerClient,
+            @Value("${events.seat-stream.max-events-per-subscriber:100}") int maxEventsPerSubscriber,
+            @Value("${events.seat-stream.sender-threads:4}") int senderThreads,
+            @Value("${events.seat-stream.sender-queue-capacity:10000}") int senderQueueCapacity) {
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribersPerClient = maxSubscribersPerClient;
+        this.slots = new Semaphore(maxSubscribers);
+        this.maxEventsPerSubscriber = maxEventsPerSubscriber;
+        this.sender = new ThreadPoolExecutor(
+            senderThreads, senderThreads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(senderQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "seat-stream");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Open a stream for the given events on behalf of the client address.
+     * The initial counts are sent as the first message.
+     */
+    public SseEmitter subscribe(Collection<Long> eventIds, Map<Long, Integer> initialSeats, String clientAddress) {
+        if (eventIds.isEmpty() || eventIds.size() > maxEventsPerSubscriber) {
+            throw new IllegalArgumentException(
+                "Subscribe to between 1 and " + maxEventsPerSubscriber + " events");
+        }
+        if (!slots.tryAcquire()) {
+            throw new ServiceBusyException("Too many seat availability subscribers, try again later");
+        }
+        if (!reserveClientSlot(clientAddress)) {
+            slots.release();
+            throw new ServiceBusyException("Too many seat availability streams from this client");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), Set.copyOf(eventIds), clientAddress);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        for (Long eventId : subscriber.eventIds) {
+            subscribersByEvent.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriber.pending.putAll(initialSeats);
+        dispatch(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Record the committed seat count of an event; subscribers get it on the next flush
+     */
+    public void seatsChanged(Long eventId, int availableSeats) {
+        if (subscribersByEvent.containsKey(eventId)) {
+            changed.put(eventId, availableSeats);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.seat-stream.flush-interval-ms:250}",
+               initialDelayString = "${events.seat-stream.flush-interval-ms:250}")
+    public void flush() {
+        Set<Subscriber> touched = new HashSet<>(waiting);
+        waiting.removeAll(touched);
+        for (Long eventId : List.copyOf(changed.keySet())) {
+            Integer seats = changed.remove(eventId);
+            Set<Subscriber> eventSubscribers = subscribersByEvent.get(eventId);
+            if (seats == null || eventSubscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : eventSubscribers) {
+                subscriber.pending.put(eventId, seats);
+                touched.add(subscriber);
+            }
+        }
+        touched.forEach(this::dispatch);
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds clients that have gone away
+     */
+    @Scheduled(fixedDelayString = "${events.seat-stream.heartbeat-interval-ms:30000}",
+               initialDelayString = "${events.seat-stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            dispatch(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void dispatch(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> send(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.sending.set(false);
+            waiting.add(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            List<SeatUpdate> updates = new ArrayList<>();
+            for (Long eventId : subscriber.eventIds) {
+                Integer seats = subscriber.pending.remove(eventId);
+                if (seats != null) {
+                    updates.add(new SeatUpdate(eventId, seats));
+                }
+            }
+            if (!updates.isEmpty()) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().name("seats").data(updates, MediaType.APPLICATION_JSON));
+            } else if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The container reports the broken connection through the emitter callbacks as well
+            logger.debug("Seat availability subscriber went away: {}", e.getMessage());
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Counts that arrived while this message was being written
+        if (!subscriber.pending.isEmpty()) {
+            dispatch(subscriber);
+        }
+    }
+
+    private boolean reserveClientSlot(String clientAddress) {
+        boolean[] reserved = new boolean[1];
+        subscribersByClient.compute(clientAddress, (address, count) -> {
+            int current = count != null ? count : 0;
+            reserved[0] = current < maxSubscribersPerClient;
+            return reserved[0] ? current + 1 : count;
+        });
+        return reserved[0];
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        slots.release();
+        subscribersByClient.computeIfPresent(subscriber.clientAddress,
+            (address, count) -> count == 1 ? null : count - 1);
+        waiting.remove(subscriber);
+        for (Long eventId : subscriber.eventIds) {
+            subscribersByEvent.computeIfPresent(eventId, (id, eventSubscribers) -> {
+                eventSubscribers.remove(subscriber);
+                return eventSubscribers.isEmpty() ? null : eventSubscribers;
+            });
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> eventIds;
+        final String clientAddress;
+        final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<Long> eventIds, String clientAddress) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+            this.clientAddress = clientAddress;
+        }
+    }
+}
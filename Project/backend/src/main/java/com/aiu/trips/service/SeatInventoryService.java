@@ -0,0 +1,171 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.exception.BookingException;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.SeatHold;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.SeatHoldRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seat inventory for events.
+ *
+ * Every change to Event.availableSeats goes through a single guarded UPDATE,
+ * so concurrent bookers can never take more seats than exist and no code path
+ * has to read-modify-write the whole Event row. Once the change commits, the
+ * new count is handed to the catalog cache instead of dropping the catalog,
+ * and to the seat availability stream.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster seatBroadcaster;
+
+    @Value("${booking.seat-hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    @Value("${booking.seat-hold.max-per-user:5}")
+    private int maxHoldsPerUser;
+
+    /**
+     * Take one seat from the event, failing if the event is sold out.
+     * Must run inside the caller's transaction so the seat is returned on rollback.
+     */
+    @Transactional
+    public void reserve(Long eventId) {
+        if (eventRepository.decrementAvailableSeats(eventId, 1) == 0) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId);
+            }
+            throw new BookingException(AppConstants.NO_SEATS_AVAILABLE);
+        }
+        publishSeats(eventId);
+    }
+
+    /**
+     * Return one seat to the event.
+     */
+    @Transactional
+    public void release(Long eventId) {
+        if (eventRepository.incrementAvailableSeats(eventId, 1) == 0) {
+            logger.warn("Seat release for event {} ignored, inventory already at capacity", eventId);
+            return;
+        }
+        publishSeats(eventId);
+    }
+
+    /**
+     * Take one seat and keep it aside for the user until the hold expires.
+     * A user can only have a few open holds, so one account cannot empty an event.
+     */
+    @Transactional
+    public SeatHold hold(Event event, User user) {
+        if (seatHoldRepository.countByUser_IdAndExpiresAtAfter(user.getId(), LocalDateTime.now()) >= maxHoldsPerUser) {
+            throw new BookingException(AppConstants.TOO_MANY_SEAT_HOLDS);
+        }
+        reserve(event.getId());
+        SeatHold hold = new SeatHold(
+            UUID.randomUUID().toString(),
+            event,
+            user,
+            LocalDateTime.now().plusSeconds(holdTtlSeconds)
+        );
+        return seatHoldRepository.save(hold);
+    }
+
+    /**
+     * Consume a hold. The seat stays taken and now belongs to the caller's booking.
+     */
+    @Transactional
+    public SeatHold confirm(String holdCode, Long userId) {
+        SeatHold hold = seatHoldRepository.findByHoldCode(holdCode)
+            .orElseThrow(() -> new BookingException(AppConstants.SEAT_HOLD_NOT_FOUND + holdCode));
+
+        if (!hold.getUser().getId().equals(userId)) {
+            throw new BookingException("Unauthorized to confirm this seat hold");
+        }
+        if (hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BookingException(AppConstants.SEAT_HOLD_EXPIRED);
+        }
+        if (seatHoldRepository.deleteClaimed(hold.getId()) == 0) {
+            throw new BookingException(AppConstants.SEAT_HOLD_NOT_FOUND + holdCode);
+        }
+        return hold;
+    }
+
+    /**
+     * Give up a hold and return its seat to the event.
+     */
+    @Transactional
+    public void releaseHold(SeatHold hold) {
+        if (seatHoldRepository.deleteClaimed(hold.getId()) == 1) {
+            release(hold.getEvent().getId());
+        }
+    }
+
+    /**
+     * Return the seats of holds that were never confirmed.
+     */
+    @Scheduled(fixedDelayString = "${booking.seat-hold.sweep-interval-ms:30000}")
+    @Transactional
+    public void releaseExpiredHolds() {
+        List<SeatHold> expired = seatHoldRepository.findByExpiresAtBefore(LocalDateTime.now());
+        expired.forEach(this::releaseHold);
+        if (!expired.isEmpty()) {
+            logger.info("Released {} expired seat holds", expired.size());
+        }
+    }
+
+    /**
+     * Hand the committed seat count to the catalog cache and the seat stream. The count is read
+     * after commit, so whichever booking reads last reports the final count.
+     */
+    private void publishSeats(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshSeats(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshSeats(eventId);
+            }
+        });
+    }
+
+    private void refreshSeats(Long eventId) {
+        long sequence = catalogCache.nextSequence();
+        eventRepository.findAvailableSeats(eventId)
+            .ifPresent(seats -> {
+                catalogCache.seatsChanged(eventId, sequence, seats);
+                seatBroadcaster.seatsChanged(eventId, seats);
+            });
+    }
+}
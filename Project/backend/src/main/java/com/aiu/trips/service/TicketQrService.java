@@ -0,0 +1,93 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.util.ByteSizeLruCache;
+import com.aiu.trips.util.QRCodeGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Renders ticket QR codes on demand.
+ *
+ * Bookings only store the short QR payload. The PNG is produced the first time
+ * a ticket is fetched and kept in a byte-bounded LRU cache, so the booking
+ * transaction never pays for image encoding and repeated fetches are free.
+ */
+@Service
+public class TicketQrService {
+
+    private static final String PAYLOAD_PREFIX = "BOOKING:";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private QRCodeGenerator qrCodeGenerator;
+
+    private final ByteSizeLruCache<String> cache;
+
+    public TicketQrService(@Value("${ticket.qr-cache.max-bytes:16777216}") long maxCacheBytes) {
+        this.cache = new ByteSizeLruCache<>(maxCacheBytes);
+    }
+
+    /**
+     * Build the payload encoded in a booking's QR code.
+     */
+    public static String buildPayload(String bookingCode, Long eventId) {
+        return PAYLOAD_PREFIX + bookingCode + "|EVENT:" + eventId;
+    }
+
+    /**
+     * Return the QR image for a booking, rendering it on first use.
+     */
+    public byte[] getQrPng(String bookingCode) {
+        byte[] png = cache.get(bookingCode);
+        if (png != null) {
+            return png;
+        }
+
+        String stored = bookingRepository.findQrPayloadByBookingCode(bookingCode)
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.BOOKING_NOT_FOUND + bookingCode));
+        png = render(stored);
+        cache.put(bookingCode, png);
+        return png;
+    }
+
+    /**
+     * Whether the booking exists; a cached image answers without a query.
+     */
+    public boolean exists(String bookingCode) {
+        return cache.get(bookingCode) != null || bookingRepository.existsByBookingCode(bookingCode);
+    }
+
+    /**
+     * Strong validator for a booking's QR image. The payload never changes once
+     * the booking is created, so the booking code identifies the image.
+     */
+    public String getETag(String bookingCode) {
+        return "\"" + DigestUtils.md5DigestAsHex(bookingCode.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public long getCacheSizeInBytes() {
+        return cache.sizeInBytes();
+    }
+
+    private byte[] render(String stored) {
+        // Bookings created before deferred rendering stored the Base64 PNG itself
+        if (!stored.startsWith(PAYLOAD_PREFIX)) {
+            return Base64.getDecoder().decode(stored);
+        }
+        try {
+            return qrCodeGenerator.generateQRCodePng(stored);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to generate QR code: " + e.getMessage(), e);
+        }
+    }
+}
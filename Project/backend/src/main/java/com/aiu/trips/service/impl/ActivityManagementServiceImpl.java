@@ -5,10 +5,13 @@ import com.aiu.trips.builder.EventBuilder;
 import com.aiu.trips.builder.IActivityBuilder;
 import com.aiu.trips.builder.TripBuilder;
 import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.enums.ActivityStatus;
 import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.model.Event;
 import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.service.EventCatalogCache;
+import com.aiu.trips.service.EventReminderService;
 import com.aiu.trips.service.EventService;
 import com.aiu.trips.service.interfaces.IActivityManagement;
 import com.aiu.trips.state.ActivityLifecycle;
@@ -43,6 +46,12 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @Autowired
+    private EventReminderService eventReminderService;
+
     @Override
     @Transactional
     public ActivityDTO createActivity(ActivityDTO data, ActivityType type) {
@@ -67,6 +76,7 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
 
         updateEntityFromDTO(entity, data);
         entity = eventRepository.save(entity);
+        eventReminderService.eventChanged(id);
         return convertToDTO(entity);
     }
 
@@ -78,13 +88,14 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
 
         entity.setStatus(com.aiu.trips.enums.EventStatus.CANCELLED);
         eventRepository.save(entity);
+        eventReminderService.eventChanged(id);
     }
 
     @Override
-    public List<ActivityDTO> getAllActivities() {
-        return eventRepository.findAll().stream()
+    public CatalogView<List<ActivityDTO>> getAllActivities() {
+        return catalogCache.get("all", () -> eventRepository.findAll().stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -131,8 +142,19 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
         return dto;
     }
 
+    /**
+     * Events starting after the listing was loaded; an event that has since
+     * started stays listed until the catalog cache entry expires.
+     */
+    @Override
+    public CatalogView<List<ActivityDTO>> getUpcomingEvents() {
+        return catalogCache.get("upcoming", () -> eventService.getUpcomingEvents().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+
     @Override
-    public List<Event> getUpcomingEvents() {
-        return eventService.getUpcomingEvents();
+    public Event getEventById(Long id) {
+        return eventService.getEventById(id);
     }
 }
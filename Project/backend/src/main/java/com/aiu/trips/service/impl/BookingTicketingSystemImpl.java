@@ -2,26 +2,49 @@ package com.aiu.trips.service.impl;
 
 import com.aiu.trips.decorator.*;
 import com.aiu.trips.dto.*;
+import com.aiu.trips.enums.ActivityStatus;
+import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
 import com.aiu.trips.model.Booking;
 import com.aiu.trips.model.Event;
+import com.aiu.trips.model.SeatHold;
 import com.aiu.trips.repository.*;
+import com.aiu.trips.service.AnalyticsAggregateService;
 import com.aiu.trips.service.BookingService;
+import com.aiu.trips.service.EventCatalogCache;
+import com.aiu.trips.service.EventReminderService;
+import com.aiu.trips.service.SeatAvailabilityBroadcaster;
+import com.aiu.trips.service.SeatInventoryService;
+import com.aiu.trips.service.TicketQrService;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import com.aiu.trips.strategy.*;
+import com.aiu.trips.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
 
+    private static final KeysetCursor CURSOR = new KeysetCursor("e2", "event catalog");
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -41,26 +64,126 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private AnalyticsAggregateService analyticsAggregateService;
+
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster seatBroadcaster;
+
+    @Autowired
+    private EventReminderService eventReminderService;
+
+    @Value("${events.browse.default-size:50}")
+    private int browseDefaultSize;
+
+    @Value("${events.browse.max-size:200}")
+    private int browseMaxSize;
+
+    /**
+     * One keyset page of the catalog, filtered and sorted in the database and
+     * served from the catalog cache until an event changes.
+     * Pass the returned cursor back in the filters to read the next page.
+     */
     @Override
-    public List<ActivityDTO> browseEvents(EventFilterDTO filters) {
-        return eventRepository.findAll().stream()
-                .map(this::convertToActivityDTO)
-                .collect(Collectors.toList());
+    public CatalogView<EventPage> browseEvents(EventFilterDTO filters) {
+        EventFilterDTO filter = filters != null ? filters : new EventFilterDTO();
+        String sort = filter.getSort() != null && !filter.getSort().isBlank() ? filter.getSort() : "startDate";
+        boolean descending = sort.startsWith("-");
+        String sortField = descending ? sort.substring(1) : sort;
+        if (!"startDate".equals(sortField) && !"price".equals(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        int limit = Math.min(filter.getLimit() != null && filter.getLimit() > 0 ? filter.getLimit() : browseDefaultSize,
+                browseMaxSize);
+
+        String filterKey = String.join("|", String.valueOf(filter.getType()), String.valueOf(filter.getStatus()),
+                filter.getStartDate(), filter.getEndDate(), String.valueOf(filter.getMinPrice()),
+                String.valueOf(filter.getMaxPrice()), filter.getQuery(), filter.getLocation());
+        KeysetCursor.Position after = CURSOR.decode(filter.getCursor(), sort + "|" + filterKey);
+        String cacheKey = String.join("|", "browse", sort, String.valueOf(limit), filterKey,
+                after != null ? after.sortValue() + "|" + after.id() : "");
+
+        CatalogView<List<ActivityDTO>> rows = catalogCache.get(cacheKey,
+                () -> findEvents(filter, sortField, descending, after, KeysetCursor.fetchSize(limit)).stream()
+                        .map(this::convertToActivityDTO)
+                        .collect(Collectors.toList()));
+
+        List<ActivityDTO> items = rows.body();
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            ActivityDTO last = items.get(limit - 1);
+            String lastValue = "price".equals(sortField)
+                    ? String.valueOf(last.getPrice().doubleValue())
+                    : last.getActivityDate().toString();
+            nextCursor = CURSOR.encode(sort + "|" + filterKey, lastValue, last.getActivityId());
+        }
+        return new CatalogView<>(new EventPage(items, nextCursor), rows.etag());
+    }
+
+    /**
+     * Stream of seat counts for the given events, starting with their current counts
+     */
+    @Override
+    public SseEmitter subscribeSeatUpdates(List<Long> eventIds, String clientAddress) {
+        Map<Long, Integer> initialSeats = new HashMap<>();
+        eventRepository.findAllById(new HashSet<>(eventIds)).stream()
+                .filter(event -> event.getAvailableSeats() != null)
+                .forEach(event -> initialSeats.put(event.getId(), event.getAvailableSeats()));
+        return seatBroadcaster.subscribe(new HashSet<>(eventIds), initialSeats, clientAddress);
+    }
+
+    private List<Event> findEvents(EventFilterDTO filter, String sortField, boolean descending,
+                                   KeysetCursor.Position after, int limit) {
+        Specification<Event> spec = Specification.where(EventSpecifications.fetchCreator())
+                .and(EventSpecifications.hasType(
+                        filter.getType() != null ? EventType.valueOf(filter.getType().name()) : null))
+                .and(EventSpecifications.hasStatus(toEventStatus(filter.getStatus())))
+                .and(EventSpecifications.startsBetween(
+                        filter.getStartDate() != null ? LocalDate.parse(filter.getStartDate()).atStartOfDay() : null,
+                        filter.getEndDate() != null ? LocalDate.parse(filter.getEndDate()).plusDays(1).atStartOfDay() : null))
+                .and(EventSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()))
+                .and(EventSpecifications.mentions(filter.getQuery()))
+                .and(EventSpecifications.locatedIn(filter.getLocation()));
+        if (after != null) {
+            spec = spec.and("price".equals(sortField)
+                    ? EventSpecifications.after("price", Double.valueOf(after.sortValue()), after.id(), descending)
+                    : EventSpecifications.after("startDate", LocalDateTime.parse(after.sortValue()), after.id(), descending));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return eventRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(direction, sortField).and(Sort.by(direction, "id")))
+                .limit(limit)
+                .all());
+    }
+
+    private EventStatus toEventStatus(ActivityStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return status == ActivityStatus.UPCOMING ? EventStatus.ACTIVE : EventStatus.valueOf(status.name());
     }
 
     @Override
     @Transactional
     public BookingDTO bookEvent(Long studentId, Long eventId) {
+        // Take the seat atomically before loading the event
+        seatInventoryService.reserve(eventId);
+
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        if (event.getAvailableSeats() <= 0) {
-            throw new RuntimeException("No seats available");
-        }
-
         Booking booking = new Booking();
         booking.setUser(userRepository.findById(studentId).orElseThrow());
         booking.setEvent(event);
+        booking.setBookingCode(UUID.randomUUID().toString());
         booking.setBookingDate(LocalDateTime.now());
         booking.setStatus(BookingStatus.CONFIRMED);
 
@@ -69,11 +192,12 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
                 BigDecimal.valueOf(event.getPrice()),
                 LocalDateTime.now(),
                 1);
-
-        event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
+        booking.setAmountPaid(price.doubleValue());
+        booking.setQrCodePath(TicketQrService.buildPayload(booking.getBookingCode(), eventId));
 
         booking = bookingRepository.save(booking);
+        analyticsAggregateService.recordBooked(booking);
+        eventReminderService.bookingCreated(eventId);
 
         return convertToBookingDTO(booking);
     }
@@ -85,6 +209,22 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
         return convertToBookingDTO(booking);
     }
 
+    @Override
+    public SeatHoldDTO holdSeat(Long eventId, String userEmail) {
+        SeatHold hold = bookingService.holdSeat(eventId, userEmail);
+        SeatHoldDTO dto = new SeatHoldDTO();
+        dto.setHoldCode(hold.getHoldCode());
+        dto.setEventId(hold.getEvent().getId());
+        dto.setExpiresAt(hold.getExpiresAt());
+        return dto;
+    }
+
+    @Override
+    public BookingDTO confirmSeatHold(String holdCode, String userEmail) {
+        Booking booking = bookingService.confirmSeatHold(holdCode, userEmail);
+        return convertToBookingDTO(booking);
+    }
+
     @Override
     public TicketDTO generateTicket(Long bookingId) {
         // Use Decorator Pattern for ticket service
@@ -102,6 +242,8 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
         dto.setActivityId(event.getId());
         dto.setName(event.getTitle());
         dto.setDescription(event.getDescription());
+        dto.setActivityDate(event.getStartDate());
+        dto.setType(ActivityType.valueOf(event.getType().name()));
         dto.setLocation(event.getLocation());
         dto.setPrice(BigDecimal.valueOf(event.getPrice()));
         dto.setCapacity(event.getCapacity());
@@ -112,6 +254,10 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
     private BookingDTO convertToBookingDTO(Booking booking) {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
+        dto.setBookingCode(booking.getBookingCode());
+        if (booking.getBookingCode() != null) {
+            dto.setQrCodeUrl("/api/tickets/" + booking.getBookingCode() + "/qr.png");
+        }
         dto.setUserId(booking.getUser().getId());
         dto.setEventId(booking.getEvent().getId());
         dto.setStatus(booking.getStatus());
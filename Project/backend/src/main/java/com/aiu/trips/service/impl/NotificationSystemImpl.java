@@ -2,7 +2,7 @@ package com.aiu.trips.service.impl;
 
 import com.aiu.trips.bridge.*;
 import com.aiu.trips.enums.NotificationType;
-import com.aiu.trips.model.Notification;
+import com.aiu.trips.dto.NotificationPage;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.UserRepository;
 import com.aiu.trips.service.NotificationService;
@@ -28,6 +28,14 @@ public class NotificationSystemImpl implements INotificationSystem {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    /**
+     * User ids resolved per query in sendBulkNotification, to keep the IN list short
+     */
+    private static final int ID_CHUNK_SIZE = 1000;
+
     @Override
     public void sendNotification(Long userId, String message, NotificationType type) {
         User user = userRepository.findById(userId)
@@ -44,33 +52,41 @@ public class NotificationSystemImpl implements INotificationSystem {
         // Use Bridge Pattern
         EventUpdateMessage updateMessage = new EventUpdateMessage(emailChannel, "Event", message);
         // Notify all users (simplified)
-        List<User> users = userRepository.findAll();
-        users.forEach(user -> updateMessage.send(user.getEmail()));
+        updateMessage.dispatch(dispatcher, userRepository.findAllEmails());
     }
 
     @Override
     public void sendBulkNotification(List<Long> userIds, String message) {
-        userIds.forEach(userId -> {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                inAppChannel.send(user.getEmail(), message);
-            }
-        });
+        // Unknown ids resolve to no email and are skipped
+        for (int from = 0; from < userIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + ID_CHUNK_SIZE, userIds.size()));
+            dispatcher.submit(inAppChannel, message, "INFO", userRepository.findEmailsByIdIn(chunk));
+        }
+    }
+
+    @Override
+    public NotificationPage getUserNotifications(String userEmail, String cursor, Integer limit) {
+        return notificationService.getUserNotifications(userEmail, cursor, limit);
+    }
+
+    @Override
+    public NotificationPage getUnreadNotifications(String userEmail, String cursor, Integer limit) {
+        return notificationService.getUnreadNotifications(userEmail, cursor, limit);
     }
 
     @Override
-    public List<Notification> getUserNotifications(String userEmail) {
-        return notificationService.getUserNotifications(userEmail);
+    public long getUnreadCount(String userEmail) {
+        return notificationService.getUnreadCount(userEmail);
     }
 
     @Override
-    public List<Notification> getUnreadNotifications(String userEmail) {
-        return notificationService.getUnreadNotifications(userEmail);
+    public void markAsRead(Long notificationId, String userEmail) {
+        notificationService.markAsRead(notificationId, userEmail);
     }
 
     @Override
-    public void markAsRead(Long notificationId) {
-        notificationService.markAsRead(notificationId);
+    public int markAllAsRead(String userEmail) {
+        return notificationService.markAllAsRead(userEmail);
     }
 
     private NotificationMessage createMessage(NotificationChannel channel, NotificationType type, String message) {
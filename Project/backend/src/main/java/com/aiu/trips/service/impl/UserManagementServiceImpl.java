@@ -2,9 +2,13 @@ package com.aiu.trips.service.impl;
 
 import com.aiu.trips.dto.UserDTO;
 import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.exception.AuthenticationException;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.UserRepository;
 import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.security.UserPrincipal;
+import com.aiu.trips.service.CustomUserDetailsService;
+import com.aiu.trips.service.RefreshTokenService;
 import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +30,12 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @Override
     @Transactional
     public UserDTO register(UserDTO userData) {
@@ -49,16 +59,34 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+
+        // Rehash with the configured cost while the plain password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+        }
         
-        String token = jwtUtil.generateToken(email, user.getRole().name());
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("email", user.getEmail());
-        response.put("role", user.getRole().name());
-        response.put("userId", user.getId());
-        
-        return response;
+        return tokenResponse(user.getEmail(), user.getRole(), user.getId(), refreshTokenService.issue(email));
+    }
+
+    /**
+     * New access token for a refresh token; the password is not checked again
+     */
+    @Override
+    public Map<String, Object> refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        UserPrincipal principal = userDetailsService.findPrincipal(rotation.userEmail())
+            .orElseThrow(() -> new AuthenticationException("User no longer exists"));
+        return tokenResponse(principal.getUsername(), principal.getRole(), principal.getId(),
+            rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
+        if (accessToken != null) {
+            jwtUtil.revoke(accessToken);
+        }
     }
 
     @Override
@@ -77,9 +105,21 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(role);
+        // The cached principal is dropped by UserPrincipalInvalidationListener
         userRepository.save(user);
     }
 
+    private Map<String, Object> tokenResponse(String email, UserRole role, Long userId, String refreshToken) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtUtil.generateToken(email, role.name()));
+        response.put("expiresIn", jwtUtil.getExpiration() / 1000);
+        response.put("refreshToken", refreshToken);
+        response.put("email", email);
+        response.put("role", role.name());
+        response.put("userId", userId);
+        return response;
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setUserId(user.getId());
@@ -1,6 +1,7 @@
 package com.aiu.trips.service.interfaces;
 
 import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.model.Event;
 import java.util.List;
@@ -15,10 +16,12 @@ public interface IActivityManagement {
 
     void deleteActivity(Long id);
 
-    List<ActivityDTO> getAllActivities();
+    CatalogView<List<ActivityDTO>> getAllActivities();
 
     Integer manageCapacity(Long activityId);
 
     // Additional methods for event operations
-    List<Event> getUpcomingEvents();
+    CatalogView<List<ActivityDTO>> getUpcomingEvents();
+
+    Event getEventById(Long id);
 }
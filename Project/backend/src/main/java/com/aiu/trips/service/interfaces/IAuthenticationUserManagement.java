@@ -11,6 +11,8 @@ import java.util.Map;
 public interface IAuthenticationUserManagement {
     UserDTO register(UserDTO userData);
     Map<String, Object> login(String email, String password);
+    Map<String, Object> refresh(String refreshToken);
+    void logout(String refreshToken, String accessToken);
     void verifyEmail(String token);
     void resetPassword(String email);
     void manageUserRole(Long userId, UserRole role);
@@ -1,22 +1,31 @@
 package com.aiu.trips.service.interfaces;
 
 import com.aiu.trips.dto.BookingDTO;
+import com.aiu.trips.dto.CatalogView;
 import com.aiu.trips.dto.EventFilterDTO;
-import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.EventPage;
+import com.aiu.trips.dto.SeatHoldDTO;
 import com.aiu.trips.dto.TicketDTO;
 import com.aiu.trips.model.Booking;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 /**
  * IBookingTicketingSystem interface as per Controller.pu diagram
  */
 public interface IBookingTicketingSystem {
-    List<ActivityDTO> browseEvents(EventFilterDTO filters);
+    CatalogView<EventPage> browseEvents(EventFilterDTO filters);
+
+    SseEmitter subscribeSeatUpdates(List<Long> eventIds, String clientAddress);
 
     BookingDTO bookEvent(Long studentId, Long eventId);
 
     BookingDTO bookEventByEmail(Long eventId, String userEmail);
 
+    SeatHoldDTO holdSeat(Long eventId, String userEmail);
+
+    BookingDTO confirmSeatHold(String holdCode, String userEmail);
+
     TicketDTO generateTicket(Long bookingId);
 
     boolean validateTicket(String qrCode);
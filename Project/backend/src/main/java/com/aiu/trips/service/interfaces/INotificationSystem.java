@@ -1,7 +1,7 @@
 package com.aiu.trips.service.interfaces;
 
 import com.aiu.trips.enums.NotificationType;
-import com.aiu.trips.model.Notification;
+import com.aiu.trips.dto.NotificationPage;
 import java.util.List;
 
 /**
@@ -15,9 +15,13 @@ public interface INotificationSystem {
     void sendBulkNotification(List<Long> userIds, String message);
 
     // Additional methods for retrieving notifications
-    List<Notification> getUserNotifications(String userEmail);
+    NotificationPage getUserNotifications(String userEmail, String cursor, Integer limit);
 
-    List<Notification> getUnreadNotifications(String userEmail);
+    NotificationPage getUnreadNotifications(String userEmail, String cursor, Integer limit);
 
-    void markAsRead(Long notificationId);
+    long getUnreadCount(String userEmail);
+
+    void markAsRead(Long notificationId, String userEmail);
+
+    int markAllAsRead(String userEmail);
 }
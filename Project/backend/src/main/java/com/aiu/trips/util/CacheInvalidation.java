@@ -0,0 +1,32 @@
+package com.aiu.trips.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Eviction for caches in front of rows that change inside a transaction.
+ *
+ * Evicting once is not enough: a concurrent read can still load the old row
+ * after the eviction and before the commit, and cache it. The eviction is
+ * therefore repeated when the transaction completes; the caches skip storing
+ * a load that overlapped an eviction.
+ */
+public final class CacheInvalidation {
+
+    private CacheInvalidation() {}
+
+    /**
+     * Run the eviction now and again once the current transaction, if any, completes
+     */
+    public static void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.aiu.trips.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque resume token for keyset pagination.
+ *
+ * The token records a fingerprint of the query it was issued for (view, sort,
+ * filters) and the sort value and id of the last row returned, so the next
+ * page is read with a keyset predicate on (sort value, id) instead of an
+ * OFFSET scan, and a cursor cannot be replayed against a different query.
+ * Each paginated listing keeps its own instance, whose version tag also keeps
+ * the cursors of one listing out of another.
+ */
+public final class KeysetCursor {
+
+    private final String version;
+
+    private final String subject;
+
+    /**
+     * @param version tag written into every token; change it when the keyset changes
+     * @param subject what is paged, for error messages
+     */
+    public KeysetCursor(String version, String subject) {
+        this.version = version;
+        this.subject = subject;
+    }
+
+    public record Position(String sortValue, long id) {}
+
+    /**
+     * Rows to read for a page: one extra row tells whether another page exists
+     */
+    public static int fetchSize(int pageSize) {
+        return pageSize + 1;
+    }
+
+    public String encode(String queryKey, long lastId) {
+        return encode(queryKey, "", lastId);
+    }
+
+    public String encode(String queryKey, String sortValue, long lastId) {
+        String raw = version + "|" + fingerprint(queryKey) + "|" + sortValue + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the position of the last row of the previous page, or null to start from the beginning.
+     */
+    public Position decode(String token, String queryKey) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw;
+        int fingerprintEnd;
+        int sortValueEnd;
+        long lastId;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            fingerprintEnd = raw.indexOf('|', raw.indexOf('|') + 1);
+            // The sort value may itself contain the separator, the id never does
+            sortValueEnd = raw.lastIndexOf('|');
+            lastId = Long.parseLong(raw.substring(sortValueEnd + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid " + subject + " cursor");
+        }
+        if (sortValueEnd <= fingerprintEnd || !raw.startsWith(version + "|" + fingerprint(queryKey) + "|")) {
+            throw new IllegalArgumentException("Cursor does not match this " + subject + " query");
+        }
+        return new Position(raw.substring(fingerprintEnd + 1, sortValueEnd), lastId);
+    }
+
+    private static String fingerprint(String queryKey) {
+        return Integer.toHexString(queryKey.hashCode());
+    }
+}
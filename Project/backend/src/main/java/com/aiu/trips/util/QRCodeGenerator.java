@@ -14,13 +14,19 @@ import java.util.Base64;
 @Component
 public class QRCodeGenerator {
 
+    private static final int SIZE = 300;
+
     public String generateQRCodeBase64(String data) throws WriterException, IOException {
+        return Base64.getEncoder().encodeToString(generateQRCodePng(data));
+    }
+
+    public byte[] generateQRCodePng(String data) throws WriterException, IOException {
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, 300, 300);
+        BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, SIZE, SIZE);
         
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
         
-        return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+        return outputStream.toByteArray();
     }
 }
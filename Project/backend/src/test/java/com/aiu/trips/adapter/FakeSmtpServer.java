@@ -0,0 +1,160 @@
+package com.aiu.trips.adapter;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process SMTP server for tests
+ * Speaks just enough SMTP for Jakarta Mail, records every accepted email and
+ * counts connections. Replies can be scripted: a recipient can be refused, the
+ * next N emails can be answered with an error after DATA, and every email can
+ * be delayed to stand in for a slow server.
+ */
+public class FakeSmtpServer implements Closeable {
+
+    public record Received(String recipient, String data) {}
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    private final Map<String, String> refusedRecipients = new ConcurrentHashMap<>();
+
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private volatile String failureReply;
+
+    private volatile long delayMs;
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0);
+        connections.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<Received> getReceived() {
+        return received;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Answer RCPT TO for this address with the given reply, e.g. "550 5.1.1 No such user"
+     */
+    public void refuseRecipient(String recipient, String reply) {
+        refusedRecipients.put(recipient.toLowerCase(), reply);
+    }
+
+    /**
+     * Answer the next emails with the given reply once their data has been sent
+     */
+    public void failNext(int count, String reply) {
+        failureReply = reply;
+        failuresLeft.set(count);
+    }
+
+    public void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    public void reset() {
+        received.clear();
+        refusedRecipients.clear();
+        failuresLeft.set(0);
+        connectionCount.set(0);
+        delayMs = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                connections.execute(() -> converse(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost fake SMTP");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "NOOP" -> reply(out, "250 OK");
+                    case "RSET" -> {
+                        recipient = null;
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>')).toLowerCase();
+                        String refusal = refusedRecipients.get(recipient);
+                        reply(out, refusal != null ? refusal : "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line).append('\n');
+                        }
+                        if (delayMs > 0) {
+                            Thread.sleep(delayMs);
+                        }
+                        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                            reply(out, failureReply);
+                        } else {
+                            received.add(new Received(recipient, data.toString()));
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reply(Writer out, String reply) throws IOException {
+        out.write(reply + "\r\n");
+        out.flush();
+    }
+}
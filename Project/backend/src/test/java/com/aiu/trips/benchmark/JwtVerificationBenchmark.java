@@ -0,0 +1,118 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.security.TokenRevocationList;
+import com.aiu.trips.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for JWT verification per authenticated request
+ * Compares the old path, where the filter and both chain handlers parsed the
+ * token seven times with a freshly built key, with resolving it once per
+ * request on a cold and on a warm claims cache.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.aiu.trips.benchmark.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTTokenGeneration";
+
+    private static final int USERS = 1024;
+
+    private JwtUtil warmJwtUtil;
+
+    private String[] tokens;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        warmJwtUtil = new JwtUtil(SECRET, 3_600_000L, USERS, new TokenRevocationList(1000, 0.01));
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = warmJwtUtil.generateToken("student" + i + "@aiu.edu", "STUDENT");
+            warmJwtUtil.verify(tokens[i]);
+        }
+    }
+
+    /**
+     * Old path: extractEmail, validateToken (extractEmail + isTokenExpired) in
+     * the filter, then the same again in the authentication handler and
+     * extractRole in the authorization handler, each building a new key.
+     */
+    @Benchmark
+    public String parsePerCall() {
+        String token = nextToken();
+        String email = null;
+        for (int i = 0; i < 2; i++) {
+            email = legacyClaims(token).getSubject();
+            legacyClaims(token).getSubject();
+            legacyClaims(token).getExpiration().before(new Date());
+        }
+        legacyClaims(token).get("role", String.class);
+        return email;
+    }
+
+    /**
+     * New path on a cold cache: the request verifies its token once.
+     */
+    @Benchmark
+    public VerifiedToken resolveOnceColdCache() {
+        JwtUtil coldJwtUtil = new JwtUtil(SECRET, 3_600_000L, 1, new TokenRevocationList(1000, 0.01));
+        return resolveForRequest(coldJwtUtil);
+    }
+
+    /**
+     * New path for a token seen on an earlier request.
+     */
+    @Benchmark
+    public VerifiedToken resolveOnceWarmCache() {
+        return resolveForRequest(warmJwtUtil);
+    }
+
+    private VerifiedToken resolveForRequest(JwtUtil jwtUtil) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + nextToken());
+        // Filter, authentication handler and authorization handler
+        jwtUtil.resolve(request);
+        jwtUtil.resolve(request);
+        return jwtUtil.resolve(request);
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private String nextToken() {
+        return tokens[next++ & (USERS - 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(JwtVerificationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,189 @@
+package com.aiu.trips.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for notification storage
+ * Compares broadcasting with the message text copied onto every recipient
+ * row against one shared content row plus compact delivery rows, on a
+ * file-backed H2 database with the same columns and indexes as the entities
+ * (in memory H2 would only store a reference to the repeated string). The
+ * tables are emptied before every iteration. main() first prints the table
+ * size of both layouts after the same load.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.aiu.trips.benchmark.NotificationStorageBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationStorageBenchmark {
+
+    private static final int RECIPIENTS = 2000;
+
+    private static final int SIZE_BROADCASTS = 20;
+
+    private static final String MESSAGE =
+        "New trip available: Weekend in Alexandria - visit the Library, Citadel of Qaitbay and the Corniche";
+
+    private Connection connection;
+
+    private PreparedStatement insertCopied;
+
+    private PreparedStatement insertContent;
+
+    private PreparedStatement insertDelivery;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        connection = openDatabase();
+        insertCopied = connection.prepareStatement(
+            "INSERT INTO copied_notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, FALSE, ?)");
+        insertContent = connection.prepareStatement(
+            "INSERT INTO notification_contents (message, type, created_at) VALUES (?, ?, ?)",
+            Statement.RETURN_GENERATED_KEYS);
+        insertDelivery = connection.prepareStatement(
+            "INSERT INTO notifications (user_id, content_id, is_read, created_at) VALUES (?, ?, FALSE, ?)");
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE copied_notifications");
+            statement.execute("DELETE FROM notifications");
+            statement.execute("DELETE FROM notification_contents");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Old layout: the message and type are written once per recipient.
+     */
+    @Benchmark
+    public int broadcastCopiedText() throws SQLException {
+        return broadcastCopied(insertCopied);
+    }
+
+    /**
+     * New layout: one content row, then a delivery row per recipient.
+     */
+    @Benchmark
+    public int broadcastSharedContent() throws SQLException {
+        return broadcastShared(insertContent, insertDelivery);
+    }
+
+    private static int broadcastCopied(PreparedStatement insert) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int userId = 1; userId <= RECIPIENTS; userId++) {
+            insert.setLong(1, userId);
+            insert.setString(2, MESSAGE);
+            insert.setString(3, "INFO");
+            insert.setTimestamp(4, now);
+            insert.addBatch();
+        }
+        return insert.executeBatch().length;
+    }
+
+    private static int broadcastShared(PreparedStatement content, PreparedStatement delivery) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        content.setString(1, MESSAGE);
+        content.setString(2, "INFO");
+        content.setTimestamp(3, now);
+        content.executeUpdate();
+        long contentId;
+        try (ResultSet keys = content.getGeneratedKeys()) {
+            keys.next();
+            contentId = keys.getLong(1);
+        }
+        for (int userId = 1; userId <= RECIPIENTS; userId++) {
+            delivery.setLong(1, userId);
+            delivery.setLong(2, contentId);
+            delivery.setTimestamp(3, now);
+            delivery.addBatch();
+        }
+        return delivery.executeBatch().length;
+    }
+
+    private static Connection openDatabase() throws SQLException, IOException {
+        Path directory = Files.createTempDirectory("notification-benchmark");
+        directory.toFile().deleteOnExit();
+        Connection connection = DriverManager.getConnection(
+            "jdbc:h2:file:" + directory.resolve("db").toAbsolutePath(), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE copied_notifications (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "user_id BIGINT, message VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, " +
+                "is_read BOOLEAN, created_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_copied_user_read ON copied_notifications (user_id, is_read)");
+            statement.execute("CREATE INDEX idx_copied_user_id ON copied_notifications (user_id, id)");
+
+            statement.execute("CREATE TABLE notification_contents (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "message VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, created_at TIMESTAMP)");
+            statement.execute("CREATE TABLE notifications (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "user_id BIGINT, content_id BIGINT NOT NULL REFERENCES notification_contents (id), " +
+                "is_read BOOLEAN, created_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read)");
+            statement.execute("CREATE INDEX idx_notifications_user_id ON notifications (user_id, id)");
+            statement.execute("CREATE INDEX idx_notifications_content_id ON notifications (content_id)");
+        }
+        return connection;
+    }
+
+    /**
+     * Space used by both layouts, indexes included, after the same broadcasts
+     */
+    private static void printTableSizes() throws SQLException, IOException {
+        try (Connection connection = openDatabase();
+             PreparedStatement copied = connection.prepareStatement(
+                 "INSERT INTO copied_notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, FALSE, ?)");
+             PreparedStatement content = connection.prepareStatement(
+                 "INSERT INTO notification_contents (message, type, created_at) VALUES (?, ?, ?)",
+                 Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement delivery = connection.prepareStatement(
+                 "INSERT INTO notifications (user_id, content_id, is_read, created_at) VALUES (?, ?, FALSE, ?)")) {
+            for (int i = 0; i < SIZE_BROADCASTS; i++) {
+                broadcastCopied(copied);
+                broadcastShared(content, delivery);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT");
+            }
+            long before = diskSpaceUsed(connection, "COPIED_NOTIFICATIONS");
+            long after = diskSpaceUsed(connection, "NOTIFICATIONS") + diskSpaceUsed(connection, "NOTIFICATION_CONTENTS");
+            System.out.printf("%d broadcasts to %d recipients%n", SIZE_BROADCASTS, RECIPIENTS);
+            System.out.printf("  copied text:    %,d bytes%n", before);
+            System.out.printf("  shared content: %,d bytes (%.0f%% of copied)%n", after, after * 100.0 / before);
+        }
+    }
+
+    private static long diskSpaceUsed(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        printTableSizes();
+        Options options = new OptionsBuilder()
+            .include(NotificationStorageBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
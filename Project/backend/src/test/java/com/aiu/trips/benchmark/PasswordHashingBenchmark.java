@@ -0,0 +1,79 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for login password checks per BCrypt cost factor
+ * Eight threads log in at once, either hashing directly on the request
+ * threads as before or through the bounded password-hash pool. Throughput is
+ * logins per second; the pool caps it at `workers` hashes at a time, which is
+ * the CPU it leaves for the rest of the application.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.aiu.trips.benchmark.PasswordHashingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    @Param({"8", "10", "12"})
+    public int cost;
+
+    @Param({"2"})
+    public int workers;
+
+    private BCryptPasswordEncoder direct;
+
+    private BoundedPasswordEncoder bounded;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        direct = new BCryptPasswordEncoder(cost);
+        bounded = new BoundedPasswordEncoder(cost, workers, 1000, 60_000);
+        hash = direct.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    /**
+     * Old path: every request thread runs BCrypt itself
+     */
+    @Benchmark
+    public boolean loginOnRequestThread() {
+        return direct.matches(PASSWORD, hash);
+    }
+
+    /**
+     * New path: request threads wait for the bounded pool
+     */
+    @Benchmark
+    public boolean loginThroughBoundedPool() {
+        return bounded.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(PasswordHashingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.util.ByteSizeLruCache;
+import com.aiu.trips.util.QRCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for ticket QR rendering
+ * Compares rendering the QR image inside every booking with storing only the
+ * payload and serving repeat ticket fetches from the byte-bounded cache.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.aiu.trips.benchmark.QrRenderingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QrRenderingBenchmark {
+
+    private static final int TICKETS = 256;
+
+    private final QRCodeGenerator generator = new QRCodeGenerator();
+
+    private ByteSizeLruCache<String> cache;
+
+    private String[] payloads;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cache = new ByteSizeLruCache<>(16 * 1024 * 1024);
+        payloads = new String[TICKETS];
+        for (int i = 0; i < TICKETS; i++) {
+            payloads[i] = "BOOKING:" + UUID.randomUUID() + "|EVENT:" + i;
+        }
+    }
+
+    /**
+     * Old booking path: every booking renders and Base64-encodes its QR image.
+     */
+    @Benchmark
+    public String renderOnBooking() throws Exception {
+        return generator.generateQRCodeBase64(nextPayload());
+    }
+
+    /**
+     * New booking path: the booking only builds the payload string.
+     */
+    @Benchmark
+    public String storePayloadOnBooking() {
+        return "BOOKING:" + UUID.randomUUID() + "|EVENT:" + next++;
+    }
+
+    /**
+     * Ticket fetch: render on first use, then serve from the cache.
+     */
+    @Benchmark
+    public byte[] fetchTicketCached() throws Exception {
+        String payload = nextPayload();
+        byte[] png = cache.get(payload);
+        if (png == null) {
+            png = generator.generateQRCodePng(payload);
+            cache.put(payload, png);
+        }
+        return png;
+    }
+
+    private String nextPayload() {
+        return payloads[next++ & (TICKETS - 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(QrRenderingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,171 @@
+package com.aiu.trips.bridge;
+
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.NotificationContentRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.OutboxEmailRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.service.interfaces.INotificationSystem;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static com.aiu.trips.support.TestFixtures.users;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NotificationDispatcher and the batched channels
+ * Recipients are grouped per channel and content, written in batches when a
+ * group is full or on the next flush, and unknown recipients are skipped
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+    "notification.dispatch.batch-size=" + NotificationDispatcherTest.BATCH_SIZE,
+    // The tests flush themselves
+    "notification.dispatch.flush-interval-ms=3600000"
+})
+public class NotificationDispatcherTest {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final int USERS = 1200;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private InAppChannel inAppChannel;
+
+    @Autowired
+    private INotificationSystem notificationSystem;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        users = userRepository.saveAll(users("Member", USERS));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        dispatcher.flush();
+        Await.until(() -> dispatcher.getPendingCount() == 0);
+        notificationRepository.deleteAll();
+        notificationContentRepository.deleteAll();
+        outboxRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testBulkNotification_WritesOneContentPerBatch() {
+        List<Long> userIds = new ArrayList<>(users.stream().map(User::getId).toList());
+        userIds.add(-1L);
+        userIds.add(-2L);
+
+        notificationSystem.sendBulkNotification(userIds, "Campus tour moved to Sunday");
+        dispatcher.flush();
+
+        assertTrue(Await.until(() -> notificationRepository.count() == USERS));
+        // Two full batches sent on the way, the remaining 200 on the flush
+        assertEquals(3, notificationContentRepository.count());
+        assertEquals("Campus tour moved to Sunday", notificationSystem
+            .getUserNotifications(users.get(USERS - 1).getEmail(), null, 1).items().get(0).message());
+    }
+
+    @Test
+    void testFullBatch_SentWithoutFlush() {
+        List<String> recipients = users.subList(0, BATCH_SIZE).stream().map(User::getEmail).toList();
+
+        dispatcher.submit(inAppChannel, "Bus leaves at 8:00", "INFO", recipients);
+
+        assertTrue(Await.until(() -> notificationRepository.count() == BATCH_SIZE));
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    void testPartialBatch_WaitsForFlush() throws InterruptedException {
+        dispatcher.submit(inAppChannel, "Bring your ticket", "WARNING", users.get(0).getEmail());
+        dispatcher.submit(inAppChannel, "Bring your ticket", "WARNING",
+            List.of(users.get(1).getEmail(), "nobody@aiu.edu"));
+        Thread.sleep(100);
+
+        assertEquals(0, notificationRepository.count());
+        assertEquals(3, dispatcher.getPendingCount());
+
+        dispatcher.flush();
+
+        assertTrue(Await.until(() -> notificationRepository.count() == 2));
+        assertEquals(1, notificationContentRepository.count());
+        assertEquals("WARNING", notificationContentRepository.findAll().get(0).getType());
+    }
+
+    @Test
+    void testFlush_NeverSendsOnTheSchedulerThread() throws InterruptedException {
+        NotificationDispatcher small = new NotificationDispatcher(2, 1000, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> senders = new CopyOnWriteArrayList<>();
+        NotificationChannel slow = (recipient, content, type) -> {
+            senders.add(Thread.currentThread().getName());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            // One full batch keeps the sender busy, the next one fills its queue
+            small.submit(slow, "Gates open", "INFO", List.of("a@aiu.edu", "b@aiu.edu"));
+            small.submit(slow, "Gates open", "INFO", List.of("c@aiu.edu", "d@aiu.edu"));
+            small.submit(slow, "Gates open", "INFO", "e@aiu.edu");
+
+            small.flush();
+
+            // The partial batch waits for the next flush instead of being sent here
+            assertEquals(5, small.getPendingCount());
+            assertFalse(senders.contains(Thread.currentThread().getName()));
+
+            release.countDown();
+            assertTrue(Await.until(() -> {
+                small.flush();
+                return small.getPendingCount() == 0;
+            }));
+            assertTrue(senders.stream().allMatch(name -> name.equals("notification-dispatch")));
+        } finally {
+            release.countDown();
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void testEventUpdate_QueuesEmailsInBatches() {
+        notificationSystem.notifyEventUpdate(1L, "Venue changed to the main hall");
+        dispatcher.flush();
+
+        assertTrue(Await.until(() -> outboxRepository.count() == USERS));
+        assertTrue(outboxRepository.findAll().stream()
+            .allMatch(email -> email.getDomain().equals("aiu.edu")
+                && email.getBody().contains("Venue changed to the main hall")));
+    }
+}
@@ -0,0 +1,96 @@
+package com.aiu.trips.chain;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestHandlerChain
+ * Requests run only the handlers of their first matching route, in order, and each handler's latency is recorded
+ */
+public class RequestHandlerChainTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private RequestHandlerChain chain;
+
+    @BeforeEach
+    void setUp() {
+        RequestHandler rateLimit = new RecordingHandler("rateLimit");
+        RequestHandler authentication = new RecordingHandler("authentication");
+        RequestHandler authorization = new RecordingHandler("authorization");
+
+        chain = RequestHandlerChain.builder()
+            .route("/h2-console/**")
+            .route("GET", "/api/events/**", rateLimit)
+            .route("/api/events/**", rateLimit, authentication, authorization)
+            .route("/**", rateLimit, authentication)
+            .build();
+    }
+
+    @Test
+    void testPublicRoute_SkipsAuthentication() throws Exception {
+        chain.handle(new MockHttpServletRequest("GET", "/api/events"));
+        chain.handle(new MockHttpServletRequest("GET", "/api/events/7"));
+
+        assertEquals(List.of("rateLimit", "rateLimit"), calls);
+    }
+
+    @Test
+    void testRoutes_MatchOnMethodAndRunInOrder() throws Exception {
+        chain.handle(new MockHttpServletRequest("DELETE", "/api/events/7"));
+        assertEquals(List.of("rateLimit", "authentication", "authorization"), calls);
+
+        calls.clear();
+        chain.handle(new MockHttpServletRequest("GET", "/api/bookings/my-bookings"));
+        assertEquals(List.of("rateLimit", "authentication"), calls);
+
+        calls.clear();
+        chain.handle(new MockHttpServletRequest("GET", "/h2-console/login.do"));
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void testRejection_StopsChainAndIsCounted() {
+        RequestHandler rejecting = new RequestHandler() {
+            @Override
+            public void handle(HttpServletRequest request) {
+                throw new SecurityException("Insufficient permissions for this operation");
+            }
+        };
+        RequestHandlerChain rejectingChain = RequestHandlerChain.builder()
+            .route("/**", rejecting, new RecordingHandler("after"))
+            .build();
+
+        assertThrows(SecurityException.class,
+            () -> rejectingChain.handle(new MockHttpServletRequest("POST", "/api/admin/users")));
+        assertTrue(calls.isEmpty());
+
+        Map<String, Object> stats = rejectingChain.getMetrics().values().stream()
+            .filter(snapshot -> (long) snapshot.get("rejected") == 1)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1L, stats.get("invocations"));
+        assertEquals(0L, rejectingChain.getMetrics().get("RecordingHandler").get("invocations"));
+    }
+
+    private class RecordingHandler extends RequestHandler {
+        private final String name;
+
+        RecordingHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void handle(HttpServletRequest request) {
+            calls.add(name);
+        }
+    }
+}
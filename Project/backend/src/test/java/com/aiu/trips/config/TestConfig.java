@@ -1,28 +1,20 @@
 package com.aiu.trips.config;
 
-import com.aiu.trips.chain.RequestHandler;
-import jakarta.servlet.http.HttpServletRequest;
+import com.aiu.trips.chain.RequestHandlerChain;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 
 /**
- * Test Configuration - Provides a no-op request handler chain for testing
+ * Test Configuration - Provides a primary request handler chain without routes,
+ * so the request handler filter runs no handler in the tests
  */
 @TestConfiguration
 public class TestConfig {
 
-    @Bean("requestHandlerChain")
+    @Bean
     @Primary
-    public RequestHandler requestHandlerChain() {
-        return new RequestHandler() {
-            @Override
-            public void handle(HttpServletRequest request) throws Exception {
-                // No-op for tests - skip all validation
-                if (next != null) {
-                    next.handle(request);
-                }
-            }
-        };
+    public RequestHandlerChain testHandlerChain() {
+        return RequestHandlerChain.builder().build();
     }
 }
@@ -0,0 +1,127 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Concurrency tests for ControllerCommandInvoker
+ * Concurrent requests to different endpoints each receive the response of their own command
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+public class CommandDispatchConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(user("student" + i + "@aiu.edu", "Student " + i)));
+
+            Event event = eventRepository.save(event("Event " + i, EventType.EVENT, LocalDateTime.now().plusDays(3), 0.0, 10));
+
+            Booking booking = new Booking();
+            booking.setUser(users.get(i));
+            booking.setEvent(event);
+            booking.setBookingCode("BK-" + i);
+            booking.setAmountPaid(0.0);
+            bookingRepository.save(booking);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        users.clear();
+    }
+
+    @Test
+    void testConcurrentRequests_EachResponseMatchesItsRequest() throws Exception {
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            // Each thread is its own user, so a response can be matched to the booking of its request
+            String token = "Bearer " + jwtUtil.generateToken(users.get(i).getEmail(), "STUDENT");
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        mockMvc.perform(get("/api/bookings/my-bookings")
+                                        .header("Authorization", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(1)))
+                                .andExpect(jsonPath("$[0].bookingCode").value("BK-" + index));
+
+                        mockMvc.perform(get("/api/events")
+                                        .header("Authorization", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(THREADS)));
+                    }
+                } catch (Throwable e) {
+                    failures.add("thread " + index + ": " + e.getMessage());
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(120, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> failures.size() + " mismatched responses, first: " + failures.peek());
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -98,8 +99,8 @@ public class EventControllerIntegrationTest {
         mockMvc.perform(post("/api/events")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(eventJson))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("New Conference"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("New Conference"))
                 .andExpect(jsonPath("$.capacity").value(100));
     }
 
@@ -111,9 +112,8 @@ public class EventControllerIntegrationTest {
 
         String updateJson = """
             {
-                "title": "Updated Title",
-                "description": "Updated description",
-                "price": 75.0
+                "name": "Updated Title",
+                "description": "Updated description"
             }
             """;
 
@@ -121,7 +121,7 @@ public class EventControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(updateJson))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("Updated Title"));
+                .andExpect(jsonPath("$.name").value("Updated Title"));
     }
 
     @Test
@@ -133,10 +133,8 @@ public class EventControllerIntegrationTest {
         mockMvc.perform(delete("/api/events/" + event.getId()))
                 .andExpect(status().isOk());
 
-        // Verify deleted
-        mockMvc.perform(get("/api/events"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+        // Deleting cancels the event
+        assertEquals(EventStatus.CANCELLED, eventRepository.findById(event.getId()).orElseThrow().getStatus());
     }
 
     @Test
@@ -0,0 +1,134 @@
+package com.aiu.trips.ratelimit;
+
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the rate limit stores
+ * The in-process and the shared database store enforce the same limits, also under concurrency
+ */
+@IntegrationTest
+public class RateLimitStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets");
+    }
+
+    @Test
+    void testParseRules() {
+        List<RateLimitRule> rules = RateLimitRule.parseAll("/api/auth/**=20/1m, /**@admin=300/1h ,/**=60/30s");
+        assertEquals(3, rules.size());
+        assertEquals("/api/auth/**", rules.get(0).pattern());
+        assertNull(rules.get(0).role());
+        assertEquals("ADMIN", rules.get(1).role());
+        assertEquals(Duration.ofHours(1), rules.get(1).period());
+        assertEquals(60, rules.get(2).limit());
+        assertEquals("60;w=30", rules.get(2).policy());
+    }
+
+    @Test
+    void testInMemory_AllowsLimitThenRejects() {
+        assertLimitEnforced(new InMemoryRateLimitStore(1000));
+    }
+
+    @Test
+    void testJdbc_AllowsLimitThenRejects() {
+        assertLimitEnforced(new JdbcRateLimitStore(jdbcTemplate));
+    }
+
+    @Test
+    void testInMemory_ExactUnderConcurrency() throws Exception {
+        assertEquals(100, concurrentAllowed(new InMemoryRateLimitStore(1000), 32, 50, 100));
+    }
+
+    @Test
+    void testJdbc_ExactUnderConcurrency() throws Exception {
+        assertEquals(50, concurrentAllowed(new JdbcRateLimitStore(jdbcTemplate), 8, 20, 50));
+    }
+
+    @Test
+    void testInMemory_IdleBucketsEvictedAndKeysBounded() throws Exception {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10);
+        RateLimitRule shortRule = new RateLimitRule("r0", "/**", null, 10, Duration.ofMillis(100));
+        store.acquire("idle", shortRule);
+        Thread.sleep(50);
+        store.evictIdle();
+        assertEquals(0, store.size());
+
+        RateLimitRule longRule = new RateLimitRule("r1", "/**", null, 10, Duration.ofHours(1));
+        for (int i = 0; i < 10; i++) {
+            store.acquire("limited", longRule);
+        }
+        for (int i = 0; i < 100; i++) {
+            store.acquire("client-" + i, longRule);
+        }
+        // The flood only shares the overflow bucket until the background sweep makes room
+        assertTrue(store.size() <= 11, "store grew to " + store.size());
+        assertTrue(Await.until(() -> store.size() < 10), "store kept " + store.size());
+        // New clients then get a bucket of their own again, not the shared one
+        assertTrue(store.acquire("client-1000", longRule).allowed());
+        // The client that used up its limit kept its bucket
+        assertFalse(store.acquire("limited", longRule).allowed());
+    }
+
+    private void assertLimitEnforced(RateLimitStore store) {
+        RateLimitRule rule = new RateLimitRule("r0", "/**", null, 5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = store.acquire("client", rule);
+            assertTrue(decision.allowed());
+            assertEquals(5, decision.limit());
+            assertEquals(4 - i, decision.remaining());
+        }
+        RateLimitDecision rejected = store.acquire("client", rule);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        // One request is earned back every 12 seconds
+        assertTrue(rejected.retryAfterSeconds() >= 11 && rejected.retryAfterSeconds() <= 12,
+            "retry after " + rejected.retryAfterSeconds());
+
+        assertTrue(store.acquire("other-client", rule).allowed());
+    }
+
+    private int concurrentAllowed(RateLimitStore store, int threads, int attempts, long limit) throws Exception {
+        RateLimitRule rule = new RateLimitRule("r0", "/**", null, limit, Duration.ofHours(1));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < attempts; i++) {
+                        if (store.acquire("shared", rule).allowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        return allowed.get();
+    }
+}
@@ -0,0 +1,109 @@
+package com.aiu.trips.security;
+
+import com.aiu.trips.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BoundedPasswordEncoder
+ * Hashing runs on the bounded pool, overflow is rejected, and hashes of another cost are rehashed on login
+ */
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatch() {
+        encoder = new BoundedPasswordEncoder(4, 2, 10, 5000);
+
+        String hash = encoder.encode("password123");
+
+        assertEquals(4, BoundedPasswordEncoder.costOf(hash));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.matches("password123", ""));
+    }
+
+    @Test
+    void testUpgradeEncoding_OnlyForOtherCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 10, 5000);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("pw")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void testFullQueue_RejectsInsteadOfWaiting() throws Exception {
+        // One worker and one queue slot: of three simultaneous hashes at least one is turned away
+        encoder = new BoundedPasswordEncoder(12, 1, 1, 30000);
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(callers.submit(() -> {
+                start.await();
+                try {
+                    encoder.encode("password123");
+                } catch (ServiceBusyException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get(60, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        assertTrue(rejected.get() >= 1);
+    }
+
+    @Test
+    void testLogin_RehashesPasswordWithConfiguredCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 10, 5000);
+        UserDetails stored = User.withUsername("student@aiu.edu")
+            .password(new BCryptPasswordEncoder(4).encode("password123"))
+            .authorities("STUDENT")
+            .build();
+        AtomicReference<String> updatedHash = new AtomicReference<>();
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> stored);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            updatedHash.set(newPassword);
+            return User.withUserDetails(user).password(newPassword).build();
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("student@aiu.edu", "password123"));
+
+        assertNotNull(updatedHash.get());
+        assertEquals(5, BoundedPasswordEncoder.costOf(updatedHash.get()));
+        assertTrue(encoder.matches("password123", updatedHash.get()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.aiu.trips.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JwtUtil
+ * A request's token is verified once and the claims are reused until the token expires;
+ * the cache never grows past its bound and expired tokens are swept out
+ */
+public class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGeneration";
+
+    private final JwtUtil jwtUtil = jwtUtil(SECRET, 3_600_000L, 100);
+
+    @Test
+    void testResolve_VerifiesOncePerRequest() {
+        String token = jwtUtil.generateToken("student@aiu.edu", "STUDENT");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        VerifiedToken verified = jwtUtil.resolve(request);
+        assertNotNull(verified);
+        assertEquals("student@aiu.edu", verified.email());
+        assertEquals("STUDENT", verified.role());
+        assertSame(verified, request.getAttribute(JwtUtil.VERIFIED_TOKEN_ATTRIBUTE));
+        assertSame(verified, jwtUtil.resolve(request));
+
+        // A second request with the same token is served from the claims cache
+        MockHttpServletRequest repeat = new MockHttpServletRequest();
+        repeat.addHeader("Authorization", "Bearer " + token);
+        assertSame(verified, jwtUtil.resolve(repeat));
+    }
+
+    @Test
+    void testResolve_RejectsForgedAndMissingTokens() {
+        JwtUtil otherIssuer = jwtUtil(SECRET.replace('t', 'x'), 3_600_000L, 100);
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.addHeader("Authorization", "Bearer " + otherIssuer.generateToken("admin@aiu.edu", "ADMIN"));
+        assertNull(jwtUtil.resolve(forged));
+
+        assertNull(jwtUtil.resolve(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void testVerify_CachedTokenStillExpires() throws Exception {
+        JwtUtil shortLived = jwtUtil(SECRET, 1_000L, 100);
+        String token = shortLived.generateToken("student@aiu.edu", "STUDENT");
+        assertEquals("student@aiu.edu", shortLived.verify(token).email());
+
+        Thread.sleep(1_100);
+        assertThrows(JwtException.class, () -> shortLived.verify(token));
+        assertFalse(shortLived.validateToken(token, "student@aiu.edu"));
+    }
+
+    @Test
+    void testCache_BoundedAndSweptOfExpiredTokens() throws Exception {
+        JwtUtil bounded = jwtUtil(SECRET, 1_000L, 2);
+        String first = bounded.generateToken("first@aiu.edu", "STUDENT");
+        String second = bounded.generateToken("second@aiu.edu", "STUDENT");
+        String third = bounded.generateToken("third@aiu.edu", "STUDENT");
+        bounded.verify(first);
+        bounded.verify(second);
+
+        // A full cache still verifies, it only stops caching
+        assertEquals("third@aiu.edu", bounded.verify(third).email());
+        assertEquals(2, bounded.getCachedTokenCount());
+
+        Thread.sleep(1_100);
+        bounded.sweepExpiredTokens();
+        assertEquals(0, bounded.getCachedTokenCount());
+    }
+
+    private static JwtUtil jwtUtil(String secret, long expirationMs, int maxCachedTokens) {
+        return new JwtUtil(secret, expirationMs, maxCachedTokens, new TokenRevocationList(1000, 0.01));
+    }
+}
@@ -0,0 +1,166 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.SystemStatisticsDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.*;
+import com.aiu.trips.support.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the aggregate queries behind getPopularCategories and the ReportService reports
+ * The number of SQL statements per call must not grow with the number of events or bookings
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class AggregateQueryStatementCountTest {
+
+    @Autowired
+    private AdvancedAnalyticsService analyticsService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = userRepository.save(user("student@aiu.edu", "Student"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testGetPopularCategories_ConstantStatements() {
+        createEvents(5, 2);
+        long fewEvents = countStatements(() -> analyticsService.getPopularCategories());
+
+        createEvents(50, 2);
+        long manyEvents = countStatements(() -> analyticsService.getPopularCategories());
+
+        assertEquals(fewEvents, manyEvents);
+        assertTrue(manyEvents <= 2);
+
+        Map<String, Object> analysis = analyticsService.getPopularCategories();
+        @SuppressWarnings("unchecked")
+        Map<String, Double> revenueByType = (Map<String, Double>) analysis.get("revenueByType");
+        // Half of the 110 bookings are cancelled and earn nothing
+        assertEquals(55 * 10.0, revenueByType.values().stream().mapToDouble(Double::doubleValue).sum(), 0.001);
+    }
+
+    @Test
+    void testGetEventReport_ConstantStatements() {
+        Event small = createEvents(1, 2).get(0);
+        Event large = createEvents(1, 40).get(0);
+
+        long smallEvent = countStatements(() -> reportService.getEventReport(small.getId()));
+        long largeEvent = countStatements(() -> reportService.getEventReport(large.getId()));
+        assertEquals(smallEvent, largeEvent);
+
+        Map<String, Object> report = reportService.getEventReport(large.getId());
+        assertEquals(40L, report.get("totalParticipants"));
+        assertEquals(20L, report.get("cancelledBookings"));
+        assertEquals(200.0, (Double) report.get("totalIncome"), 0.001);
+    }
+
+    @Test
+    void testReportStatistics_ComputedInDatabase() {
+        createEvents(4, 10);
+        long fewBookings = countStatements(() -> reportService.getStatistics());
+        createEvents(4, 50);
+        long manyBookings = countStatements(() -> reportService.getStatistics());
+        assertEquals(2, fewBookings);
+        assertEquals(fewBookings, manyBookings);
+
+        // 240 bookings, half of them cancelled; seats are not taken by direct inserts
+        SystemStatisticsDTO stats = reportService.getStatistics();
+        assertEquals(8, stats.getTotalEvents());
+        assertEquals(240L, stats.getTotalBookings());
+        assertEquals(8L, stats.getActiveEvents());
+        assertEquals(120 * 10.0, stats.getTotalRevenue(), 0.001);
+        assertEquals(0.0, stats.getAverageAttendance(), 0.001);
+
+        Map<String, Object> overall = reportService.getOverallReport();
+        assertEquals(240L, overall.get("totalBookings"));
+        assertEquals(1200.0, (Double) overall.get("totalIncome"), 0.001);
+    }
+
+    private long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Event> createEvents(int count, int bookingsPerEvent) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = event("Event " + i, i % 2 == 0 ? EventType.EVENT : EventType.TRIP, LocalDateTime.now().plusDays(5), 10.0, 100);
+            events.add(event);
+        }
+        events = eventRepository.saveAll(events);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (Event event : events) {
+            for (int i = 0; i < bookingsPerEvent; i++) {
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setEvent(event);
+                booking.setBookingCode(event.getId() + "-" + i);
+                booking.setAmountPaid(event.getPrice());
+                bookings.add(booking);
+            }
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        // Cancel every other booking
+        for (int i = 0; i < bookings.size(); i += 2) {
+            bookings.get(i).setStatus(BookingStatus.CANCELLED);
+        }
+        bookingRepository.saveAll(bookings);
+        return events;
+    }
+}
@@ -0,0 +1,125 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.*;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.users;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AnalyticsAggregateService
+ * Booking, cancellation and validation keep the hourly buckets in step with the bookings table
+ */
+@IntegrationTest
+public class AnalyticsAggregateServiceTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AnalyticsAggregateService aggregateService;
+
+    @Autowired
+    private AdvancedAnalyticsService analyticsService;
+
+    @Autowired
+    private BookingStatsBucketRepository bucketRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        aggregateService.flush();
+        bucketRepository.deleteAll();
+        notificationRepository.deleteAll();
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testBookingChanges_UpdateBuckets() {
+        Event trip = eventRepository.save(event("Desert Trip", EventType.TRIP, LocalDateTime.now().plusDays(5), 100.0, 10));
+        Event concert = eventRepository.save(event("Concert", EventType.EVENT, LocalDateTime.now().plusDays(5), 20.0, 10));
+        List<User> users = userRepository.saveAll(users("Student", 3));
+
+        bookingService.createBooking(trip.getId(), users.get(0).getEmail());
+        Booking cancelled = bookingService.createBooking(trip.getId(), users.get(1).getEmail());
+        Booking attended = bookingService.createBooking(concert.getId(), users.get(2).getEmail());
+        bookingService.cancelBooking(cancelled.getId(), users.get(1).getEmail());
+        bookingService.validateTicket(attended.getBookingCode(), "admin@aiu.edu");
+
+        Map<String, Object> trends = analyticsService.getBookingTrends(30);
+        assertEquals(3L, trends.get("totalBookings"));
+
+        BookingStatsBucketRepository.Totals totals = bucketRepository.getTotals();
+        assertEquals(3L, totals.getBookings());
+        assertEquals(120.0, totals.getRevenue(), 0.001);
+
+        Map<String, Object> peaks = analyticsService.getPeakBookingPeriods();
+        assertEquals(LocalDateTime.now().getDayOfWeek().toString(), peaks.get("peakDayOfWeek"));
+    }
+
+    @Test
+    void testReconcile_RebuildsBucketsFromBookings() {
+        Event trip = eventRepository.save(event("Museum Trip", EventType.TRIP, LocalDateTime.now().plusDays(5), 50.0, 10));
+        List<User> users = userRepository.saveAll(users("Student", 2));
+        Booking cancelled = bookingService.createBooking(trip.getId(), users.get(0).getEmail());
+        bookingService.createBooking(trip.getId(), users.get(1).getEmail());
+        bookingService.cancelBooking(cancelled.getId(), users.get(0).getEmail());
+        aggregateService.flush();
+
+        // Simulate drift, then let reconciliation correct it
+        bucketRepository.findAll().forEach(bucket -> {
+            bucket.setBookings(99L);
+            bucket.setRevenue(0.0);
+            bucketRepository.save(bucket);
+        });
+        aggregateService.reconcile();
+
+        BookingStatsBucketRepository.Totals totals = bucketRepository.getTotals();
+        assertEquals(2L, totals.getBookings());
+        assertEquals(50.0, totals.getRevenue(), 0.001);
+        assertEquals(1L, bucketRepository.findAll().get(0).getCancellations());
+    }
+
+    @Test
+    void testReconcile_PendingDeltasNotCountedTwice() {
+        Event trip = eventRepository.save(event("Harbour Trip", EventType.TRIP, LocalDateTime.now().plusDays(5), 30.0, 10));
+        List<User> users = userRepository.saveAll(users("Student", 2));
+        bookingService.createBooking(trip.getId(), users.get(0).getEmail());
+        bookingService.createBooking(trip.getId(), users.get(1).getEmail());
+
+        // The deltas are still pending when reconciliation reads the bookings
+        aggregateService.reconcile();
+        aggregateService.flush();
+
+        BookingStatsBucketRepository.Totals totals = bucketRepository.getTotals();
+        assertEquals(2L, totals.getBookings());
+        assertEquals(60.0, totals.getRevenue(), 0.001);
+    }
+}
@@ -0,0 +1,173 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ReportFilterDTO;
+import com.aiu.trips.dto.ReportPage;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.Feedback;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.FeedbackRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for row-level report types in ReportService
+ * Pages are read by keyset and the cursor resumes exactly after the last row
+ */
+@IntegrationTest
+public class DetailedReportPaginationTest {
+
+    private static final int BOOKINGS = 25;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        User user = userRepository.save(user("student@aiu.edu", "Student"));
+
+        event = eventRepository.save(event("Field Trip", EventType.TRIP, LocalDateTime.now().plusDays(3), 5.0, BOOKINGS));
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setEvent(event);
+            booking.setBookingCode("BK-" + i);
+            booking.setAmountPaid(event.getPrice());
+            bookings.add(booking);
+        }
+        bookings = bookingRepository.saveAll(bookings);
+        for (int i = 0; i < 5; i++) {
+            bookings.get(i).setStatus(BookingStatus.CANCELLED);
+        }
+        bookingRepository.saveAll(bookings);
+
+        Feedback feedback = new Feedback();
+        feedback.setUser(user);
+        feedback.setEvent(event);
+        feedback.setRating(5);
+        feedback.setComment("Great trip");
+        feedbackRepository.save(feedback);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        feedbackRepository.deleteAll();
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testBookingDetails_PagesResumeFromCursor() {
+        ReportFilterDTO filters = new ReportFilterDTO();
+        filters.setLimit(10);
+
+        Set<Object> seen = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        ReportPage page;
+        do {
+            page = reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, filters);
+            pageSizes.add(page.rows().size());
+            page.rows().forEach(row -> assertTrue(seen.add(row[0]), "row returned twice"));
+            filters.setCursor(page.nextCursor());
+        } while (page.hasMore());
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        assertEquals(BOOKINGS, seen.size());
+    }
+
+    @Test
+    void testEventAttendees_ExcludesCancelledBookings() {
+        ReportFilterDTO filters = new ReportFilterDTO();
+        filters.setEventId(event.getId());
+
+        ReportPage page = reportService.getDetailedReportPage(ReportType.EVENT_ATTENDEES, filters);
+
+        assertEquals(BOOKINGS - 5, page.rows().size());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void testFeedbackDetails_ReturnsRows() {
+        ReportPage page = reportService.getDetailedReportPage(ReportType.FEEDBACK_DETAILS, new ReportFilterDTO());
+
+        assertEquals(1, page.rows().size());
+        assertEquals("Great trip", page.rows().get(0)[6]);
+    }
+
+    @Test
+    void testCursor_RejectedForDifferentReport() {
+        ReportFilterDTO filters = new ReportFilterDTO();
+        filters.setLimit(10);
+        String cursor = reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, filters).nextCursor();
+
+        ReportFilterDTO other = new ReportFilterDTO();
+        other.setEventId(event.getId());
+        other.setCursor(cursor);
+        assertThrows(IllegalArgumentException.class,
+            () -> reportService.getDetailedReportPage(ReportType.EVENT_ATTENDEES, other));
+
+        filters.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class,
+            () -> reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, filters));
+    }
+
+    @Test
+    void testCursor_BoundToResolvedDates() {
+        ReportFilterDTO openEnded = new ReportFilterDTO();
+        openEnded.setLimit(10);
+        String cursor = reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, openEnded).nextCursor();
+
+        // An open end is today, so the same cursor works with today spelled out
+        ReportFilterDTO today = new ReportFilterDTO();
+        today.setLimit(10);
+        today.setEndDate(LocalDate.now().toString());
+        today.setCursor(cursor);
+        assertEquals(10, reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, today).rows().size());
+
+        // ...but not once the window has moved, as it does for an open end after midnight
+        ReportFilterDTO yesterday = new ReportFilterDTO();
+        yesterday.setEndDate(LocalDate.now().minusDays(1).toString());
+        yesterday.setCursor(cursor);
+        assertThrows(IllegalArgumentException.class,
+            () -> reportService.getDetailedReportPage(ReportType.BOOKING_DETAILS, yesterday));
+    }
+}
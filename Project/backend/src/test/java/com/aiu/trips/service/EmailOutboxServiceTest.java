@@ -0,0 +1,198 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.adapter.FakeSmtpServer;
+import com.aiu.trips.adapter.IEmailService;
+import com.aiu.trips.enums.EmailStatus;
+import com.aiu.trips.model.OutboxEmail;
+import com.aiu.trips.repository.OutboxEmailRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EmailOutboxService against an in-process SMTP server
+ * Sending only writes the outbox; the worker pool delivers over pooled
+ * connections, throttles per domain, retries with backoff and dead-letters
+ */
+@IntegrationTest
+public class EmailOutboxServiceTest {
+
+    private static final int POOL_SIZE = 4;
+
+    private static final FakeSmtpServer smtpServer;
+
+    static {
+        try {
+            smtpServer = new FakeSmtpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void smtpProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.smtp.host", () -> "localhost");
+        registry.add("email.smtp.port", smtpServer::getPort);
+        registry.add("email.smtp.pool-size", () -> POOL_SIZE);
+        registry.add("email.outbox.workers", () -> POOL_SIZE);
+        // The tests drive the poller themselves
+        registry.add("email.outbox.poll-interval-ms", () -> 3600000);
+        registry.add("email.outbox.max-attempts", () -> 3);
+        registry.add("email.outbox.backoff-base-ms", () -> 20);
+        registry.add("email.outbox.backoff-max-ms", () -> 100);
+        registry.add("email.outbox.domain-rates", () -> "throttled.test=5/1m,*=10000/1s");
+    }
+
+    @Autowired
+    private IEmailService emailService;
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        smtpServer.reset();
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    void testSendEmail_DoesNotWaitForSlowServer() {
+        smtpServer.setDelayMs(200);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            emailService.sendEmail("student" + i + "@aiu.edu", "Event updated", "The trip now leaves at 9:00");
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2000, "sending 20 emails took " + elapsedMs + " ms");
+        assertTrue(smtpServer.getReceived().isEmpty());
+        assertEquals(20, outboxRepository.countByStatus(EmailStatus.PENDING));
+
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.SENT) == 20));
+        assertEquals(20, smtpServer.getReceived().size());
+    }
+
+    @Test
+    void testDelivery_ReusesPooledConnections() {
+        int emails = 400;
+        for (int i = 0; i < emails; i++) {
+            outboxService.enqueue("student" + i + "@aiu.edu", "Reminder", "Your trip starts tomorrow");
+        }
+
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.SENT) == emails));
+        assertEquals(emails, smtpServer.getReceived().size());
+        assertTrue(smtpServer.getConnectionCount() <= POOL_SIZE,
+            "opened " + smtpServer.getConnectionCount() + " connections");
+    }
+
+    @Test
+    void testTransientFailure_RetriedWithBackoff() {
+        smtpServer.failNext(2, "451 4.3.0 Try again later");
+        Long id = outboxService.enqueue("retry@aiu.edu", "Booking confirmed", "See you there");
+
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.SENT) == 1));
+        OutboxEmail email = outboxRepository.findById(id).orElseThrow();
+        assertEquals(3, email.getAttempts());
+        assertNull(email.getLastError());
+        assertEquals(1, smtpServer.getReceived().size());
+    }
+
+    @Test
+    void testAttemptsExhausted_DeadLetteredUntilRequeued() {
+        smtpServer.failNext(100, "451 4.3.0 Try again later");
+        Long id = outboxService.enqueue("unlucky@aiu.edu", "Booking confirmed", "See you there");
+
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.DEAD) == 1));
+        OutboxEmail dead = outboxRepository.findById(id).orElseThrow();
+        assertEquals(3, dead.getAttempts());
+        assertTrue(dead.getLastError().contains("451"));
+
+        smtpServer.reset();
+        outboxService.requeue(id);
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.SENT) == 1));
+    }
+
+    @Test
+    void testPermanentFailure_DeadLetteredAtOnce() {
+        smtpServer.refuseRecipient("ghost@aiu.edu", "550 5.1.1 No such user");
+        Long id = outboxService.enqueue("ghost@aiu.edu", "Welcome", "Hello");
+
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.DEAD) == 1));
+        OutboxEmail dead = outboxRepository.findById(id).orElseThrow();
+        assertEquals(1, dead.getAttempts());
+        assertTrue(dead.getLastError().contains("550"));
+    }
+
+    @Test
+    void testDomainThrottle_HoldsBackOnlyThatDomain() throws InterruptedException {
+        for (int i = 0; i < 12; i++) {
+            outboxService.enqueue("student" + i + "@throttled.test", "Reminder", "Tomorrow");
+        }
+        for (int i = 0; i < 3; i++) {
+            outboxService.enqueue("student" + i + "@aiu.edu", "Reminder", "Tomorrow");
+        }
+
+        outboxService.dispatch();
+        assertTrue(drainUntil(() -> outboxRepository.countByStatus(EmailStatus.SENT) == 8));
+        Thread.sleep(200);
+        outboxService.dispatch();
+
+        assertEquals(8, outboxRepository.countByStatus(EmailStatus.SENT));
+        assertEquals(7, outboxRepository.countByStatus(EmailStatus.PENDING));
+        assertTrue(outboxRepository.findAll().stream()
+            .filter(email -> email.getStatus() == EmailStatus.PENDING)
+            .allMatch(email -> email.getDomain().equals("throttled.test")
+                && email.getNextAttemptAt().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void testClaims_ExclusiveAndReleasedOnlyAfterLease() {
+        Long stalled = outboxService.enqueue("stalled@aiu.edu", "Welcome", "Hello");
+        Long inFlight = outboxService.enqueue("inflight@aiu.edu", "Welcome", "Hello");
+
+        assertEquals(1, outboxRepository.claim(stalled, LocalDateTime.now().minusHours(1)));
+        assertEquals(1, outboxRepository.claim(inFlight, LocalDateTime.now()));
+        // A second poller cannot take a row that is already being sent
+        assertEquals(0, outboxRepository.claim(inFlight, LocalDateTime.now()));
+
+        // As on the start of another instance: only the claim past its lease is given up
+        outboxService.releaseInterrupted();
+
+        assertEquals(EmailStatus.PENDING, outboxRepository.findById(stalled).orElseThrow().getStatus());
+        assertEquals(EmailStatus.SENDING, outboxRepository.findById(inFlight).orElseThrow().getStatus());
+    }
+
+    /**
+     * Run the poller until the condition holds
+     */
+    private boolean drainUntil(BooleanSupplier condition) {
+        return Await.until(() -> {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            outboxService.dispatch();
+            return false;
+        });
+    }
+}
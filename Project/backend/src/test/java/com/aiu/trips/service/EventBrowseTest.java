@@ -0,0 +1,152 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.dto.EventPage;
+import com.aiu.trips.enums.ActivityStatus;
+import com.aiu.trips.enums.ActivityType;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the event catalog browse in BookingTicketingSystemImpl
+ * Filters run in the database and keyset pages cover every match exactly once, in order
+ */
+@IntegrationTest
+public class EventBrowseTest {
+
+    private static final int EVENTS = 30;
+
+    private static final LocalDateTime BASE = LocalDate.now().plusDays(10).atTime(10, 0);
+
+    @Autowired
+    private IBookingTicketingSystem bookingSystem;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setTitle((i % 3 == 0 ? "Hiking " : "Seminar ") + i);
+            event.setType(i % 3 == 0 ? EventType.TRIP : EventType.EVENT);
+            // Pairs of events share a start time so the id breaks ties
+            event.setStartDate(BASE.plusDays(i / 2));
+            event.setLocation(i % 2 == 0 ? "Main Campus" : "City Center");
+            event.setPrice((double) (i % 4) * 10);
+            event.setCapacity(50);
+            event = eventRepository.save(event);
+            // New events always start ACTIVE
+            if (i % 5 == 0) {
+                event.setStatus(EventStatus.CANCELLED);
+                eventRepository.save(event);
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void testBrowse_PagesCoverAllEventsInOrder() {
+        EventFilterDTO filter = new EventFilterDTO();
+        filter.setLimit(7);
+
+        List<ActivityDTO> seen = readAll(filter);
+
+        assertEquals(EVENTS, seen.size());
+        assertEquals(EVENTS, new HashSet<>(seen.stream().map(ActivityDTO::getActivityId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getActivityDate().isBefore(seen.get(i - 1).getActivityDate()));
+        }
+    }
+
+    @Test
+    void testBrowse_FiltersInDatabase() {
+        EventFilterDTO filter = new EventFilterDTO();
+        filter.setType(ActivityType.TRIP);
+        filter.setStatus(ActivityStatus.UPCOMING);
+        filter.setLimit(100);
+
+        EventPage page = bookingSystem.browseEvents(filter).body();
+
+        // TRIPs are i % 3 == 0; of those, i % 5 == 0 are cancelled (0, 15)
+        assertEquals(8, page.items().size());
+        assertFalse(page.hasMore());
+        assertTrue(page.items().stream().allMatch(dto -> dto.getType() == ActivityType.TRIP));
+
+        EventFilterDTO ranged = new EventFilterDTO();
+        ranged.setQuery("seminar");
+        ranged.setLocation("city");
+        ranged.setMinPrice(10.0);
+        ranged.setMaxPrice(20.0);
+        ranged.setStartDate(BASE.toLocalDate().toString());
+        ranged.setEndDate(BASE.toLocalDate().plusDays(4).toString());
+
+        // i in 0..9, odd, not a multiple of 3, price 10 or 20: 1 and 5 (7 costs 30)
+        Set<String> names = new HashSet<>();
+        bookingSystem.browseEvents(ranged).body().items().forEach(dto -> names.add(dto.getName()));
+        assertEquals(Set.of("Seminar 1", "Seminar 5"), names);
+    }
+
+    @Test
+    void testBrowse_SortsByPriceDescending() {
+        EventFilterDTO filter = new EventFilterDTO();
+        filter.setSort("-price");
+        filter.setLimit(4);
+
+        List<ActivityDTO> seen = readAll(filter);
+
+        assertEquals(EVENTS, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).getPrice().compareTo(seen.get(i - 1).getPrice()) <= 0);
+        }
+    }
+
+    @Test
+    void testBrowse_RejectsCursorFromOtherFilters() {
+        EventFilterDTO filter = new EventFilterDTO();
+        filter.setLimit(5);
+        String cursor = bookingSystem.browseEvents(filter).body().nextCursor();
+        assertNotNull(cursor);
+
+        EventFilterDTO other = new EventFilterDTO();
+        other.setType(ActivityType.EVENT);
+        other.setCursor(cursor);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingSystem.browseEvents(other));
+    }
+
+    private List<ActivityDTO> readAll(EventFilterDTO filter) {
+        List<ActivityDTO> seen = new ArrayList<>();
+        EventPage page;
+        do {
+            page = bookingSystem.browseEvents(filter).body();
+            assertTrue(page.items().size() <= filter.getLimit());
+            seen.addAll(page.items());
+            filter.setCursor(page.nextCursor());
+        } while (page.hasMore());
+        return seen;
+    }
+}
@@ -0,0 +1,139 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.CatalogView;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.service.interfaces.IActivityManagement;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for EventCatalogCache
+ * Listings are served from the cache until an event changes, bookings only
+ * move the overlaid seat count, and unchanged listings are answered with 304
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+public class EventCatalogCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IActivityManagement activityService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        event = eventRepository.save(event("Desert Safari", EventType.TRIP, LocalDateTime.now().plusDays(7), 100.0, 20));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void testListing_ServedFromCacheUntilEventChanges() {
+        CatalogView<List<ActivityDTO>> first = activityService.getAllActivities();
+        CatalogView<List<ActivityDTO>> second = activityService.getAllActivities();
+
+        assertSame(first.body(), second.body());
+        assertEquals(first.etag(), second.etag());
+
+        event.setTitle("Desert Safari (rescheduled)");
+        eventRepository.save(event);
+
+        CatalogView<List<ActivityDTO>> updated = activityService.getAllActivities();
+        assertNotEquals(first.etag(), updated.etag());
+        assertEquals("Desert Safari (rescheduled)", updated.body().get(0).getName());
+    }
+
+    @Test
+    void testReloadedUnchangedListing_KeepsEtag() {
+        CatalogView<List<ActivityDTO>> first = activityService.getAllActivities();
+
+        // As after a restart, or on another instance
+        catalogCache.invalidate();
+
+        CatalogView<List<ActivityDTO>> reloaded = activityService.getAllActivities();
+        assertNotSame(first.body(), reloaded.body());
+        assertEquals(first.etag(), reloaded.etag());
+    }
+
+    @Test
+    void testSeatChange_OverlaidWithoutInvalidating() {
+        CatalogView<List<ActivityDTO>> before = activityService.getAllActivities();
+        int cachedListings = catalogCache.size();
+
+        transactionTemplate.executeWithoutResult(status -> seatInventoryService.reserve(event.getId()));
+
+        CatalogView<List<ActivityDTO>> after = activityService.getAllActivities();
+        assertEquals(cachedListings, catalogCache.size());
+        assertEquals(20, before.body().get(0).getAvailableSeats());
+        assertEquals(19, after.body().get(0).getAvailableSeats());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void testSeatChange_RolledBackIsNotOverlaid() {
+        CatalogView<List<ActivityDTO>> before = activityService.getAllActivities();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            seatInventoryService.reserve(event.getId());
+            status.setRollbackOnly();
+        });
+
+        CatalogView<List<ActivityDTO>> after = activityService.getAllActivities();
+        assertEquals(20, after.body().get(0).getAvailableSeats());
+        assertEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void testUnchangedListing_Returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/events"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(status -> seatInventoryService.reserve(event.getId()));
+
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].availableSeats").value(19));
+    }
+}
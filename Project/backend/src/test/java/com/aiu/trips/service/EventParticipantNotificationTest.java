@@ -0,0 +1,165 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.FanoutJobDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.NotificationContentRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the participant path of NotificationFanoutService
+ * One notification per distinct participant, written in the background with a single statement
+ */
+@IntegrationTest
+public class EventParticipantNotificationTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Event event;
+
+    private User repeatBooker;
+
+    private User cancelledOnly;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        event = eventRepository.save(event("Nile Cruise", EventType.TRIP, LocalDateTime.now().plusDays(5), 50.0, 30));
+        Event otherEvent = eventRepository.save(event("Museum Visit", EventType.TRIP, LocalDateTime.now().plusDays(5), 50.0, 30));
+
+        repeatBooker = userRepository.save(user("repeat@aiu.edu", "Participant"));
+        cancelledOnly = userRepository.save(user("cancelled@aiu.edu", "Participant"));
+        User single = userRepository.save(user("single@aiu.edu", "Participant"));
+        User elsewhere = userRepository.save(user("elsewhere@aiu.edu", "Participant"));
+
+        book(repeatBooker, event, BookingStatus.CONFIRMED);
+        book(repeatBooker, event, BookingStatus.ATTENDED);
+        book(single, event, BookingStatus.CONFIRMED);
+        book(cancelledOnly, event, BookingStatus.CANCELLED);
+        book(elsewhere, otherEvent, BookingStatus.CONFIRMED);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        notificationContentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testNotify_OncePerDistinctActiveParticipant() throws Exception {
+        long recipients = notificationService
+            .notifyEventParticipants(event.getId(), "Meeting point moved", "INFO")
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, recipients);
+        assertEquals(2, notificationRepository.count());
+        assertEquals(1, countFor(repeatBooker));
+        assertEquals(0, countFor(cancelledOnly));
+    }
+
+    @Test
+    void testNotify_JobReportsRecipients() throws Exception {
+        notificationService.notifyEventParticipants(event.getId(), "Bring your ID", "INFO")
+            .get(5, TimeUnit.SECONDS);
+
+        FanoutJobDTO job = fanoutService.getJobs().stream()
+            .filter(candidate -> event.getId().equals(candidate.getEventId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2L, job.getTotalRecipients());
+        assertEquals(2L, job.getDelivered());
+    }
+
+    @Test
+    void testDeleteEvent_NotifiesParticipantsInBackground() {
+        eventService.deleteEvent(event.getId());
+
+        assertTrue(Await.until(() -> notificationRepository.count() >= 2), "participants were not notified");
+        assertEquals(2, notificationRepository.count());
+        List<String> types = jdbcTemplate.queryForList(
+            "SELECT DISTINCT c.type FROM notifications n JOIN notification_contents c ON c.id = n.content_id",
+            String.class);
+        assertEquals(List.of("WARNING"), types);
+    }
+
+    @Test
+    void testNotify_EventWithoutParticipants() throws Exception {
+        Event empty = eventRepository.save(event("Quiet Evening", EventType.TRIP, LocalDateTime.now().plusDays(5), 50.0, 30));
+
+        long recipients = notificationService
+            .notifyEventParticipants(empty.getId(), "Nothing to see", "INFO")
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, recipients);
+        assertEquals(0, notificationRepository.count());
+    }
+
+    private long countFor(User user) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM notifications WHERE user_id = ?", Long.class, user.getId());
+        return count != null ? count : 0;
+    }
+
+    private void book(User user, Event bookedEvent, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setEvent(bookedEvent);
+        booking.setBookingCode("BK-" + System.nanoTime());
+        booking = bookingRepository.save(booking);
+        // @PrePersist always starts a booking as CONFIRMED
+        if (status != BookingStatus.CONFIRMED) {
+            booking.setStatus(status);
+            bookingRepository.save(booking);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.EventReminderMark;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.*;
+import com.aiu.trips.service.interfaces.IActivityManagement;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EventReminderService
+ * Due reminders reach every active participant over both channels exactly
+ * once, the high-water mark stops repeats after a restart, and bookings and
+ * event changes keep the queue current
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+    "reminder.enabled=true",
+    "reminder.offsets-minutes=1440,60",
+    "notification.dispatch.flush-interval-ms=50"
+})
+public class EventReminderServiceTest {
+
+    @Autowired
+    private EventReminderService reminderService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private IActivityManagement activityService;
+
+    @Autowired
+    private IBookingTicketingSystem bookingSystem;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventReminderMarkRepository markRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User first;
+
+    private User second;
+
+    private User cancelled;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        first = userRepository.save(user("first@aiu.edu", "Participant"));
+        second = userRepository.save(user("second@aiu.edu", "Participant"));
+        cancelled = userRepository.save(user("cancelled@aiu.edu", "Participant"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        // Empties the queue, as no event has bookings any more
+        reminderService.loadUpcoming();
+        markRepository.deleteAll();
+        notificationRepository.deleteAll();
+        notificationContentRepository.deleteAll();
+        outboxRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testDueReminder_SentOnceAndNotRepeatedAfterRestart() throws InterruptedException {
+        Event event = eventRepository.save(event("Desert Safari", EventType.TRIP, LocalDateTime.now().plusHours(23), 50.0, 30));
+        book(first, event, BookingStatus.CONFIRMED);
+        book(second, event, BookingStatus.CONFIRMED);
+        book(cancelled, event, BookingStatus.CANCELLED);
+
+        reminderService.loadUpcoming();
+
+        assertTrue(Await.until(() -> notificationRepository.count() == 2 && outboxRepository.count() == 2));
+        assertEquals(List.of("Reminder: Desert Safari starts in 24 hours. Don't forget!"), reminderTexts());
+        EventReminderMark mark = markRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1440, mark.getSentOffsetMinutes());
+        assertEquals(Optional.of(60), reminderService.getScheduledOffset(event.getId()));
+
+        // A restart reloads the queue from the database
+        reminderService.loadUpcoming();
+        Thread.sleep(300);
+
+        assertEquals(2, notificationRepository.count());
+        assertEquals(2, outboxRepository.count());
+        assertEquals(Optional.of(60), reminderService.getScheduledOffset(event.getId()));
+    }
+
+    @Test
+    void testOvertakenReminder_OnlyLatestSent() throws InterruptedException {
+        Event event = eventRepository.save(event("Sunset Walk", EventType.TRIP, LocalDateTime.now().plusMinutes(30), 50.0, 30));
+        book(first, event, BookingStatus.CONFIRMED);
+
+        reminderService.loadUpcoming();
+
+        assertTrue(Await.until(() -> notificationRepository.count() == 1));
+        Thread.sleep(300);
+        assertEquals(List.of("Reminder: Sunset Walk starts in 1 hour. Don't forget!"), reminderTexts());
+        assertEquals(1, outboxRepository.count());
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+    }
+
+    @Test
+    void testBookings_AddAndRemoveEventFromQueue() {
+        Event event = eventRepository.save(event("Museum Visit", EventType.TRIP, LocalDateTime.now().plusDays(3), 50.0, 30));
+        reminderService.loadUpcoming();
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+
+        Booking booking = bookingService.createBooking(event.getId(), first.getEmail());
+        assertEquals(Optional.of(1440), reminderService.getScheduledOffset(event.getId()));
+
+        bookingService.cancelBooking(booking.getId(), first.getEmail());
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+    }
+
+    @Test
+    void testStudentBooking_AddsEventToQueue() {
+        Event event = eventRepository.save(event("Library Tour", EventType.EVENT, LocalDateTime.now().plusDays(3), 0.0, 30));
+        reminderService.loadUpcoming();
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+
+        bookingSystem.bookEvent(first.getId(), event.getId());
+        assertEquals(Optional.of(1440), reminderService.getScheduledOffset(event.getId()));
+    }
+
+    @Test
+    void testEventChanges_RescheduleReminders() {
+        Event event = eventRepository.save(event("Nile Cruise", EventType.TRIP, LocalDateTime.now().plusHours(23), 50.0, 30));
+        book(first, event, BookingStatus.CONFIRMED);
+        reminderService.loadUpcoming();
+        // The next reminder is scheduled once the due one has been sent
+        assertTrue(Await.until(() -> reminderService.getScheduledOffset(event.getId()).equals(Optional.of(60))));
+        assertTrue(markRepository.existsById(event.getId()));
+
+        // Moved by a day: the mark belongs to the old start, so the 24h reminder is due again later
+        Event moved = eventRepository.findById(event.getId()).orElseThrow();
+        moved.setStartDate(moved.getStartDate().plusDays(1));
+        eventService.updateEvent(event.getId(), moved);
+        assertEquals(Optional.of(1440), reminderService.getScheduledOffset(event.getId()));
+
+        eventService.deleteEvent(event.getId());
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+
+        // The reminder plus the update and cancellation notices, written in the background
+        assertTrue(Await.until(() -> notificationRepository.count() == 3));
+    }
+
+    @Test
+    void testActivityChanges_RescheduleReminders() {
+        Event event = eventRepository.save(event("Red Sea Trip", EventType.TRIP, LocalDateTime.now().plusHours(23), 50.0, 30));
+        book(first, event, BookingStatus.CONFIRMED);
+        reminderService.loadUpcoming();
+        // The next reminder is scheduled once the due one has been sent
+        assertTrue(Await.until(() -> reminderService.getScheduledOffset(event.getId()).equals(Optional.of(60))));
+        assertTrue(markRepository.existsById(event.getId()));
+
+        ActivityDTO moved = activityService.getAllActivities().body().stream()
+            .filter(activity -> activity.getActivityId().equals(event.getId()))
+            .findFirst()
+            .orElseThrow();
+        moved.setActivityDate(moved.getActivityDate().plusDays(1));
+        activityService.updateActivity(event.getId(), moved);
+        assertEquals(Optional.of(1440), reminderService.getScheduledOffset(event.getId()));
+
+        activityService.deleteActivity(event.getId());
+        assertEquals(Optional.empty(), reminderService.getScheduledOffset(event.getId()));
+    }
+
+    private List<String> reminderTexts() {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT c.message FROM notifications n JOIN notification_contents c ON c.id = n.content_id",
+            String.class);
+    }
+
+    private void book(User user, Event bookedEvent, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setEvent(bookedEvent);
+        booking.setBookingCode("BK-" + System.nanoTime());
+        booking = bookingRepository.save(booking);
+        // @PrePersist always starts a booking as CONFIRMED
+        if (status != BookingStatus.CONFIRMED) {
+            booking.setStatus(status);
+            bookingRepository.save(booking);
+        }
+    }
+}
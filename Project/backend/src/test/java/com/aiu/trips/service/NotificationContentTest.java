@@ -0,0 +1,156 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.NotificationContentMigration;
+import com.aiu.trips.dto.FanoutJobDTO;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.NotificationContentRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.aiu.trips.support.TestFixtures.users;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for shared notification contents
+ * A broadcast stores its text once, the inbox joins it back in, and the
+ * migration moves the text of old per-recipient rows into shared contents
+ */
+@IntegrationTest
+public class NotificationContentTest {
+
+    private static final int USERS = 50;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private NotificationContentMigration migration;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        users = userRepository.saveAll(users("Reader", USERS));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        notificationContentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testBroadcast_StoresTextOnce() throws Exception {
+        String jobId = notificationService.notifyAllUsers("Library closes early today", "WARNING");
+        FanoutJobDTO job = Await.value(() -> fanoutService.getJob(jobId), current -> current.getFinishedAt() != null);
+        assertEquals("COMPLETED", job.getStatus());
+
+        assertEquals(USERS, notificationRepository.count());
+        assertEquals(1, notificationContentRepository.count());
+        NotificationDTO item = notificationService.getUserNotifications(users.get(7).getEmail(), null, 10)
+            .items().get(0);
+        assertEquals("Library closes early today", item.message());
+        assertEquals("WARNING", item.type());
+        assertFalse(item.isRead());
+    }
+
+    @Test
+    void testPrune_DeletesContentsWithoutDeliveries() {
+        notificationService.notifyUser(users.get(0).getId(), "Old and read", "INFO");
+        notificationService.notifyUser(users.get(1).getId(), "Old but unread", "INFO");
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(365));
+        jdbcTemplate.update("UPDATE notifications SET created_at = ?", longAgo);
+        jdbcTemplate.update("UPDATE notification_contents SET created_at = ?", longAgo);
+        notificationService.markAllAsRead(users.get(0).getEmail());
+
+        assertEquals(1, notificationService.pruneReadNotifications());
+
+        assertEquals(1, notificationContentRepository.count());
+        assertEquals("Old but unread", notificationService.getUserNotifications(users.get(1).getEmail(), null, 1)
+            .items().get(0).message());
+    }
+
+    @Test
+    void testMigration_RunsBeforeSchemaUpdate() {
+        String[] dependsOn = beanFactory.getBeanDefinition("entityManagerFactory").getDependsOn();
+        assertNotNull(dependsOn);
+        assertTrue(List.of(dependsOn).contains("notificationContentMigration"));
+    }
+
+    @Test
+    void testMigration_MovesLegacyTextIntoSharedContents() {
+        // Recreate the old layout: text on every row and no content yet
+        jdbcTemplate.execute("ALTER TABLE notifications ADD COLUMN message VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE notifications ADD COLUMN type VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN content_id SET NULL");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (User user : users) {
+            insertLegacy(user, "Welcome to AIU Trips and Events!", "INFO", now);
+        }
+        insertLegacy(users.get(0), "Your booking was cancelled", "WARNING", now);
+        insertLegacy(users.get(1), "Your booking was cancelled", "WARNING", now);
+
+        migration.migrate();
+
+        assertEquals(USERS + 2, notificationRepository.count());
+        assertEquals(2, notificationContentRepository.count());
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = CURRENT_SCHEMA AND LOWER(table_name) = 'notifications' " +
+            "AND LOWER(column_name) IN ('message', 'type')",
+            Integer.class);
+        assertEquals(0, legacyColumns);
+        Integer lookupIndexes = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.indexes " +
+            "WHERE LOWER(index_name) = 'tmp_notification_contents_text'",
+            Integer.class);
+        assertEquals(0, lookupIndexes);
+        List<NotificationDTO> inbox = notificationService.getUserNotifications(users.get(0).getEmail(), null, 10)
+            .items();
+        assertEquals(List.of("Your booking was cancelled", "Welcome to AIU Trips and Events!"),
+            inbox.stream().map(NotificationDTO::message).toList());
+
+        // A second run finds nothing left to migrate
+        migration.migrate();
+        assertEquals(2, notificationContentRepository.count());
+    }
+
+    private void insertLegacy(User user, String message, String type, Timestamp createdAt) {
+        jdbcTemplate.update(
+            "INSERT INTO notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, FALSE, ?)",
+            user.getId(), message, type, createdAt);
+    }
+}
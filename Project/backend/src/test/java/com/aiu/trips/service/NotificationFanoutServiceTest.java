@@ -0,0 +1,104 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.FanoutJobDTO;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.users;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NotificationFanoutService
+ * Creating an event returns a job id and every user receives the notification in the background;
+ * jobs wait for their transaction to commit and a full queue never fails the caller
+ */
+@IntegrationTest
+public class NotificationFanoutServiceTest {
+
+    private static final int USERS = 2500;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateEvent_FansOutToAllUsers() throws Exception {
+        userRepository.saveAll(users("Student", USERS));
+
+        Event event = event("Open Day", EventType.EVENT, LocalDateTime.now().plusDays(3), 0.0, 100);
+
+        Event created = eventService.createEvent(event, "student0@aiu.edu");
+        assertNotNull(created.getNotificationJobId());
+
+        FanoutJobDTO job = Await.value(() -> fanoutService.getJob(created.getNotificationJobId()),
+            current -> current.getFinishedAt() != null);
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(USERS, job.getDelivered());
+        assertEquals(USERS, job.getTotalRecipients());
+        assertEquals(USERS, notificationRepository.count());
+    }
+
+    @Test
+    void testFullQueue_RejectsJobWithoutThrowing() {
+        NotificationFanoutService stopped = new NotificationFanoutService(1, 1);
+        stopped.shutdown();
+
+        CompletableFuture<Long> participants = stopped.notifyEventParticipants(1L, "Event updated", "INFO");
+        String jobId = stopped.notifyAllUsers("Open Day", "INFO");
+
+        assertTrue(participants.isCompletedExceptionally());
+        assertEquals("REJECTED", stopped.getJob(jobId).getStatus());
+        assertNotNull(stopped.getJob(jobId).getFinishedAt());
+    }
+
+    @Test
+    void testRolledBackTransaction_JobNeverQueued() {
+        AtomicReference<CompletableFuture<Long>> participants = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            participants.set(fanoutService.notifyEventParticipants(1L, "Event cancelled", "WARNING"));
+            assertFalse(participants.get().isDone());
+            assertEquals("QUEUED", fanoutService.getJobs().get(0).getStatus());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(participants.get().isCompletedExceptionally());
+        assertEquals("CANCELLED", fanoutService.getJobs().get(0).getStatus());
+    }
+}
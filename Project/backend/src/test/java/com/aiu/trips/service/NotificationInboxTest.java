@@ -0,0 +1,148 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.dto.NotificationPage;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.Notification;
+import com.aiu.trips.model.NotificationContent;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.NotificationContentRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the notification inbox in NotificationService
+ * Keyset pages, the unread counter, bulk mark-read and pruning of old read notifications
+ */
+@IntegrationTest
+public class NotificationInboxTest {
+
+    private static final int NOTIFICATIONS = 25;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationContentRepository notificationContentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User student;
+
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        student = userRepository.save(user("inbox@aiu.edu", "Inbox User"));
+        other = userRepository.save(user("other@aiu.edu", "Inbox User"));
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            Notification notification = notificationRepository.save(notification(student, "Message " + i));
+            // Every third notification has been read
+            if (i % 3 == 0) {
+                notification.setIsRead(true);
+                notificationRepository.save(notification);
+            }
+        }
+        notificationRepository.save(notification(other, "Not yours"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        notificationContentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testInbox_PagesNewestFirstWithoutGaps() {
+        List<NotificationDTO> seen = new ArrayList<>();
+        NotificationPage page = notificationService.getUserNotifications(student.getEmail(), null, 10);
+        seen.addAll(page.items());
+        while (page.hasMore()) {
+            page = notificationService.getUserNotifications(student.getEmail(), page.nextCursor(), 10);
+            seen.addAll(page.items());
+        }
+
+        assertEquals(NOTIFICATIONS, seen.size());
+        assertEquals("Message 24", seen.get(0).message());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).id() < seen.get(i - 1).id());
+        }
+    }
+
+    @Test
+    void testUnread_CountMatchesUnreadPage() {
+        // 0, 3, ..., 24 are read
+        long unread = NOTIFICATIONS - 9;
+
+        assertEquals(unread, notificationService.getUnreadCount(student.getEmail()));
+        NotificationPage page = notificationService.getUnreadNotifications(student.getEmail(), null, 100);
+        assertEquals(unread, page.items().size());
+        assertTrue(page.items().stream().noneMatch(NotificationDTO::isRead));
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void testCursor_RejectedForOtherView() {
+        NotificationPage page = notificationService.getUserNotifications(student.getEmail(), null, 5);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> notificationService.getUnreadNotifications(student.getEmail(), page.nextCursor(), 5));
+    }
+
+    @Test
+    void testMarkAllAsRead_UpdatesOnlyTheUsersUnread() {
+        assertEquals(NOTIFICATIONS - 9, notificationService.markAllAsRead(student.getEmail()));
+
+        assertEquals(0, notificationService.getUnreadCount(student.getEmail()));
+        assertEquals(1, notificationService.getUnreadCount(other.getEmail()));
+    }
+
+    @Test
+    void testMarkAsRead_OnlyOwnNotifications() {
+        Long othersId = notificationService.getUserNotifications(other.getEmail(), null, 1).items().get(0).id();
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> notificationService.markAsRead(othersId, student.getEmail()));
+        notificationService.markAsRead(othersId, other.getEmail());
+        assertEquals(0, notificationService.getUnreadCount(other.getEmail()));
+    }
+
+    @Test
+    void testPrune_DeletesOnlyOldReadNotifications() {
+        jdbcTemplate.update("UPDATE notifications SET created_at = ?", LocalDateTime.now().minusDays(365));
+
+        assertEquals(9, notificationService.pruneReadNotifications());
+
+        assertEquals(NOTIFICATIONS - 9 + 1, notificationRepository.count());
+        assertEquals(NOTIFICATIONS - 9, notificationService.getUnreadCount(student.getEmail()));
+    }
+
+    private Notification notification(User user, String message) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setContent(notificationContentRepository.save(new NotificationContent(message, "INFO")));
+        return notification;
+    }
+}
@@ -0,0 +1,108 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.exception.AuthenticationException;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.RefreshTokenRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.impl.UserManagementServiceImpl;
+import com.aiu.trips.support.IntegrationTest;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RefreshTokenService
+ * Refresh tokens rotate on use, a reused token revokes its session, and logout revokes the access token
+ */
+@IntegrationTest
+public class RefreshTokenServiceTest {
+
+    private static final String EMAIL = "student@aiu.edu";
+
+    @Autowired
+    private UserManagementServiceImpl userManagementService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setFullName("Student");
+        user.setRole(UserRole.STUDENT);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRefresh_RotatesToken() {
+        Map<String, Object> login = userManagementService.login(EMAIL, "password123");
+        String firstRefresh = (String) login.get("refreshToken");
+        assertNotNull(firstRefresh);
+
+        Map<String, Object> refreshed = userManagementService.refresh(firstRefresh);
+
+        String secondRefresh = (String) refreshed.get("refreshToken");
+        assertNotEquals(firstRefresh, secondRefresh);
+        assertEquals(EMAIL, jwtUtil.extractEmail((String) refreshed.get("token")));
+        assertEquals("STUDENT", refreshed.get("role"));
+        assertEquals(2, refreshTokenRepository.count());
+        // Only the hash is stored
+        assertTrue(refreshTokenRepository.findAll().stream()
+            .noneMatch(stored -> stored.getTokenHash().equals(firstRefresh)));
+
+        assertNotNull(userManagementService.refresh(secondRefresh).get("token"));
+    }
+
+    @Test
+    void testReusedRefreshToken_RevokesFamily() {
+        String firstRefresh = (String) userManagementService.login(EMAIL, "password123").get("refreshToken");
+        String secondRefresh = (String) userManagementService.refresh(firstRefresh).get("refreshToken");
+
+        assertThrows(AuthenticationException.class, () -> userManagementService.refresh(firstRefresh));
+        // The legitimate holder has to log in again as well
+        assertThrows(AuthenticationException.class, () -> userManagementService.refresh(secondRefresh));
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    @Test
+    void testLogout_RevokesAccessAndRefreshTokens() {
+        Map<String, Object> login = userManagementService.login(EMAIL, "password123");
+        String accessToken = (String) login.get("token");
+        String refreshToken = (String) login.get("refreshToken");
+        String otherSession = (String) userManagementService.login(EMAIL, "password123").get("token");
+        assertEquals(EMAIL, jwtUtil.verify(accessToken).email());
+
+        userManagementService.logout(refreshToken, accessToken);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(accessToken));
+        assertThrows(AuthenticationException.class, () -> userManagementService.refresh(refreshToken));
+        assertEquals(EMAIL, jwtUtil.verify(otherSession).email());
+    }
+}
@@ -0,0 +1,94 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ReportDTO;
+import com.aiu.trips.dto.ReportFilterDTO;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.repository.ReportRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReportJobService
+ * Reports render in the background, are served from disk and identical requests share one result
+ */
+@IntegrationTest
+public class ReportJobServiceTest {
+
+    private static final String ADMIN_EMAIL = "admin@aiu.edu";
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        userRepository.save(user(ADMIN_EMAIL, "Admin", UserRole.ADMIN));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reportRepository.findAll().stream()
+                .filter(report -> report.getFilePath() != null)
+                .forEach(report -> Path.of(report.getFilePath()).toFile().delete());
+        reportRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSubmit_RendersToDiskAndServesStoredFile() throws Exception {
+        ReportDTO queued = reportJobService.submit(ReportType.REVENUE, new ReportFilterDTO(), ExportFormat.CSV, ADMIN_EMAIL);
+        assertNotNull(queued.getReportId());
+
+        ReportDTO report = awaitReport(queued.getReportId());
+        assertEquals(ReportJobService.STATUS_COMPLETED, report.getStatus());
+
+        Path file = reportJobService.getReportFile(report.getReportId());
+        assertTrue(Files.exists(file));
+        assertArrayEquals(Files.readAllBytes(file), reportService.exportReport(report.getReportId(), ExportFormat.CSV));
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.exportReport(report.getReportId(), ExportFormat.PDF));
+    }
+
+    @Test
+    void testSubmit_IdenticalRequestsAreDeduplicated() throws Exception {
+        ReportDTO first = reportJobService.submit(ReportType.REVENUE, new ReportFilterDTO(), ExportFormat.JSON, ADMIN_EMAIL);
+        awaitReport(first.getReportId());
+
+        ReportDTO repeated = reportJobService.submit(ReportType.REVENUE, new ReportFilterDTO(), ExportFormat.JSON, ADMIN_EMAIL);
+        assertEquals(first.getReportId(), repeated.getReportId());
+
+        ReportDTO otherFormat = reportJobService.submit(ReportType.REVENUE, new ReportFilterDTO(), ExportFormat.CSV, ADMIN_EMAIL);
+        assertNotEquals(first.getReportId(), otherFormat.getReportId());
+        awaitReport(otherFormat.getReportId());
+        assertEquals(2, reportRepository.count());
+    }
+
+    private ReportDTO awaitReport(Long reportId) {
+        return Await.value(() -> reportJobService.getReport(reportId),
+            report -> ReportJobService.STATUS_COMPLETED.equals(report.getStatus())
+                || ReportJobService.STATUS_FAILED.equals(report.getStatus()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.support.IntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streaming row-level exports in ReportService
+ * Every booking in the range is written once, in id order, for each format
+ */
+@IntegrationTest
+public class ReportStreamingExportTest {
+
+    private static final int BOOKINGS = 600;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LocalDateTime from = LocalDateTime.now().minusDays(1);
+    private final LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        User user = userRepository.save(user("student@aiu.edu", "Student, Jr."));
+
+        Event event = eventRepository.save(event("Semester Trip", EventType.TRIP, LocalDateTime.now().plusDays(10), 15.0, BOOKINGS));
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setEvent(event);
+            booking.setBookingCode("BK-" + i);
+            booking.setAmountPaid(event.getPrice());
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvExport_WritesEveryRow() {
+        String csv = export(ExportFormat.CSV);
+        String[] lines = csv.split("\r\n");
+
+        // Two comment lines and the header precede the rows
+        assertEquals(BOOKINGS + 3, lines.length);
+        assertTrue(lines[2].startsWith("bookingId,bookingCode"));
+        assertTrue(lines[3].contains(",BK-0,"));
+        assertTrue(lines[3].contains("\"Student, Jr.\""));
+    }
+
+    @Test
+    void testJsonExport_IsValidJson() throws Exception {
+        JsonNode json = objectMapper.readTree(export(ExportFormat.JSON));
+
+        assertEquals(BOOKINGS, json.get("rowCount").asInt());
+        assertEquals(BOOKINGS, json.get("rows").size());
+        assertEquals("BK-0", json.get("rows").get(0).get("bookingCode").asText());
+        assertEquals("CONFIRMED", json.get("rows").get(0).get("status").asText());
+    }
+
+    @Test
+    void testPdfExport_ProducesDocument() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.exportBookings(from, to, ExportFormat.PDF, out);
+
+        String header = new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII);
+        assertEquals("%PDF-", header);
+    }
+
+    @Test
+    void testExport_OutsideRangeIsEmpty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.exportBookings(to, to.plusDays(1), ExportFormat.JSON, out);
+
+        assertEquals(0, objectMapper.readTree(out.toByteArray()).get("rowCount").asInt());
+    }
+
+    private String export(ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.exportBookings(from, to, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
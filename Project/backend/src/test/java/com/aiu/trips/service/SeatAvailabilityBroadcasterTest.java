@@ -0,0 +1,189 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.exception.ServiceBusyException;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.support.Await;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for SeatAvailabilityBroadcaster
+ * Subscribers get the current counts first, then one coalesced message per
+ * flush with the latest committed count of each changed event
+ *
+ * Result printing is off: it reads the response headers while the sender
+ * thread is still writing the stream.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@TestPropertySource(properties = "events.seat-stream.flush-interval-ms=3600000")
+public class SeatAvailabilityBroadcasterTest {
+
+    private static final Pattern SEATS_MESSAGE = Pattern.compile("event:seats\\ndata:(.*)\\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster broadcaster;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        event = eventRepository.save(event("Spring Concert", EventType.EVENT, LocalDateTime.now().plusDays(3), 0.0, 20));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void testStream_StartsWithCurrentCounts() throws Exception {
+        MockHttpServletResponse response = openStream();
+
+        List<String> messages = awaitMessages(response, 1);
+        assertEquals("[{\"eventId\":" + event.getId() + ",\"availableSeats\":20}]", messages.get(0));
+    }
+
+    @Test
+    void testStream_CoalescesChangesWithinOneFlush() throws Exception {
+        MockHttpServletResponse response = openStream();
+        awaitMessages(response, 1);
+
+        broadcaster.seatsChanged(event.getId(), 19);
+        broadcaster.seatsChanged(event.getId(), 18);
+        broadcaster.seatsChanged(event.getId(), 17);
+        broadcaster.flush();
+
+        List<String> messages = awaitMessages(response, 2);
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(1).contains("\"availableSeats\":17"));
+    }
+
+    @Test
+    void testStream_FedByCommittedBookings() throws Exception {
+        MockHttpServletResponse response = openStream();
+        awaitMessages(response, 1);
+
+        transactionTemplate.executeWithoutResult(status -> seatInventoryService.reserve(event.getId()));
+        broadcaster.flush();
+
+        List<String> messages = awaitMessages(response, 2);
+        assertTrue(messages.get(1).contains("\"availableSeats\":19"));
+    }
+
+    @Test
+    void testStream_RejectsTooManyEvents() throws Exception {
+        String ids = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/events/seats/stream").param("ids", ids))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSubscribe_BoundedNumberOfSubscribers() {
+        SeatAvailabilityBroadcaster small = new SeatAvailabilityBroadcaster(60000, 1, 1, 2, 1, 10);
+        try {
+            small.subscribe(List.of(1L), Map.of(1L, 5), "10.0.0.1");
+
+            assertThrows(IllegalArgumentException.class,
+                () -> small.subscribe(List.of(1L, 2L, 3L), Map.of(), "10.0.0.2"));
+            assertThrows(ServiceBusyException.class, () -> small.subscribe(List.of(2L), Map.of(), "10.0.0.2"));
+            assertEquals(1, small.getSubscriberCount());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void testSubscribe_BoundedPerClientUnderConcurrency() throws Exception {
+        SeatAvailabilityBroadcaster small = new SeatAvailabilityBroadcaster(60000, 20, 2, 2, 1, 10);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger opened = new AtomicInteger();
+            for (int i = 0; i < 64; i++) {
+                String client = "10.0.0." + (i % 8);
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        small.subscribe(List.of(1L), Map.of(), client);
+                        opened.incrementAndGet();
+                    } catch (ServiceBusyException e) {
+                        // Over one of the limits
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Eight clients hold two streams each, below the total of twenty
+            assertEquals(16, opened.get());
+            assertEquals(16, small.getSubscriberCount());
+        } finally {
+            pool.shutdownNow();
+            small.shutdown();
+        }
+    }
+
+    private MockHttpServletResponse openStream() throws Exception {
+        return mockMvc.perform(get("/api/events/seats/stream").param("ids", String.valueOf(event.getId())))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+    }
+
+    private List<String> awaitMessages(MockHttpServletResponse response, int count) {
+        return Await.value(
+            () -> SEATS_MESSAGE.matcher(new String(response.getContentAsByteArray(), StandardCharsets.UTF_8))
+                .results()
+                .map(match -> match.group(1))
+                .toList(),
+            messages -> messages.size() >= count);
+    }
+}
@@ -0,0 +1,172 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.exception.BookingException;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.SeatHold;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.*;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aiu.trips.support.TestFixtures.event;
+import static com.aiu.trips.support.TestFixtures.user;
+import static com.aiu.trips.support.TestFixtures.users;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for SeatInventoryService
+ * Many users race for the seats of one event; no seat may be sold twice
+ */
+@IntegrationTest
+public class SeatInventoryConcurrencyTest {
+
+    private static final int BOOKERS = 1000;
+    private static final int CAPACITY = 50;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        event = eventRepository.save(event("Sold Out Concert", EventType.EVENT, LocalDateTime.now().plusDays(7), 10.0, CAPACITY));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        seatHoldRepository.deleteAll();
+        bookingRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentBookings_NoOversell() throws Exception {
+        List<User> users = userRepository.saveAll(users("Student", BOOKERS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (User user : users) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.createBooking(event.getId(), user.getEmail());
+                    booked.incrementAndGet();
+                } catch (BookingException e) {
+                    soldOut.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(CAPACITY, booked.get());
+        assertEquals(BOOKERS - CAPACITY, soldOut.get());
+        assertEquals(CAPACITY, bookingRepository.findByEvent_Id(event.getId()).size());
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testCancelledBooking_ReturnsSeat() {
+        User user = userRepository.save(user("student0@aiu.edu", "Student 0"));
+
+        Long bookingId = bookingService.createBooking(event.getId(), user.getEmail()).getId();
+        assertEquals(CAPACITY - 1, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+
+        bookingService.cancelBooking(bookingId, user.getEmail());
+        assertEquals(CAPACITY, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+
+        assertThrows(BookingException.class, () -> bookingService.cancelBooking(bookingId, user.getEmail()));
+        assertEquals(CAPACITY, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testSeatHold_ConfirmAndExpire() {
+        List<User> users = userRepository.saveAll(users("Student", 2));
+
+        SeatHold confirmed = bookingService.holdSeat(event.getId(), users.get(0).getEmail());
+        SeatHold abandoned = bookingService.holdSeat(event.getId(), users.get(1).getEmail());
+        assertEquals(CAPACITY - 2, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+
+        bookingService.confirmSeatHold(confirmed.getHoldCode(), users.get(0).getEmail());
+        assertThrows(BookingException.class,
+            () -> bookingService.confirmSeatHold(confirmed.getHoldCode(), users.get(0).getEmail()));
+
+        abandoned.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        seatHoldRepository.save(abandoned);
+        seatInventoryService.releaseExpiredHolds();
+
+        assertEquals(CAPACITY - 1, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(1, bookingRepository.findByEvent_Id(event.getId()).size());
+    }
+
+    @Test
+    void testSeatHold_NotConfirmedAfterDirectBooking() {
+        User user = userRepository.save(user("student0@aiu.edu", "Student 0"));
+
+        SeatHold hold = bookingService.holdSeat(event.getId(), user.getEmail());
+        bookingService.createBooking(event.getId(), user.getEmail());
+
+        assertThrows(BookingException.class,
+            () -> bookingService.confirmSeatHold(hold.getHoldCode(), user.getEmail()));
+        assertEquals(1, bookingRepository.findByEvent_Id(event.getId()).size());
+        assertTrue(seatHoldRepository.findByHoldCode(hold.getHoldCode()).isPresent());
+    }
+
+    @Test
+    void testSeatHold_CappedPerUser() {
+        User user = userRepository.save(user("student0@aiu.edu", "Student 0"));
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            events.add(eventRepository.save(event("Workshop " + i, EventType.EVENT, LocalDateTime.now().plusDays(7), 0.0, 10)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            bookingService.holdSeat(events.get(i).getId(), user.getEmail());
+        }
+
+        assertThrows(BookingException.class, () -> bookingService.holdSeat(events.get(5).getId(), user.getEmail()));
+        assertEquals(10, eventRepository.findById(events.get(5).getId()).orElseThrow().getAvailableSeats());
+    }
+}
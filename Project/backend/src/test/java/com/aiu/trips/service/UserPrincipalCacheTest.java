@@ -0,0 +1,98 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.security.UserPrincipal;
+import com.aiu.trips.security.UserPrincipalCache;
+import com.aiu.trips.service.impl.UserManagementServiceImpl;
+import com.aiu.trips.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.aiu.trips.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the user principal cache in CustomUserDetailsService
+ * Principals are served from memory and dropped when the user row changes
+ */
+@IntegrationTest
+public class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "student@aiu.edu";
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserManagementServiceImpl userManagementService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        user = userRepository.save(user(EMAIL, "Student"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testLoadUser_ServedFromCache() {
+        UserPrincipal first = (UserPrincipal) userDetailsService.loadUserByUsername(EMAIL);
+        assertEquals(user.getId(), first.getId());
+        assertEquals(UserRole.STUDENT, first.getRole());
+        assertSame(first, userDetailsService.loadUserByUsername(EMAIL));
+        assertEquals(user.getId(), userDetailsService.findUserId(EMAIL).orElseThrow());
+    }
+
+    @Test
+    void testManageUserRole_InvalidatesCachedPrincipal() {
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userManagementService.manageUserRole(user.getId(), UserRole.ADMIN);
+
+        UserPrincipal reloaded = (UserPrincipal) userDetailsService.loadUserByUsername(EMAIL);
+        assertEquals(UserRole.ADMIN, reloaded.getRole());
+        assertEquals("ADMIN", reloaded.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testRecreatedUser_GetsNewId() {
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userRepository.deleteAll();
+        assertTrue(userDetailsService.findUserId(EMAIL).isEmpty());
+
+        User recreated = userRepository.save(user(EMAIL, "Student"));
+        assertEquals(recreated.getId(), userDetailsService.findUserId(EMAIL).orElseThrow());
+    }
+
+    @Test
+    void testLoadOverlappingEviction_NotCached() {
+        UserPrincipal stale = new UserPrincipal(user.getId(), EMAIL, "not-used", UserRole.STUDENT);
+
+        // The row changes and its commit evicts while the load is still running
+        UserPrincipal loaded = principalCache.get(EMAIL, email -> {
+            principalCache.evict(email);
+            return stale;
+        });
+        assertSame(stale, loaded);
+
+        UserPrincipal fresh = new UserPrincipal(user.getId(), EMAIL, "not-used", UserRole.ADMIN);
+        assertSame(fresh, principalCache.get(EMAIL, email -> fresh));
+        assertSame(fresh, principalCache.get(EMAIL, email -> stale));
+    }
+}
@@ -0,0 +1,50 @@
+package com.aiu.trips.support;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Await - Polls background work until it is done or the timeout passes
+ */
+public final class Await {
+
+    private static final long TIMEOUT_MS = 30_000;
+
+    private static final long POLL_MS = 20;
+
+    private Await() {
+    }
+
+    /**
+     * Whether the condition held before the timeout
+     */
+    public static boolean until(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * The first value that is done, or the last one read when the timeout passes
+     */
+    public static <T> T value(Supplier<T> current, Predicate<? super T> done) {
+        AtomicReference<T> last = new AtomicReference<>();
+        until(() -> {
+            last.set(current.get());
+            return done.test(last.get());
+        });
+        return last.get();
+    }
+}
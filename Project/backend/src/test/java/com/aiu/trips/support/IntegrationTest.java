@@ -0,0 +1,23 @@
+package com.aiu.trips.support;
+
+import com.aiu.trips.config.TestConfig;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Integration Test - The full application context on the test profile; the
+ * request handler chain is replaced by the empty one of TestConfig
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public @interface IntegrationTest {
+}
@@ -0,0 +1,55 @@
+package com.aiu.trips.support;
+
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test Fixtures - Unsaved users and events with valid defaults; the tests
+ * save them through their own repositories
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String email, String fullName) {
+        return user(email, fullName, UserRole.STUDENT);
+    }
+
+    public static User user(String email, String fullName, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("not-used");
+        user.setFullName(fullName);
+        user.setRole(role);
+        return user;
+    }
+
+    /**
+     * Students named "{name} 0".."{name} n-1" with emails "{name}0@aiu.edu"..
+     */
+    public static List<User> users(String name, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(user(name.toLowerCase() + i + "@aiu.edu", name + " " + i));
+        }
+        return users;
+    }
+
+    public static Event event(String title, EventType type, LocalDateTime startDate, double price, int capacity) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setType(type);
+        event.setStartDate(startDate);
+        event.setLocation("Campus");
+        event.setPrice(price);
+        event.setCapacity(capacity);
+        return event;
+    }
+}
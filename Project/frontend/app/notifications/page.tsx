@@ -6,6 +6,7 @@ import { notificationApi } from '@/lib/api';
 export default function NotificationsPage() {
   const [notifications, setNotifications] = useState<any[]>([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   useEffect(() => {
     fetchNotifications();
@@ -14,7 +15,8 @@ export default function NotificationsPage() {
   const fetchNotifications = async () => {
     try {
       const response = await notificationApi.getAll();
-      setNotifications(response.data);
+      setNotifications(response.data.items);
+      setNextCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error fetching notifications:', error);
     } finally {
@@ -22,15 +24,37 @@ export default function NotificationsPage() {
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    try {
+      const response = await notificationApi.getAll(nextCursor);
+      setNotifications((current) => [...current, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error fetching notifications:', error);
+    }
+  };
+
   const markAsRead = async (id: number) => {
     try {
       await notificationApi.markAsRead(id);
-      fetchNotifications();
+      setNotifications((current) => current.map((n) => (n.id === id ? { ...n, isRead: true } : n)));
     } catch (error) {
       console.error('Error marking as read:', error);
     }
   };
 
+  const markAllAsRead = async () => {
+    try {
+      await notificationApi.markAllAsRead();
+      setNotifications((current) => current.map((n) => ({ ...n, isRead: true })));
+    } catch (error) {
+      console.error('Error marking all as read:', error);
+    }
+  };
+
   const getTypeColor = (type: string) => {
     switch (type) {
       case 'SUCCESS':
@@ -54,7 +78,17 @@ export default function NotificationsPage() {
 
   return (
     <div className="max-w-4xl mx-auto px-4 sm:px-6 lg:px-8 py-8">
-      <h1 className="text-3xl font-bold text-gray-900 mb-8">Notifications</h1>
+      <div className="flex justify-between items-center mb-8">
+        <h1 className="text-3xl font-bold text-gray-900">Notifications</h1>
+        {notifications.some((n) => !n.isRead) && (
+          <button
+            onClick={markAllAsRead}
+            className="text-blue-600 hover:text-blue-700 text-sm font-semibold"
+          >
+            Mark all as read
+          </button>
+        )}
+      </div>
 
       {notifications.length === 0 ? (
         <div className="text-center py-8 text-gray-600">
@@ -92,6 +126,14 @@ export default function NotificationsPage() {
               </div>
             </div>
           ))}
+          {nextCursor && (
+            <button
+              onClick={loadMore}
+              className="w-full py-2 text-blue-600 hover:text-blue-700 text-sm font-semibold"
+            >
+              Load more
+            </button>
+          )}
         </div>
       )}
     </div>
@@ -36,8 +36,8 @@ export default function Navbar() {
 
   const fetchUnreadCount = async () => {
     try {
-      const response = await notificationApi.getUnread();
-      setUnreadCount(response.data.length);
+      const response = await notificationApi.getUnreadCount();
+      setUnreadCount(response.data.count);
     } catch (error) {
       console.error('Error fetching notifications:', error);
     }
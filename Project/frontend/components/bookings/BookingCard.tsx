@@ -2,7 +2,7 @@
 
 import { useState } from 'react';
 import QRCode from 'react-qr-code';
-import { bookingApi } from '@/lib/api';
+import { bookingApi, API_BASE_URL } from '@/lib/api';
 
 interface BookingCardProps {
   booking: any;
@@ -88,11 +88,11 @@ export default function BookingCard({ booking, onUpdate }: BookingCardProps) {
         )}
       </div>
 
-      {showQR && booking.qrCodePath && (
+      {showQR && booking.bookingCode && (
         <div className="mt-4 flex justify-center">
           <div className="p-4 bg-white border-2 border-gray-200 rounded-lg">
             <img 
-              src={`data:image/png;base64,${booking.qrCodePath}`} 
+              src={`${API_BASE_URL}/tickets/${booking.bookingCode}/qr.png`}
               alt="QR Code" 
               className="w-48 h-48"
             />
@@ -14,6 +14,26 @@ export default function EventList() {
     fetchEvents();
   }, [filter]);
 
+  // Live seat counts for the listed events instead of re-fetching the list
+  const eventIds = events.map((event) => event.id || event.activityId).filter(Boolean).slice(0, 100);
+  const eventIdsKey = eventIds.join(',');
+
+  useEffect(() => {
+    if (eventIds.length === 0) {
+      return;
+    }
+    const source = new EventSource(eventApi.seatStreamUrl(eventIds));
+    source.addEventListener('seats', (message) => {
+      const updates: { eventId: number; availableSeats: number }[] = JSON.parse((message as MessageEvent).data);
+      const seats = new Map(updates.map((update) => [update.eventId, update.availableSeats]));
+      setEvents((current) => current.map((event) => {
+        const id = event.id || event.activityId;
+        return seats.has(id) ? { ...event, availableSeats: seats.get(id) } : event;
+      }));
+    });
+    return () => source.close();
+  }, [eventIdsKey]);
+
   const fetchEvents = async () => {
     setLoading(true);
     try {
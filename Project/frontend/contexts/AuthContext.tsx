@@ -37,11 +37,12 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
 
   const login = async (email: string, password: string) => {
     const response = await authApi.login({ email, password });
-    const { token, ...userData } = response.data;
+    const { token, refreshToken, expiresIn, ...userData } = response.data;
     
     setToken(token);
     setUser(userData);
     localStorage.setItem('token', token);
+    localStorage.setItem('refreshToken', refreshToken);
     localStorage.setItem('user', JSON.stringify(userData));
   };
 
@@ -56,9 +57,11 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
   };
 
   const logout = () => {
+    authApi.logout(localStorage.getItem('refreshToken')).catch(() => {});
     setUser(null);
     setToken(null);
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
   };
 
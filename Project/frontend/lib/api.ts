@@ -1,6 +1,6 @@
 import axios from 'axios';
 
-const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api';
+export const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api';
 
 const api = axios.create({
   baseURL: API_BASE_URL,
@@ -18,10 +18,48 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Renew an expired access token once with the refresh token, then retry
+let refreshing: Promise<string> | null = null;
+
+api.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status !== 401 || !refreshToken || original._retried
+        || original.url?.startsWith('/auth/')) {
+      return Promise.reject(error);
+    }
+    original._retried = true;
+
+    refreshing = refreshing || axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .catch((refreshError) => {
+        localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
+        throw refreshError;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+
+    const token = await refreshing;
+    original.headers.Authorization = `Bearer ${token}`;
+    return api(original);
+  }
+);
+
 // Auth endpoints
 export const authApi = {
   register: (data: any) => api.post('/auth/register', data),
   login: (data: any) => api.post('/auth/login', data),
+  refresh: (refreshToken: string) => api.post('/auth/refresh', { refreshToken }),
+  logout: (refreshToken: string | null) => api.post('/auth/logout', { refreshToken }),
 };
 
 // Event endpoints
@@ -30,6 +68,8 @@ export const eventApi = {
   getById: (id: number) => api.get(`/events/${id}`),
   getByType: (type: string) => api.get(`/events/type/${type}`),
   getUpcoming: () => api.get('/events/upcoming'),
+  // Server-Sent Events stream of seat counts; opened with EventSource, not axios
+  seatStreamUrl: (ids: number[]) => `${API_BASE_URL}/events/seats/stream?ids=${ids.join(',')}`,
   getMyEvents: () => api.get('/events/my-events'),
   create: (data: any) => api.post('/events', data),
   update: (id: number, data: any) => api.put(`/events/${id}`, data),
@@ -47,9 +87,12 @@ export const bookingApi = {
 
 // Notification endpoints
 export const notificationApi = {
-  getAll: () => api.get('/notifications'),
-  getUnread: () => api.get('/notifications/unread'),
+  // Paged, newest first; pass the returned nextCursor to read the next page
+  getAll: (cursor?: string) => api.get('/notifications', { params: { cursor } }),
+  getUnread: (cursor?: string) => api.get('/notifications/unread', { params: { cursor } }),
+  getUnreadCount: () => api.get('/notifications/unread/count'),
   markAsRead: (id: number) => api.put(`/notifications/${id}/read`),
+  markAllAsRead: () => api.put('/notifications/read-all'),
 };
 
 // Report endpoints